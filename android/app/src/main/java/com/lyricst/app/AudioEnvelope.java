@@ -0,0 +1,243 @@
+package com.lyricst.app;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Şarkının önceden hesaplanmış dalga formu ve yapı indeksi
+ *
+ * Çok çözünürlüklü min/max/RMS piramidi: 0. seviyede her kova BUCKET_MS'lik sesi özetler,
+ * her üst seviye alttaki iki kovayı birleştirir. UI herhangi bir yakınlaştırmada dalga formunu
+ * istenen piksel sayısına en yakın seviyeden okur - şarkı bir daha çözülmez.
+ * Değerler 8 bit'e sıkıştırılır (min/max: işaretli örnek >> 8, RMS: 0-255), 5 dakikalık
+ * bir şarkının dosyası ~90 KB'dır.
+ *
+ * Ayrıca analizde bulunan sessiz / enstrümantal bölümler ve vokal cümle başlangıçları tutulur.
+ * Android API'lerine bağımlı değildir (JVM testleri için).
+ */
+final class AudioEnvelope {
+
+    static final int BUCKET_MS = 20;
+    static final int SECTION_SILENCE = 0;
+    static final int SECTION_INSTRUMENTAL = 1;
+
+    private static final int MAGIC = 0x4C575631; // "LWV1"
+    private static final int VERSION = 1;
+    private static final int MIN_TOP_LEVEL_BUCKETS = 64;
+
+    final int durationMs;
+    // levels[seviye][kova * 3 + {0: min, 1: max, 2: rms}]
+    private final byte[][] levels;
+    private final int[] levelCounts;
+    // sections[i * 3 + {0: başlangıç ms, 1: bitiş ms, 2: tür}]
+    private final int[] sections;
+    private final int[] phraseStartsMs;
+
+    /**
+     * @param base     0. seviye kovaları (min, max, rms üçlüleri)
+     * @param count    Kova sayısı
+     * @param sections Bölüm üçlüleri (başlangıç, bitiş, tür)
+     */
+    AudioEnvelope(int durationMs, byte[] base, int count, int[] sections, int[] phraseStartsMs) {
+        this.durationMs = durationMs;
+        this.sections = sections;
+        this.phraseStartsMs = phraseStartsMs;
+
+        int levelCount = 1;
+        for (int n = count; n > MIN_TOP_LEVEL_BUCKETS; n = (n + 1) / 2) {
+            levelCount++;
+        }
+        levels = new byte[levelCount][];
+        levelCounts = new int[levelCount];
+        levels[0] = base.length == count * 3 ? base : Arrays.copyOf(base, count * 3);
+        levelCounts[0] = count;
+        for (int level = 1; level < levelCount; level++) {
+            levelCounts[level] = (levelCounts[level - 1] + 1) / 2;
+            levels[level] = mergePairs(levels[level - 1], levelCounts[level - 1]);
+        }
+    }
+
+    private AudioEnvelope(int durationMs, byte[][] levels, int[] levelCounts, int[] sections, int[] phraseStartsMs) {
+        this.durationMs = durationMs;
+        this.levels = levels;
+        this.levelCounts = levelCounts;
+        this.sections = sections;
+        this.phraseStartsMs = phraseStartsMs;
+    }
+
+    int getLevelCount() {
+        return levels.length;
+    }
+
+    int getBucketCount(int level) {
+        return levelCounts[level];
+    }
+
+    int getSectionCount() {
+        return sections.length / 3;
+    }
+
+    int getSectionStartMs(int index) {
+        return sections[index * 3];
+    }
+
+    int getSectionEndMs(int index) {
+        return sections[index * 3 + 1];
+    }
+
+    int getSectionKind(int index) {
+        return sections[index * 3 + 2];
+    }
+
+    int[] getPhraseStartsMs() {
+        return phraseStartsMs;
+    }
+
+    /**
+     * [startMs, endMs) aralığını tam olarak `buckets` sütuna özetle
+     * Sütun başına en az bir kova düşen en kaba seviye kullanılır.
+     * JSON: {"min":[..],"max":[..],"rms":[..]} - min/max -128..127, rms 0..255
+     */
+    String peaksJson(int startMs, int endMs, int buckets) {
+        startMs = Math.max(0, startMs);
+        endMs = Math.min(durationMs, endMs);
+        buckets = Math.max(1, buckets);
+        StringBuilder min = new StringBuilder(buckets * 4).append("{\"min\":[");
+        StringBuilder max = new StringBuilder(buckets * 4).append("],\"max\":[");
+        StringBuilder rms = new StringBuilder(buckets * 4).append("],\"rms\":[");
+        if (endMs <= startMs || levelCounts[0] == 0) {
+            return min.append(max).append(rms).append("]}").toString();
+        }
+
+        double msPerColumn = (double) (endMs - startMs) / buckets;
+        int level = 0;
+        while (level + 1 < levels.length && (double) BUCKET_MS * (1 << (level + 1)) <= msPerColumn) {
+            level++;
+        }
+        byte[] data = levels[level];
+        int count = levelCounts[level];
+        double levelBucketMs = (double) BUCKET_MS * (1 << level);
+
+        for (int column = 0; column < buckets; column++) {
+            // Merkezi sütunun içine düşen kovalar (kaba seviyelerde komşu sütuna taşmayı önler)
+            int from = (int) Math.ceil((startMs + column * msPerColumn) / levelBucketMs - 0.5);
+            int to = (int) Math.ceil((startMs + (column + 1) * msPerColumn) / levelBucketMs - 0.5);
+            from = Math.min(from, count - 1);
+            to = Math.max(from + 1, Math.min(to, count));
+
+            int columnMin = Byte.MAX_VALUE;
+            int columnMax = Byte.MIN_VALUE;
+            long squares = 0;
+            for (int i = from; i < to; i++) {
+                columnMin = Math.min(columnMin, data[i * 3]);
+                columnMax = Math.max(columnMax, data[i * 3 + 1]);
+                int r = data[i * 3 + 2] & 0xFF;
+                squares += (long) r * r;
+            }
+            if (column > 0) {
+                min.append(',');
+                max.append(',');
+                rms.append(',');
+            }
+            min.append(columnMin);
+            max.append(columnMax);
+            rms.append((int) Math.round(Math.sqrt((double) squares / (to - from))));
+        }
+        return min.append(max).append(rms).append("]}").toString();
+    }
+
+    /**
+     * Yapı bilgisi - JSON: {"durationMs":..,"sections":[[başlangıç,bitiş,tür],..],"phrases":[..]}
+     */
+    String summaryJson() {
+        StringBuilder json = new StringBuilder(64 + sections.length * 8 + phraseStartsMs.length * 8);
+        json.append("{\"durationMs\":").append(durationMs).append(",\"sections\":[");
+        for (int i = 0; i < getSectionCount(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('[').append(sections[i * 3]).append(',').append(sections[i * 3 + 1])
+                .append(',').append(sections[i * 3 + 2]).append(']');
+        }
+        json.append("],\"phrases\":[");
+        for (int i = 0; i < phraseStartsMs.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(phraseStartsMs[i]);
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * İkili dosya: başlık, seviyeler (kova sayısı + üçlüler), bölümler, cümle başlangıçları
+     */
+    void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(BUCKET_MS);
+        out.writeInt(durationMs);
+        out.writeByte(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            out.writeInt(levelCounts[level]);
+            out.write(levels[level], 0, levelCounts[level] * 3);
+        }
+        out.writeInt(getSectionCount());
+        for (int value : sections) {
+            out.writeInt(value);
+        }
+        out.writeInt(phraseStartsMs.length);
+        for (int value : phraseStartsMs) {
+            out.writeInt(value);
+        }
+        out.flush();
+    }
+
+    static AudioEnvelope readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC || in.readShort() != VERSION || in.readShort() != BUCKET_MS) {
+            throw new IOException("Dalga formu dosyası tanınmadı");
+        }
+        int durationMs = in.readInt();
+        int levelCount = in.readUnsignedByte();
+        byte[][] levels = new byte[levelCount][];
+        int[] levelCounts = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            levelCounts[level] = in.readInt();
+            levels[level] = new byte[levelCounts[level] * 3];
+            in.readFully(levels[level]);
+        }
+        int[] sections = new int[in.readInt() * 3];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = in.readInt();
+        }
+        int[] phrases = new int[in.readInt()];
+        for (int i = 0; i < phrases.length; i++) {
+            phrases[i] = in.readInt();
+        }
+        return new AudioEnvelope(durationMs, levels, levelCounts, sections, phrases);
+    }
+
+    /**
+     * Bir üst seviye: ardışık iki kovanın min'i, max'ı ve karesel ortalama RMS'i
+     */
+    private static byte[] mergePairs(byte[] below, int belowCount) {
+        int count = (belowCount + 1) / 2;
+        byte[] merged = new byte[count * 3];
+        for (int i = 0; i < count; i++) {
+            int a = i * 2;
+            int b = Math.min(a + 1, belowCount - 1);
+            merged[i * 3] = (byte) Math.min(below[a * 3], below[b * 3]);
+            merged[i * 3 + 1] = (byte) Math.max(below[a * 3 + 1], below[b * 3 + 1]);
+            int ra = below[a * 3 + 2] & 0xFF;
+            int rb = below[b * 3 + 2] & 0xFF;
+            merged[i * 3 + 2] = (byte) Math.round(Math.sqrt((ra * ra + rb * rb) / 2.0));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,243 @@
+package com.lyricst.app;
+
+import java.util.Arrays;
+
+/**
+ * Akış halinde dalga formu ve yapı analizi - AudioFileDecoder bloklarını AudioEnvelope'a çevirir
+ *
+ * Her BUCKET_MS'lik kova için (ilk iki kanalın ortalaması üzerinden) min/max/RMS toplanır.
+ * Aynı geçişte vokal etkinliği tahmin edilir: VocalReducer'daki gibi vokal genelde miksin
+ * ortasındadır, bu yüzden vokal bandında (VocalReducer ile aynı bant) mid = (L + R) / 2 enerjisi
+ * side = (L - R) / 2 enerjisine göre baskınsa kova "vokal" sayılır. Sessiz kovalar hiçbir zaman
+ * vokal değildir. Mono (veya L = R) kaynaklarda merkez/yan ayrımı olmadığı için etkinlik
+ * sadece sessiz olmamaktır - o durumda enstrümantal bölüm değil sadece sessizlik bulunur.
+ *
+ * finish() etkinlik dizisini yumuşatır (kısa boşlukları doldurur, kısa patlamaları atar):
+ * - Cümle başlangıcı: PHRASE_GAP_MS'den uzun etkinsiz bir aradan sonra başlayan etkinlik
+ * - Bölüm: MIN_GAP_MS'den uzun etkinsiz aralık; çoğu sessizse SILENCE, değilse INSTRUMENTAL
+ *
+ * Tüm şarkı belleğe alınmaz; kova başına 4 byte tutulur. Android API'lerine bağımlı değildir.
+ */
+final class AudioEnvelopeAnalyzer {
+
+    static final int PHRASE_GAP_MS = 400;
+    static final int MIN_GAP_MS = 3000;
+
+    private static final int MIN_ACTIVE_MS = 100;          // Bundan kısa etkinlik gürültü sayılır
+    private static final double SILENCE_RMS = 100.0;       // ~-50 dBFS
+    private static final double VOCAL_MIN_RMS = 300.0;     // Vokal bandında ~-40 dBFS
+    // mid² / (mid² + side²): ilişkisiz geniş stereo ~0.5, kuru vokal ~1.0; geniş stereo yankı kuru vokalden
+    // güçlü olsa da oran 0.6 üstünde kalır (yanlış "enstrümantal" tanıyıcıyı kullanıcı söylerken kapatır)
+    private static final double VOCAL_CENTER_RATIO = 0.6;
+    private static final double SILENT_SECTION_RATIO = 0.9;
+    private static final double Q = 0.7071;
+
+    private static final byte FLAG_SILENT = 1;
+    private static final byte FLAG_VOCAL = 2;
+
+    private final int channels;
+    private final boolean stereo;
+    private final int framesPerBucket;
+    private final int sampleRate;
+
+    private final Biquad[] midBand;
+    private final Biquad[] sideBand;
+
+    private byte[] buckets;  // min, max, rms üçlüleri
+    private byte[] flags;
+    private int bucketCount = 0;
+    private long totalFrames = 0;
+    private boolean sideSeen = false;
+
+    // Açık kova
+    private int bucketFrames = 0;
+    private int bucketMin = Short.MAX_VALUE;
+    private int bucketMax = Short.MIN_VALUE;
+    private double bucketSquares = 0.0;
+    private double midSquares = 0.0;
+    private double sideSquares = 0.0;
+
+    /**
+     * @param durationHintMs Kapasite tahmini için süre (bilinmiyorsa 0)
+     */
+    AudioEnvelopeAnalyzer(int sampleRate, int channels, long durationHintMs) {
+        this.sampleRate = sampleRate;
+        this.channels = Math.max(1, channels);
+        this.stereo = channels >= 2;
+        this.framesPerBucket = Math.max(1, sampleRate * AudioEnvelope.BUCKET_MS / 1000);
+
+        int capacity = (int) Math.min(Integer.MAX_VALUE / 3, Math.max(1024, durationHintMs / AudioEnvelope.BUCKET_MS + 64));
+        this.buckets = new byte[capacity * 3];
+        this.flags = new byte[capacity];
+
+        double high = Math.min(VocalReducer.VOCAL_HIGH_HZ, sampleRate * 0.45);
+        this.midBand = bandPass(sampleRate, high);
+        this.sideBand = bandPass(sampleRate, high);
+    }
+
+    /**
+     * Interleaved 16-bit PCM bloğu
+     */
+    void process(short[] pcm, int frames) {
+        for (int f = 0; f < frames; f++) {
+            int i = f * channels;
+            double left = pcm[i];
+            double right = stereo ? pcm[i + 1] : left;
+            int mono = (int) ((left + right) * 0.5);
+
+            bucketMin = Math.min(bucketMin, mono);
+            bucketMax = Math.max(bucketMax, mono);
+            bucketSquares += (double) mono * mono;
+            if (stereo) {
+                double mid = filter(midBand, (left + right) * 0.5);
+                double side = filter(sideBand, (left - right) * 0.5);
+                midSquares += mid * mid;
+                sideSquares += side * side;
+            }
+
+            if (++bucketFrames == framesPerBucket) {
+                closeBucket();
+            }
+        }
+        totalFrames += frames;
+    }
+
+    /**
+     * Analizi bitir - yarım kalan kova kapatılır, bölümler ve cümleler çıkarılır
+     */
+    AudioEnvelope finish() {
+        if (bucketFrames > 0) {
+            closeBucket();
+        }
+        int durationMs = (int) (totalFrames * 1000L / sampleRate);
+        boolean[] active = activity();
+        int gapBuckets = PHRASE_GAP_MS / AudioEnvelope.BUCKET_MS;
+        int minActiveBuckets = MIN_ACTIVE_MS / AudioEnvelope.BUCKET_MS;
+        int minGapBuckets = MIN_GAP_MS / AudioEnvelope.BUCKET_MS;
+
+        // Kısa boşlukları doldur (cümle içi nefesler), sonra kısa patlamaları at
+        fillRuns(active, false, gapBuckets, true);
+        fillRuns(active, true, minActiveBuckets, false);
+
+        int[] phrases = new int[16];
+        int phraseCount = 0;
+        int[] sections = new int[3 * 8];
+        int sectionCount = 0;
+
+        int i = 0;
+        while (i < bucketCount) {
+            int runEnd = i;
+            while (runEnd < bucketCount && active[runEnd] == active[i]) {
+                runEnd++;
+            }
+            if (active[i]) {
+                if (phraseCount == phrases.length) {
+                    phrases = Arrays.copyOf(phrases, phraseCount * 2);
+                }
+                phrases[phraseCount++] = i * AudioEnvelope.BUCKET_MS;
+            } else if (runEnd - i >= minGapBuckets) {
+                int silent = 0;
+                for (int b = i; b < runEnd; b++) {
+                    if ((flags[b] & FLAG_SILENT) != 0) {
+                        silent++;
+                    }
+                }
+                int kind = silent >= (runEnd - i) * SILENT_SECTION_RATIO
+                    ? AudioEnvelope.SECTION_SILENCE
+                    : AudioEnvelope.SECTION_INSTRUMENTAL;
+                if (sectionCount * 3 == sections.length) {
+                    sections = Arrays.copyOf(sections, sections.length * 2);
+                }
+                sections[sectionCount * 3] = i * AudioEnvelope.BUCKET_MS;
+                sections[sectionCount * 3 + 1] = Math.min(durationMs, runEnd * AudioEnvelope.BUCKET_MS);
+                sections[sectionCount * 3 + 2] = kind;
+                sectionCount++;
+            }
+            i = runEnd;
+        }
+
+        return new AudioEnvelope(durationMs, buckets, bucketCount,
+            Arrays.copyOf(sections, sectionCount * 3), Arrays.copyOf(phrases, phraseCount));
+    }
+
+    private void closeBucket() {
+        if (bucketCount == flags.length) {
+            buckets = Arrays.copyOf(buckets, buckets.length * 2);
+            flags = Arrays.copyOf(flags, flags.length * 2);
+        }
+        double rms = Math.sqrt(bucketSquares / bucketFrames);
+        buckets[bucketCount * 3] = (byte) (bucketMin >> 8);
+        buckets[bucketCount * 3 + 1] = (byte) (bucketMax >> 8);
+        buckets[bucketCount * 3 + 2] = (byte) Math.min(255, Math.round(rms / 128.0));
+
+        byte flag = 0;
+        if (rms < SILENCE_RMS) {
+            flag = FLAG_SILENT;
+        } else if (stereo) {
+            double midRms = Math.sqrt(midSquares / bucketFrames);
+            double total = midSquares + sideSquares;
+            if (sideSquares > 0.0) {
+                sideSeen = true;
+            }
+            if (midRms >= VOCAL_MIN_RMS && total > 0.0 && midSquares / total >= VOCAL_CENTER_RATIO) {
+                flag = FLAG_VOCAL;
+            }
+        }
+        flags[bucketCount++] = flag;
+
+        bucketFrames = 0;
+        bucketMin = Short.MAX_VALUE;
+        bucketMax = Short.MIN_VALUE;
+        bucketSquares = 0.0;
+        midSquares = 0.0;
+        sideSquares = 0.0;
+    }
+
+    /**
+     * Kova etkinliği: stereo'da vokal, mono'da (veya yan kanal hiç yoksa) sessiz olmama
+     */
+    private boolean[] activity() {
+        boolean useVocal = stereo && sideSeen;
+        boolean[] active = new boolean[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            active[i] = useVocal ? (flags[i] & FLAG_VOCAL) != 0 : (flags[i] & FLAG_SILENT) == 0;
+        }
+        return active;
+    }
+
+    /**
+     * `value` değerindeki maxLength'ten kısa iç koşuları tersine çevir
+     * (keepEdges: şarkının başındaki/sonundaki koşulara dokunma)
+     */
+    private static void fillRuns(boolean[] active, boolean value, int maxLength, boolean keepEdges) {
+        int i = 0;
+        while (i < active.length) {
+            if (active[i] != value) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < active.length && active[end] == value) {
+                end++;
+            }
+            boolean edge = i == 0 || end == active.length;
+            if (end - i < maxLength && !(keepEdges && edge)) {
+                Arrays.fill(active, i, end, !value);
+            }
+            i = end;
+        }
+    }
+
+    private static Biquad[] bandPass(int sampleRate, double high) {
+        return new Biquad[] {
+            Biquad.highPass(sampleRate, VocalReducer.VOCAL_LOW_HZ, Q),
+            Biquad.highPass(sampleRate, VocalReducer.VOCAL_LOW_HZ, Q),
+            Biquad.lowPass(sampleRate, high, Q),
+            Biquad.lowPass(sampleRate, high, Q),
+        };
+    }
+
+    private static double filter(Biquad[] chain, double x) {
+        return chain[3].process(chain[2].process(chain[1].process(chain[0].process(x))));
+    }
+}
@@ -0,0 +1,204 @@
+package com.lyricst.app;
+
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Ses dosyası çözücü - MediaExtractor + MediaCodec ile akış halinde PCM üretir
+ *
+ * Codec çıkış buffer'ları değişken boyutludur; bu sınıf örnekleri sabit boyutlu
+ * bloklarda toplar ve dinleyiciye her seferinde aynı (yeniden kullanılan) diziyi verir.
+ * Böylece şarkının tamamı hiçbir zaman belleğe alınmaz.
+ */
+final class AudioFileDecoder {
+
+    /**
+     * Çözülen PCM'i alan dinleyici
+     */
+    interface BlockListener {
+        /**
+         * Çıkış formatı belli olduğunda bir kez çağrılır
+         *
+         * @return false dönerse çözme işlemi iptal edilir
+         */
+        boolean onFormat(int sampleRate, int channels, long durationUs);
+
+        /**
+         * Interleaved 16-bit PCM bloğu - dizi bir sonraki blokta yeniden kullanılır
+         * Son blok hariç tüm bloklar tam olarak blockFrames uzunluğundadır
+         */
+        void onBlock(short[] pcm, int frames) throws IOException;
+    }
+
+    private static final String TAG = "LYRICST_AUDIO";
+    private static final long TIMEOUT_US = 10_000;
+
+    private final File file;
+    private final int blockFrames;
+    private volatile boolean cancelled = false;
+
+    AudioFileDecoder(File file, int blockFrames) {
+        this.file = file;
+        this.blockFrames = blockFrames;
+    }
+
+    /**
+     * Çözmeyi iptal et (başka bir thread'den çağrılabilir)
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Dosyayı baştan sona çöz - çağıran thread'i bloklar (arka plan thread'inde çağır)
+     */
+    void decode(BlockListener listener) throws IOException {
+        // Eski içe aktarmalar base64 metin olarak kaydedilmiş olabilir - MediaExtractor'a vermeden çevir
+        if (LegacyBase64Audio.migrateIfNeeded(file)) {
+            Log.w(TAG, "🔁 Base64 metin olarak kaydedilmiş şarkı binary'ye çevrildi: " + file.getName());
+        }
+
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(file.getAbsolutePath());
+
+            MediaFormat inputFormat = null;
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat format = extractor.getTrackFormat(i);
+                String mime = format.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/")) {
+                    extractor.selectTrack(i);
+                    inputFormat = format;
+                    break;
+                }
+            }
+            if (inputFormat == null) {
+                throw new IOException("Ses izi bulunamadı: " + file.getName());
+            }
+
+            long durationUs = inputFormat.containsKey(MediaFormat.KEY_DURATION)
+                ? inputFormat.getLong(MediaFormat.KEY_DURATION)
+                : 0L;
+
+            codec = MediaCodec.createDecoderByType(inputFormat.getString(MediaFormat.KEY_MIME));
+            codec.configure(inputFormat, null, null, 0);
+            codec.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            MediaFormat outputFormat = inputFormat;
+            boolean inputDone = false;
+            boolean outputDone = false;
+            boolean formatReported = false;
+            boolean floatPcm = false;
+            int channels = 0;
+            short[] block = null;
+            int filled = 0; // blok içindeki örnek sayısı (frame değil)
+
+            while (!outputDone && !cancelled) {
+                if (!inputDone) {
+                    int inIndex = codec.dequeueInputBuffer(TIMEOUT_US);
+                    if (inIndex >= 0) {
+                        ByteBuffer inBuffer = codec.getInputBuffer(inIndex);
+                        int size = inBuffer != null ? extractor.readSampleData(inBuffer, 0) : -1;
+                        if (size < 0) {
+                            codec.queueInputBuffer(inIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(inIndex, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int outIndex = codec.dequeueOutputBuffer(info, TIMEOUT_US);
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    outputFormat = codec.getOutputFormat();
+                    continue;
+                }
+                if (outIndex < 0) {
+                    continue;
+                }
+
+                if (!formatReported) {
+                    int sampleRate = outputFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channels = outputFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    floatPcm = outputFormat.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                        && outputFormat.getInteger(MediaFormat.KEY_PCM_ENCODING) == AudioFormat.ENCODING_PCM_FLOAT;
+                    formatReported = true;
+                    if (!listener.onFormat(sampleRate, channels, durationUs)) {
+                        codec.releaseOutputBuffer(outIndex, false);
+                        return;
+                    }
+                    block = new short[blockFrames * channels];
+                }
+
+                ByteBuffer outBuffer = codec.getOutputBuffer(outIndex);
+                if (outBuffer != null && info.size > 0) {
+                    outBuffer.position(info.offset);
+                    outBuffer.limit(info.offset + info.size);
+                    ByteBuffer pcmBytes = outBuffer.slice().order(ByteOrder.nativeOrder());
+
+                    if (floatPcm) {
+                        FloatBuffer samples = pcmBytes.asFloatBuffer();
+                        while (samples.hasRemaining()) {
+                            float value = Math.max(-1f, Math.min(1f, samples.get()));
+                            block[filled++] = (short) (value * Short.MAX_VALUE);
+                            if (filled == block.length) {
+                                listener.onBlock(block, blockFrames);
+                                filled = 0;
+                            }
+                        }
+                    } else {
+                        ShortBuffer samples = pcmBytes.asShortBuffer();
+                        while (samples.hasRemaining()) {
+                            int count = Math.min(samples.remaining(), block.length - filled);
+                            samples.get(block, filled, count);
+                            filled += count;
+                            if (filled == block.length) {
+                                listener.onBlock(block, blockFrames);
+                                filled = 0;
+                            }
+                        }
+                    }
+                }
+                codec.releaseOutputBuffer(outIndex, false);
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    outputDone = true;
+                }
+            }
+
+            // Kalan yarım bloğu gönder
+            if (!cancelled && block != null && filled >= channels && channels > 0) {
+                listener.onBlock(block, filled / channels);
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new IOException("Ses çözülemedi: " + e.getMessage(), e);
+        } finally {
+            if (codec != null) {
+                try {
+                    codec.stop();
+                } catch (IllegalStateException ignored) {
+                    // Codec zaten durmuş olabilir
+                }
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.lyricst.app;
+
+/**
+ * İkinci dereceden IIR filtre (RBJ Audio EQ Cookbook katsayıları)
+ * Durum değişkenleri içeride tutulur - blok blok (streaming) işlemeye uygundur
+ * Her kanal için ayrı bir örnek kullanılmalıdır
+ */
+final class Biquad {
+
+    private final double b0;
+    private final double b1;
+    private final double b2;
+    private final double a1;
+    private final double a2;
+
+    // Transposed Direct Form II durumu
+    private double z1;
+    private double z2;
+
+    private Biquad(double b0, double b1, double b2, double a0, double a1, double a2) {
+        this.b0 = b0 / a0;
+        this.b1 = b1 / a0;
+        this.b2 = b2 / a0;
+        this.a1 = a1 / a0;
+        this.a2 = a2 / a0;
+    }
+
+    /**
+     * Alçak geçiren filtre (Butterworth için q = 0.7071)
+     */
+    static Biquad lowPass(double sampleRate, double cutoffHz, double q) {
+        double w0 = 2.0 * Math.PI * cutoffHz / sampleRate;
+        double cos = Math.cos(w0);
+        double alpha = Math.sin(w0) / (2.0 * q);
+        return new Biquad(
+            (1.0 - cos) / 2.0, 1.0 - cos, (1.0 - cos) / 2.0,
+            1.0 + alpha, -2.0 * cos, 1.0 - alpha
+        );
+    }
+
+    /**
+     * Yüksek geçiren filtre (Butterworth için q = 0.7071)
+     */
+    static Biquad highPass(double sampleRate, double cutoffHz, double q) {
+        double w0 = 2.0 * Math.PI * cutoffHz / sampleRate;
+        double cos = Math.cos(w0);
+        double alpha = Math.sin(w0) / (2.0 * q);
+        return new Biquad(
+            (1.0 + cos) / 2.0, -(1.0 + cos), (1.0 + cos) / 2.0,
+            1.0 + alpha, -2.0 * cos, 1.0 - alpha
+        );
+    }
+
+    /**
+     * Tüm geçiren filtre - genlik 1, sadece faz döner
+     * Aynı frekans ve q = 0.7071 ile alçak² + yüksek² toplamına eşittir (Linkwitz-Riley 4 kesişimi)
+     */
+    static Biquad allPass(double sampleRate, double cutoffHz, double q) {
+        double w0 = 2.0 * Math.PI * cutoffHz / sampleRate;
+        double cos = Math.cos(w0);
+        double alpha = Math.sin(w0) / (2.0 * q);
+        return new Biquad(
+            1.0 - alpha, -2.0 * cos, 1.0 + alpha,
+            1.0 + alpha, -2.0 * cos, 1.0 - alpha
+        );
+    }
+
+    /**
+     * Tek örnek işle
+     */
+    double process(double x) {
+        double y = b0 * x + z1;
+        z1 = b1 * x - a1 * y + z2;
+        z2 = b2 * x - a2 * y;
+        return y;
+    }
+
+    /**
+     * Filtre durumunu sıfırla (yeni şarkı / seek sonrası)
+     */
+    void reset() {
+        z1 = 0.0;
+        z2 = 0.0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.lyricst.app;
+
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Şarkı dosyalarının içerik hash'i - türetilmiş önbellek dosyalarının (enstrümantal, dalga formu) adı
+ * Dosya adı değişse bile aynı içerik aynı önbelleği bulur.
+ *
+ * Hash'i hesaplamak tüm dosyayı okumak demektir; bu yüzden sonuçlar path|boyut|değişiklik zamanı
+ * anahtarıyla küçük bir indeks dosyasına da yazılır. JavaScript bridge thread'inden yapılan
+ * önbellek kontrolleri sadece peek() kullanır (dosya okunmaz); of() arka plan işlerinde çağrılır.
+ */
+final class ContentHash {
+
+    private static final String TAG = "LYRICST_AUDIO";
+    private static final String INDEX_FILE = "content_hashes.idx";
+
+    // path|boyut|değişiklik zamanı -> içerik hash'i (her yüklemede dosyayı yeniden okumamak için)
+    private static final Map<String, String> CACHE = new HashMap<>();
+    private static File indexFile;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Kalıcı indeksi yükle (birden fazla çağrılabilir, sadece ilki okur)
+     */
+    static void init(File filesDir) {
+        synchronized (CACHE) {
+            if (indexFile != null) {
+                return;
+            }
+            indexFile = new File(filesDir, INDEX_FILE);
+            if (!indexFile.isFile()) {
+                return;
+            }
+            try (BufferedReader reader = new BufferedReader(new FileReader(indexFile))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        CACHE.put(line.substring(tab + 1), line.substring(0, tab));
+                    }
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Hash indeksi okunamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Daha önce hesaplanmış hash (dosya okunmaz) - bilinmiyorsa veya dosya değiştiyse null
+     */
+    static String peek(File source) {
+        synchronized (CACHE) {
+            return CACHE.get(cacheKey(source));
+        }
+    }
+
+    /**
+     * Dosya içeriğinin SHA-256 hash'i (ilk 16 hex karakter)
+     */
+    static String of(File source) throws IOException {
+        String cacheKey = cacheKey(source);
+        synchronized (CACHE) {
+            String cached = CACHE.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 desteklenmiyor", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(source)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        byte[] hash = digest.digest();
+        StringBuilder hex = new StringBuilder(16);
+        for (int i = 0; i < 8; i++) {
+            hex.append(String.format("%02x", hash[i]));
+        }
+        String result = hex.toString();
+        synchronized (CACHE) {
+            CACHE.put(cacheKey, result);
+            append(result, cacheKey);
+        }
+        return result;
+    }
+
+    private static String cacheKey(File source) {
+        return source.getAbsolutePath() + "|" + source.length() + "|" + source.lastModified();
+    }
+
+    /**
+     * İndekse satır ekle: hash \t anahtar (CACHE kilidi altında çağrılır)
+     */
+    private static void append(String hash, String cacheKey) {
+        if (indexFile == null || cacheKey.indexOf('\n') >= 0) {
+            return;
+        }
+        try (Writer writer = new FileWriter(indexFile, true)) {
+            writer.write(hash + "\t" + cacheKey + "\n");
+        } catch (IOException e) {
+            Log.w(TAG, "Hash indeksi yazılamadı: " + e.getMessage());
+        }
+    }
+}
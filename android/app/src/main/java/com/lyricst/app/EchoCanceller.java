@@ -0,0 +1,357 @@
+package com.lyricst.app;
+
+import java.util.Arrays;
+
+/**
+ * Oynatma referanslı yankı giderici (NLMS adaptif filtre)
+ *
+ * Hoparlörden çalan şarkı mikrofona geri döner ve SpeechRecognizer orijinal vokali
+ * yazıya döker. Çalınan PCM'in kendisi referans olarak verildiğinde, hoparlör -> mikrofon
+ * yolu adaptif bir FIR filtre ile modellenir ve tahmin edilen yankı mikrofon sinyalinden çıkarılır.
+ *
+ * - Gecikme tahmini: Mikrofon ve referans frame enerjilerinin (log) çapraz korelasyonu ile
+ *   toplu gecikme (hoparlör/ses yolu gecikmesi) bulunur; filtre sadece kalan kısa kuyruğu modeller.
+ * - Çift konuşma tespiti (Geigel + kalıntı oranı): Kullanıcı şarkı söylerken adaptasyon dondurulur,
+ *   aksi halde filtre kullanıcının sesini "yankı" sanıp onu da silmeye başlar.
+ * - CPU bütçesi: Her frame FRAME_BUDGET_NANOS içinde bitmeli; aşılırsa bir sonraki
+ *   frame'de adaptasyon atlanır (filtreleme yine yapılır, sadece öğrenme yavaşlar).
+ *
+ * Thread-safe değildir - tek bir ses thread'inden çağrılmalıdır.
+ */
+final class EchoCanceller {
+
+    static final int SAMPLE_RATE = 16000;
+    static final int FRAME_SIZE = 160;              // 10 ms
+    static final int FILTER_LENGTH = 256;           // 16 ms kuyruk (toplu gecikmeden sonra)
+    static final int MAX_DELAY_FRAMES = 40;         // 400 ms'ye kadar hoparlör/ses yolu gecikmesi
+    static final long FRAME_BUDGET_NANOS = 1_000_000L; // 10 ms'lik frame için 1 ms (çekirdeğin %10'u)
+
+    // Frame çözünürlüklü gecikme tahmininin hatasını filtre penceresinin içinde tutmak için pay
+    private static final int DELAY_MARGIN = 96;
+    private static final int CORRELATION_FRAMES = 100;  // 1 saniyelik korelasyon penceresi
+    private static final int DELAY_UPDATE_INTERVAL = 25; // 250 ms'de bir gecikme tahmini
+    private static final double MIN_DELAY_CORRELATION = 0.4;
+    // Gecikme kilitlendikten sonra pencerenin bu kadarından fazlası çift konuşmaysa tahmin yapılmaz
+    // (kullanıcı sesi zarfı bozar). Kilitlenmeden önce Geigel yanlış hizalı referansa baktığı için güvenilmez.
+    private static final int MAX_DOUBLE_TALK_FRAMES_FOR_DELAY = CORRELATION_FRAMES / 10;
+
+    private static final float STEP_SIZE = 0.4f;
+    private static final float REGULARIZATION = FILTER_LENGTH * 1000f;
+
+    // Geigel çift konuşma tespiti (yakınsamadan önce de çalışır)
+    private static final double GEIGEL_FACTOR = 1.5;
+    private static final int HANGOVER_FRAMES = 8;
+    private static final int STUCK_DOUBLE_TALK_FRAMES = 500; // 5 s boyunca sürekli çift konuşma
+    private static final double MIN_ECHO_GAIN = 0.01;
+    private static final double MAX_ECHO_GAIN = 4.0;
+    private static final double MIN_REF_LEVEL = 64.0; // Bunun altındaki referans sessizlik sayılır
+
+    // Kalıntı tabanlı çift konuşma tespiti: filtre yakınsadıktan sonra hata/tahmin enerji oranı
+    // alışılmış seviyenin çok üstüne çıkarsa mikrofonda yankı dışında bir ses (kullanıcı) vardır
+    private static final double CONVERGED_RESIDUAL_RATIO = 0.1;  // ~10 dB yankı bastırma
+    private static final double MIN_RESIDUAL_RATIO = 0.001;      // ~30 dB - çok hassaslaşmasın
+    private static final double RESIDUAL_DOUBLE_TALK_FACTOR = 8.0;
+
+    private static final int ENVELOPE_LENGTH = CORRELATION_FRAMES + MAX_DELAY_FRAMES;
+    private static final int RING_SIZE = 8192; // >= MAX_DELAY_FRAMES * FRAME_SIZE + FILTER_LENGTH + FRAME_SIZE
+    private static final int RING_MASK = RING_SIZE - 1;
+
+    private final float[] weights = new float[FILTER_LENGTH];
+    private final float[] refRing = new float[RING_SIZE];
+    private final float[] micEnvelope = new float[ENVELOPE_LENGTH];
+    private final float[] refEnvelope = new float[ENVELOPE_LENGTH];
+    private final float[] errors = new float[FRAME_SIZE];
+    private final boolean[] doubleTalkHistory = new boolean[CORRELATION_FRAMES];
+    private int recentDoubleTalkFrames = 0;
+
+    private long samplesWritten = 0;
+    private long framesProcessed = 0;
+
+    private int delayFrames = 0;
+    private int candidateDelayFrames = -1;
+    private boolean delayLocked = false;
+    private double echoGain = 1.0;
+    private double residualRatio = 1.0;
+    private int hangover = 0;
+    private int doubleTalkRun = 0;
+    private boolean doubleTalk = false;
+
+    private boolean skipAdaptation = false;
+    private long lastFrameNanos = 0;
+    private long overBudgetFrames = 0;
+
+    /**
+     * Bir frame işle
+     *
+     * @param mic Mikrofon frame'i (FRAME_SIZE örnek)
+     * @param ref Aynı anda hoparlöre giden oynatma frame'i (FRAME_SIZE örnek, çalmıyorsa sıfır)
+     * @param out Yankısı giderilmiş çıkış (FRAME_SIZE örnek) - mic ile aynı dizi olabilir
+     */
+    void process(short[] mic, short[] ref, short[] out) {
+        long start = System.nanoTime();
+
+        long frameStart = samplesWritten;
+        double micEnergy = 0.0;
+        double refEnergy = 0.0;
+        int maxMic = 0;
+        for (int n = 0; n < FRAME_SIZE; n++) {
+            refRing[(int) ((frameStart + n) & RING_MASK)] = ref[n];
+            refEnergy += (double) ref[n] * ref[n];
+            micEnergy += (double) mic[n] * mic[n];
+            maxMic = Math.max(maxMic, Math.abs(mic[n]));
+        }
+        samplesWritten += FRAME_SIZE;
+
+        int envelopeSlot = (int) (framesProcessed % ENVELOPE_LENGTH);
+        micEnvelope[envelopeSlot] = (float) Math.log10(1.0 + micEnergy / FRAME_SIZE);
+        refEnvelope[envelopeSlot] = (float) Math.log10(1.0 + refEnergy / FRAME_SIZE);
+        framesProcessed++;
+
+        if (framesProcessed >= ENVELOPE_LENGTH
+                && framesProcessed % DELAY_UPDATE_INTERVAL == 0
+                && (!delayLocked || recentDoubleTalkFrames <= MAX_DOUBLE_TALK_FRAMES_FOR_DELAY)) {
+            updateDelayEstimate();
+        }
+
+        int bulkDelay = Math.max(0, delayFrames * FRAME_SIZE - DELAY_MARGIN);
+
+        // Hizalanmış referans penceresindeki tepe değer (Geigel) ve başlangıç gücü
+        long alignedStart = frameStart - bulkDelay;
+        int maxRef = 0;
+        float power = 0f;
+        for (int k = 0; k < FILTER_LENGTH + FRAME_SIZE; k++) {
+            float value = refRing[(int) ((alignedStart + FRAME_SIZE - 1 - k) & RING_MASK)];
+            maxRef = Math.max(maxRef, (int) Math.abs(value));
+        }
+        for (int k = 1; k <= FILTER_LENGTH; k++) {
+            float value = refRing[(int) ((alignedStart - k) & RING_MASK)];
+            power += value * value;
+        }
+
+        // 1. geçiş: mevcut ağırlıklarla yankı tahmini (adaptasyonsuz) - çift konuşma kararı için
+        double errorEnergy = 0.0;
+        double estimateEnergy = 0.0;
+        for (int n = 0; n < FRAME_SIZE; n++) {
+            long base = alignedStart + n;
+            float estimate = 0f;
+            for (int k = 0; k < FILTER_LENGTH; k++) {
+                estimate += weights[k] * refRing[(int) ((base - k) & RING_MASK)];
+            }
+            float error = mic[n] - estimate;
+            errors[n] = error;
+            errorEnergy += (double) error * error;
+            estimateEnergy += (double) estimate * estimate;
+        }
+
+        boolean refActive = maxRef >= MIN_REF_LEVEL;
+        updateDoubleTalk(maxMic, maxRef, refActive, errorEnergy, estimateEnergy);
+        int historySlot = (int) (framesProcessed % CORRELATION_FRAMES);
+        if (doubleTalkHistory[historySlot]) recentDoubleTalkFrames--;
+        doubleTalkHistory[historySlot] = doubleTalk;
+        if (doubleTalk) recentDoubleTalkFrames++;
+        boolean adapt = refActive && !doubleTalk && !skipAdaptation;
+
+        if (adapt) {
+            // 2. geçiş: örnek örnek NLMS (hata her örnekte güncel ağırlıklarla yeniden hesaplanır)
+            for (int n = 0; n < FRAME_SIZE; n++) {
+                long base = alignedStart + n;
+                float newest = refRing[(int) (base & RING_MASK)];
+                float oldest = refRing[(int) ((base - FILTER_LENGTH) & RING_MASK)];
+                power += newest * newest - oldest * oldest;
+
+                float estimate = 0f;
+                for (int k = 0; k < FILTER_LENGTH; k++) {
+                    estimate += weights[k] * refRing[(int) ((base - k) & RING_MASK)];
+                }
+                float error = mic[n] - estimate;
+                errors[n] = error;
+
+                float gain = STEP_SIZE * error / (REGULARIZATION + Math.max(0f, power));
+                for (int k = 0; k < FILTER_LENGTH; k++) {
+                    weights[k] += gain * refRing[(int) ((base - k) & RING_MASK)];
+                }
+            }
+        }
+
+        for (int n = 0; n < FRAME_SIZE; n++) {
+            out[n] = clip(errors[n]);
+        }
+
+        lastFrameNanos = System.nanoTime() - start;
+        skipAdaptation = lastFrameNanos > FRAME_BUDGET_NANOS;
+        if (skipAdaptation) {
+            overBudgetFrames++;
+        }
+    }
+
+    /**
+     * Filtreyi ve tüm durumu sıfırla (yeni şarkı / seek)
+     */
+    void reset() {
+        Arrays.fill(weights, 0f);
+        Arrays.fill(refRing, 0f);
+        Arrays.fill(micEnvelope, 0f);
+        Arrays.fill(refEnvelope, 0f);
+        Arrays.fill(doubleTalkHistory, false);
+        recentDoubleTalkFrames = 0;
+        samplesWritten = 0;
+        framesProcessed = 0;
+        delayFrames = 0;
+        candidateDelayFrames = -1;
+        delayLocked = false;
+        echoGain = 1.0;
+        residualRatio = 1.0;
+        hangover = 0;
+        doubleTalkRun = 0;
+        doubleTalk = false;
+        skipAdaptation = false;
+    }
+
+    /**
+     * Tahmin edilen hoparlör -> mikrofon gecikmesi (örnek)
+     */
+    int getEstimatedDelaySamples() {
+        return delayFrames * FRAME_SIZE;
+    }
+
+    boolean isDoubleTalk() {
+        return doubleTalk;
+    }
+
+    long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    long getOverBudgetFrames() {
+        return overBudgetFrames;
+    }
+
+    long getFramesProcessed() {
+        return framesProcessed;
+    }
+
+    /**
+     * Çift konuşma tespiti
+     * - Geigel: Mikrofon tepe değeri beklenen yankı seviyesinin (echoGain * referans tepe) belirgin üstünde
+     * - Kalıntı: Filtre yakınsamışken hata enerjisi, yankı tahmininin alışılmış oranının çok üstünde
+     * İkisinden biri tetiklenirse kullanıcı şarkı söylüyor demektir; HANGOVER_FRAMES boyunca adaptasyon durur
+     */
+    private void updateDoubleTalk(int maxMic, int maxRef, boolean refActive, double errorEnergy, double estimateEnergy) {
+        if (!refActive) {
+            // Referans sessiz - öğrenilecek yankı yok
+            doubleTalk = false;
+            hangover = 0;
+            doubleTalkRun = 0;
+            return;
+        }
+
+        double ratio = errorEnergy / Math.max(1.0, estimateEnergy);
+        boolean converged = residualRatio < CONVERGED_RESIDUAL_RATIO;
+        boolean geigel = maxMic > GEIGEL_FACTOR * echoGain * maxRef;
+        boolean residual = converged && ratio > RESIDUAL_DOUBLE_TALK_FACTOR * residualRatio;
+
+        if (geigel || residual) {
+            hangover = HANGOVER_FRAMES;
+            doubleTalkRun++;
+        } else if (hangover > 0) {
+            hangover--;
+        } else {
+            doubleTalkRun = 0;
+            double gain = Math.max(MIN_ECHO_GAIN, Math.min(MAX_ECHO_GAIN, (double) maxMic / maxRef));
+            echoGain = 0.95 * echoGain + 0.05 * gain;
+            residualRatio = 0.9 * residualRatio + 0.1 * Math.max(MIN_RESIDUAL_RATIO, Math.min(1.0, ratio));
+        }
+        doubleTalk = hangover > 0;
+
+        // Yankı yolu değiştiyse ya da kazanç başlangıç tahmininden büyükse (hoparlör mikrofona çok yakın)
+        // her şey çift konuşma sanılır ve filtre hiç öğrenmez - bu durumdan yavaşça çık
+        if (doubleTalkRun > STUCK_DOUBLE_TALK_FRAMES) {
+            echoGain = Math.min(MAX_ECHO_GAIN, echoGain * 1.1);
+            residualRatio = 1.0;
+            doubleTalkRun = 0;
+        }
+    }
+
+    /**
+     * Mikrofon ve referans enerji zarflarının normalize çapraz korelasyonu ile toplu gecikmeyi bul
+     * Yeni değer iki ardışık tahminde aynı çıkarsa kabul edilir (titremeyi önler).
+     * Kilitlendikten sonra ±1 frame'lik oynamalar yok sayılır - DELAY_MARGIN bunları zaten kapsar.
+     */
+    private void updateDelayEstimate() {
+        long newest = framesProcessed - 1;
+        int bestLag = -1;
+        double bestCorrelation = MIN_DELAY_CORRELATION;
+
+        for (int lag = 0; lag <= MAX_DELAY_FRAMES; lag++) {
+            double sumMic = 0.0;
+            double sumRef = 0.0;
+            for (int i = 0; i < CORRELATION_FRAMES; i++) {
+                long t = newest - i;
+                sumMic += micEnvelope[(int) (t % ENVELOPE_LENGTH)];
+                sumRef += refEnvelope[(int) ((t - lag) % ENVELOPE_LENGTH)];
+            }
+            double meanMic = sumMic / CORRELATION_FRAMES;
+            double meanRef = sumRef / CORRELATION_FRAMES;
+
+            double cross = 0.0;
+            double varMic = 0.0;
+            double varRef = 0.0;
+            for (int i = 0; i < CORRELATION_FRAMES; i++) {
+                long t = newest - i;
+                double a = micEnvelope[(int) (t % ENVELOPE_LENGTH)] - meanMic;
+                double b = refEnvelope[(int) ((t - lag) % ENVELOPE_LENGTH)] - meanRef;
+                cross += a * b;
+                varMic += a * a;
+                varRef += b * b;
+            }
+            if (varMic <= 1e-9 || varRef <= 1e-9) {
+                continue;
+            }
+            double correlation = cross / Math.sqrt(varMic * varRef);
+            if (correlation > bestCorrelation) {
+                bestCorrelation = correlation;
+                bestLag = lag;
+            }
+        }
+
+        if (bestLag < 0 || bestLag == delayFrames || (delayLocked && Math.abs(bestLag - delayFrames) <= 1)) {
+            candidateDelayFrames = -1;
+            return;
+        }
+        if (bestLag == candidateDelayFrames) {
+            int oldBulk = Math.max(0, delayFrames * FRAME_SIZE - DELAY_MARGIN);
+            int newBulk = Math.max(0, bestLag * FRAME_SIZE - DELAY_MARGIN);
+            shiftWeights(newBulk - oldBulk);
+            delayFrames = bestLag;
+            delayLocked = true;
+            candidateDelayFrames = -1;
+        } else {
+            candidateDelayFrames = bestLag;
+        }
+    }
+
+    /**
+     * Toplu gecikme değiştiğinde öğrenilmiş yankı yolunu yeni hizaya kaydır
+     * Gecikme d örnek artarsa filtre içindeki yanıt d örnek öne gelir: w'[k] = w[k + d]
+     */
+    private void shiftWeights(int shift) {
+        if (shift == 0) {
+            return;
+        }
+        if (Math.abs(shift) >= FILTER_LENGTH) {
+            Arrays.fill(weights, 0f);
+        } else if (shift > 0) {
+            System.arraycopy(weights, shift, weights, 0, FILTER_LENGTH - shift);
+            Arrays.fill(weights, FILTER_LENGTH - shift, FILTER_LENGTH, 0f);
+        } else {
+            System.arraycopy(weights, 0, weights, -shift, FILTER_LENGTH + shift);
+            Arrays.fill(weights, 0, -shift, 0f);
+        }
+    }
+
+    private static short clip(float value) {
+        if (value > Short.MAX_VALUE) return Short.MAX_VALUE;
+        if (value < Short.MIN_VALUE) return Short.MIN_VALUE;
+        return (short) Math.round(value);
+    }
+}
@@ -0,0 +1,414 @@
+package com.lyricst.app;
+
+import android.content.Context;
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Enstrümantal (vokali azaltılmış) parça üretici
+ *
+ * Kayıtlı şarkıyı arka planda bir kez çözer, VocalReducer ile sabit boyutlu bloklar
+ * halinde işler ve AAC (.m4a) olarak Music/Karaoke dizinine yazar.
+ * Dosya adı içerik hash'inden türetilir - aynı şarkı için üretim sadece bir kez yapılır,
+ * dosya adı değişse bile önbellek geçerli kalır.
+ *
+ * Süreç boyunca tek örnek (get): Activity yeniden oluşturulduğunda süren üretim kesilmez ve aynı
+ * şarkı için ikinci bir iş başlamaz; yeni dinleyici süren işe eklenir.
+ */
+final class InstrumentalTrackGenerator {
+
+    /**
+     * Üretim ilerleme dinleyicisi - arka plan thread'inden çağrılır
+     */
+    interface Listener {
+        void onProgress(int percent);
+
+        void onReady(File output);
+
+        void onError(String message);
+    }
+
+    static final String OUTPUT_DIR = "Music/Karaoke";
+    static final int BLOCK_FRAMES = 4096;
+
+    private static final String TAG = "LYRICST_AUDIO";
+    private static final String FILE_PREFIX = "instrumental_";
+    private static final String FILE_EXTENSION = ".m4a";
+    private static final int BIT_RATE = 192_000;
+    private static final long TIMEOUT_US = 10_000;
+
+    private static InstrumentalTrackGenerator instance;
+
+    private final File outputDir;
+    private final ExecutorService executor;
+    // Süren işler ve dinleyicileri - aynı şarkı için aynı anda birden fazla iş başlatma
+    private final Map<String, List<Listener>> runningJobs = new HashMap<>();
+
+    /**
+     * Süreç genelindeki üretici (uygulama context'i tutulur, Activity sızdırılmaz)
+     */
+    static synchronized InstrumentalTrackGenerator get(Context context) {
+        if (instance == null) {
+            instance = new InstrumentalTrackGenerator(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private InstrumentalTrackGenerator(Context context) {
+        this.outputDir = new File(context.getFilesDir(), OUTPUT_DIR);
+        ContentHash.init(context.getFilesDir());
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "InstrumentalTrackGenerator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Eski içe aktarmalardan kalan base64 metin dosyalarını bir kez çevir (üretim işlerinden önce çalışır)
+        executor.execute(this::migrateLegacySongs);
+    }
+
+    /**
+     * Şarkı dizinindeki base64 metin olarak kaydedilmiş eski dosyaları binary'ye çevir
+     * Sadece ilk birkaç KB okunur; çevrilmiş dosyalar bir sonraki açılışta atlanır.
+     */
+    private void migrateLegacySongs() {
+        File[] files = outputDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (!file.isFile() || name.startsWith(FILE_PREFIX) || name.startsWith(WaveformAnalyzer.FILE_PREFIX) || name.endsWith(".part")) {
+                continue;
+            }
+            try {
+                if (LegacyBase64Audio.migrateIfNeeded(file)) {
+                    Log.w(TAG, "🔁 Base64 metin olarak kaydedilmiş şarkı binary'ye çevrildi: " + name);
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "❌ Eski şarkı dosyası desteklenmiyor, çevrilemedi: " + name + " (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    /**
+     * Önceden üretilmiş enstrümantal dosyayı bul - dosya okunmaz (bridge thread'inden çağrılır)
+     * Hash'i henüz bilinmeyen şarkı için null döner; generate() hash'i arka planda hesaplar ve
+     * dosya zaten varsa üretim yapmadan onReady çağırır.
+     *
+     * @return Dosya varsa File, yoksa null
+     */
+    File findCached(File source) {
+        String hash = ContentHash.peek(source);
+        if (hash == null) {
+            return null;
+        }
+        File output = new File(outputDir, FILE_PREFIX + hash + FILE_EXTENSION);
+        return output.isFile() && output.length() > 0 ? output : null;
+    }
+
+    /**
+     * Enstrümantal üretimini kuyruğa al
+     * Önbellekte varsa üretim yapılmadan hemen onReady çağrılır.
+     * Aynı şarkı için iş zaten sürüyorsa yeni iş başlatılmaz, dinleyici süren işe eklenir.
+     */
+    void generate(File source, Listener listener) {
+        final String key = source.getAbsolutePath();
+        synchronized (runningJobs) {
+            List<Listener> listeners = runningJobs.get(key);
+            if (listeners != null) {
+                Log.d(TAG, "⚠️ Enstrümantal üretimi zaten sürüyor, dinleyici eklendi: " + source.getName());
+                listeners.add(listener);
+                return;
+            }
+            listeners = new ArrayList<>();
+            listeners.add(listener);
+            runningJobs.put(key, listeners);
+        }
+
+        executor.execute(() -> {
+            Listener job = new Listener() {
+                @Override
+                public void onProgress(int percent) {
+                    for (Listener each : listenersOf(key, false)) {
+                        each.onProgress(percent);
+                    }
+                }
+
+                @Override
+                public void onReady(File output) {
+                    for (Listener each : listenersOf(key, true)) {
+                        each.onReady(output);
+                    }
+                }
+
+                @Override
+                public void onError(String message) {
+                    for (Listener each : listenersOf(key, true)) {
+                        each.onError(message);
+                    }
+                }
+            };
+            try {
+                File output = outputFileFor(source);
+                if (output.isFile() && output.length() > 0) {
+                    job.onReady(output);
+                    return;
+                }
+                long start = System.currentTimeMillis();
+                render(source, output, job);
+                Log.d(TAG, String.format("✅ Enstrümantal üretildi: %s (%d ms)", output.getName(), System.currentTimeMillis() - start));
+                job.onReady(output);
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "❌ Enstrümantal üretilemedi: " + e.getMessage());
+                job.onError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            } finally {
+                // İş her durumda kayıttan düşülür (sonraki istek yeniden başlatabilsin)
+                listenersOf(key, true);
+            }
+        });
+    }
+
+    /**
+     * İşin dinleyicilerinin kopyası - finished ise iş kayıttan düşülür (sonuç tek sefer bildirilir)
+     */
+    private List<Listener> listenersOf(String key, boolean finished) {
+        synchronized (runningJobs) {
+            List<Listener> listeners = finished ? runningJobs.remove(key) : runningJobs.get(key);
+            return listeners != null ? new ArrayList<>(listeners) : new ArrayList<>();
+        }
+    }
+
+    private File outputFileFor(File source) throws IOException {
+        return new File(outputDir, FILE_PREFIX + ContentHash.of(source) + FILE_EXTENSION);
+    }
+
+    /**
+     * Çöz -> vokal azalt -> AAC kodla
+     * Önce işe özel geçici .part dosyasına yazılır, başarılı olursa yeniden adlandırılır
+     * (yarım dosya önbelleğe girmez, iki iş aynı geçici dosyaya yazmaz)
+     */
+    private void render(File source, File output, Listener listener) throws IOException {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Çıkış dizini oluşturulamadı: " + outputDir);
+        }
+        File partial = File.createTempFile(output.getName(), ".part", outputDir);
+
+        AudioFileDecoder decoder = new AudioFileDecoder(source, BLOCK_FRAMES);
+        final AacWriter[] writer = new AacWriter[1];
+        final VocalReducer[] reducer = new VocalReducer[1];
+        final long[] totalFrames = new long[1];
+        final long[] processedFrames = new long[1];
+        final int[] lastPercent = {-1};
+        final int[] sourceChannels = new int[1];
+
+        try {
+            decoder.decode(new AudioFileDecoder.BlockListener() {
+                @Override
+                public boolean onFormat(int sampleRate, int channels, long durationUs) {
+                    if (channels < 2) {
+                        // Mono kaynakta merkez/yan ayrımı yok - üretmenin anlamı yok
+                        return false;
+                    }
+                    sourceChannels[0] = channels;
+                    totalFrames[0] = durationUs * sampleRate / 1_000_000L;
+                    reducer[0] = new VocalReducer(sampleRate, channels, 1.0);
+                    try {
+                        writer[0] = new AacWriter(partial, sampleRate, BLOCK_FRAMES);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                    return true;
+                }
+
+                @Override
+                public void onBlock(short[] pcm, int frames) throws IOException {
+                    reducer[0].process(pcm, frames);
+                    writer[0].write(pcm, frames, sourceChannels[0]);
+
+                    processedFrames[0] += frames;
+                    if (totalFrames[0] > 0) {
+                        int percent = (int) Math.min(99, processedFrames[0] * 100 / totalFrames[0]);
+                        if (percent != lastPercent[0]) {
+                            lastPercent[0] = percent;
+                            listener.onProgress(percent);
+                        }
+                    }
+                }
+            });
+
+            if (writer[0] == null) {
+                throw new IOException("Mono kaynak - vokal azaltma yapılamaz");
+            }
+            writer[0].finish();
+            writer[0] = null;
+
+            if (!partial.renameTo(output)) {
+                throw new IOException("Enstrümantal dosya kaydedilemedi: " + output.getName());
+            }
+            listener.onProgress(100);
+        } finally {
+            if (writer[0] != null) {
+                writer[0].abort();
+            }
+            if (partial.exists() && !partial.delete()) {
+                Log.w(TAG, "Yarım dosya silinemedi: " + partial.getName());
+            }
+        }
+    }
+
+    /**
+     * 16-bit stereo PCM -> AAC-LC (.m4a) yazıcı
+     * Kaynak 2'den fazla kanallıysa sadece ilk iki kanal (L/R) yazılır
+     */
+    private static final class AacWriter {
+        private static final int OUT_CHANNELS = 2;
+
+        private final MediaCodec encoder;
+        private final MediaMuxer muxer;
+        private final int sampleRate;
+        private final short[] stereo;
+        private final MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+        private int trackIndex = -1;
+        private boolean muxerStarted = false;
+        private long framesQueued = 0;
+
+        AacWriter(File output, int sampleRate, int blockFrames) throws IOException {
+            this.sampleRate = sampleRate;
+            this.stereo = new short[blockFrames * OUT_CHANNELS];
+
+            MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_AAC, sampleRate, OUT_CHANNELS);
+            format.setInteger(MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+            format.setInteger(MediaFormat.KEY_BIT_RATE, BIT_RATE);
+            format.setInteger(MediaFormat.KEY_MAX_INPUT_SIZE, stereo.length * 2);
+
+            encoder = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_AAC);
+            encoder.configure(format, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+            encoder.start();
+            muxer = new MediaMuxer(output.getAbsolutePath(), MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+        }
+
+        void write(short[] pcm, int frames, int channels) throws IOException {
+            short[] samples = pcm;
+            if (channels != OUT_CHANNELS) {
+                for (int f = 0; f < frames; f++) {
+                    stereo[f * 2] = pcm[f * channels];
+                    stereo[f * 2 + 1] = pcm[f * channels + 1];
+                }
+                samples = stereo;
+            }
+
+            int offset = 0;
+            int total = frames * OUT_CHANNELS;
+            while (offset < total) {
+                int inIndex = encoder.dequeueInputBuffer(TIMEOUT_US);
+                if (inIndex < 0) {
+                    drain(false);
+                    continue;
+                }
+                ByteBuffer in = encoder.getInputBuffer(inIndex);
+                if (in == null) {
+                    throw new IOException("Encoder input buffer alınamadı");
+                }
+                in.clear();
+                int count = Math.min(total - offset, (in.capacity() / 2 / OUT_CHANNELS) * OUT_CHANNELS);
+                in.order(ByteOrder.nativeOrder()).asShortBuffer().put(samples, offset, count);
+                long ptsUs = framesQueued * 1_000_000L / sampleRate;
+                encoder.queueInputBuffer(inIndex, 0, count * 2, ptsUs, 0);
+                framesQueued += count / OUT_CHANNELS;
+                offset += count;
+                drain(false);
+            }
+        }
+
+        void finish() throws IOException {
+            int inIndex;
+            do {
+                inIndex = encoder.dequeueInputBuffer(TIMEOUT_US);
+                if (inIndex < 0) {
+                    drain(false);
+                }
+            } while (inIndex < 0);
+            long ptsUs = framesQueued * 1_000_000L / sampleRate;
+            encoder.queueInputBuffer(inIndex, 0, 0, ptsUs, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+            drain(true);
+            release();
+        }
+
+        void abort() {
+            try {
+                release();
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Encoder kapatılamadı: " + e.getMessage());
+            }
+        }
+
+        private void drain(boolean untilEndOfStream) throws IOException {
+            while (true) {
+                int outIndex = encoder.dequeueOutputBuffer(info, untilEndOfStream ? TIMEOUT_US : 0);
+                if (outIndex == MediaCodec.INFO_TRY_AGAIN_LATER) {
+                    if (!untilEndOfStream) {
+                        return;
+                    }
+                    continue;
+                }
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    if (muxerStarted) {
+                        throw new IOException("Encoder formatı iki kez değişti");
+                    }
+                    trackIndex = muxer.addTrack(encoder.getOutputFormat());
+                    muxer.start();
+                    muxerStarted = true;
+                    continue;
+                }
+                if (outIndex < 0) {
+                    continue;
+                }
+
+                ByteBuffer out = encoder.getOutputBuffer(outIndex);
+                boolean codecConfig = (info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0;
+                if (out != null && info.size > 0 && !codecConfig && muxerStarted) {
+                    out.position(info.offset);
+                    out.limit(info.offset + info.size);
+                    muxer.writeSampleData(trackIndex, out, info);
+                }
+                encoder.releaseOutputBuffer(outIndex, false);
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    return;
+                }
+            }
+        }
+
+        private void release() {
+            try {
+                encoder.stop();
+            } catch (IllegalStateException ignored) {
+                // Encoder zaten durmuş olabilir
+            }
+            encoder.release();
+            if (muxerStarted) {
+                muxerStarted = false;
+                muxer.stop();
+            }
+            muxer.release();
+        }
+    }
+}
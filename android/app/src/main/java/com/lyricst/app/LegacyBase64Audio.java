@@ -0,0 +1,124 @@
+package com.lyricst.app;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Eski içe aktarmaların base64 metin olarak kaydedilmiş şarkı dosyaları
+ *
+ * İçe aktarma eskiden base64 veriyi UTF-8 encoding ile yazıyordu - dosyada ses yerine base64
+ * metni duruyor. MediaExtractor bu dosyaları okuyamaz. Ses dosyaları ilk birkaç KB içinde mutlaka
+ * base64 alfabesi dışında byte içerir (ID3 / ftyp / RIFF başlıkları, sıkıştırılmış veri), bu yüzden
+ * dosyanın başı tamamen base64 alfabesindense eski kayıt kabul edilir ve yerinde binary'ye çevrilir.
+ */
+final class LegacyBase64Audio {
+
+    private static final int PROBE_BYTES = 4096;
+    private static final int MIN_LENGTH = 16;
+
+    private LegacyBase64Audio() {
+    }
+
+    /**
+     * Dosyanın başı tamamen base64 metni mi (sadece PROBE_BYTES okunur)
+     */
+    static boolean isBase64Text(File file) throws IOException {
+        if (file.length() < MIN_LENGTH) {
+            return false;
+        }
+        byte[] probe = new byte[PROBE_BYTES];
+        int length = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while (length < probe.length && (read = in.read(probe, length, probe.length - length)) > 0) {
+                length += read;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            int b = probe[i] & 0xFF;
+            if (decodeChar(b) < 0 && b != '=' && b != '\n' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Eski kayıtsa dosyayı yerinde binary'ye çevir (.part -> yeniden adlandır)
+     *
+     * @return Dosya çevrildiyse true, zaten binary ise false
+     */
+    static synchronized boolean migrateIfNeeded(File file) throws IOException {
+        if (!isBase64Text(file)) {
+            return false;
+        }
+        File partial = new File(file.getParentFile(), file.getName() + ".part");
+        try {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file));
+                 OutputStream out = new BufferedOutputStream(new FileOutputStream(partial))) {
+                decode(in, out);
+            }
+            if (!partial.renameTo(file)) {
+                throw new IOException("Dönüştürülen dosya kaydedilemedi: " + file.getName());
+            }
+        } finally {
+            if (partial.exists()) {
+                //noinspection ResultOfMethodCallIgnored
+                partial.delete();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Akış halinde base64 çözme - satır sonları atlanır, '=' ile biter
+     */
+    static void decode(InputStream in, OutputStream out) throws IOException {
+        int accumulator = 0;
+        int bits = 0;
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '=') {
+                break;
+            }
+            int value = decodeChar(b);
+            if (value < 0) {
+                if (b == '\n' || b == '\r') {
+                    continue;
+                }
+                throw new IOException("Geçersiz base64 karakteri: " + b);
+            }
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out.write((accumulator >> bits) & 0xFF);
+            }
+        }
+    }
+
+    private static int decodeChar(int c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '+') {
+            return 62;
+        }
+        if (c == '/') {
+            return 63;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,697 @@
+package com.lyricst.app;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Binder;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+import android.os.PowerManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.speech.RecognitionListener;
+import android.speech.RecognizerIntent;
+import android.speech.SpeechRecognizer;
+import android.util.Log;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.ServiceCompat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Dinleme servisi - tanıma oturumu, ses yakalama ve perde takibi (bound + foreground)
+ *
+ * Eskiden tüm tanıma döngüsü MainActivity'de ana looper'da çalışıyordu: Sonuç callback'leri,
+ * her hatada yeni bir Handler ile zamanlanan yeniden başlatmalar ve WebView'e gönderimler
+ * WebView'in dokunma / çizim işleriyle aynı kuyrukta yarışıyordu. Servis bunları kendi yüksek
+ * öncelikli HandlerThread'ine (worker) taşır:
+ * - Sonuçların işlenmesi, loglama ve olayların Activity'ye iletilmesi worker'da yapılır.
+ * - Yeniden başlatmalar tek bir tekrar kullanılabilir zamanlayıcıdan geçer (restartTask) -
+ *   aynı anda en fazla bir yeniden başlatma bekler, üst üste binen başlatmalar olmaz.
+ * - VoiceCapture başlatma / durdurma ve tanıyıcı pipe'ının açılması worker'da yapılır.
+ *
+ * SpeechRecognizer ana thread'e bağlıdır (oluşturma ve tüm çağrılar ana thread'den yapılmalı,
+ * callback'leri ana thread'e gelir). Bu yüzden tanıyıcı çağrıları ana kuyruğun önüne eklenir
+ * (postAtFrontOfQueue) - UI takılsa bile bekleyen çizim işlerinin arkasında kalmaz; callback'ler
+ * sadece değerleri kopyalayıp worker'a geçer.
+ *
+ * Dinleme sürerken servis foreground'dadır (mikrofon türü) ve kısmi wake lock tutar: Ekran
+ * kapansa veya Activity yeniden oluşturulsa da oturum sürer. Activity bağlanınca Events'i
+ * yeniden kaydeder; bağlı değilken gelen olaylar düşürülür.
+ */
+public class ListeningService extends Service {
+
+    /**
+     * Activity'ye giden olaylar - worker thread'inden çağrılır
+     */
+    interface Events {
+        void onReadyForSpeech();
+
+        void onSpeechResult(String transcript, float confidence, boolean isFinal);
+
+        /**
+         * Normal olmayan tanıma hatası (NO_MATCH / SPEECH_TIMEOUT bildirilmez)
+         */
+        void onSpeechError(String message);
+
+        void onSpeechLog(String message);
+
+        void onPitchContour(String pointsJson);
+    }
+
+    /**
+     * Aynı süreçteki Activity için binder
+     */
+    final class LocalBinder extends Binder {
+        ListeningService getService() {
+            return ListeningService.this;
+        }
+    }
+
+    private static final String TAG = "LYRICST_SPEECH";
+    private static final String CHANNEL_ID = "listening";
+    private static final int NOTIFICATION_ID = 1001;
+    private static final long WAKE_LOCK_TIMEOUT_MS = 3 * 60 * 60 * 1000L;
+
+    static final long RESTART_AFTER_RESULT_MS = 200;
+    static final long RESTART_AFTER_NO_MATCH_MS = 100;
+    static final long RESTART_AFTER_ERROR_MS = 2000;
+    static final int MAX_CAPTURE_FAILURES = 3;
+    static final long RMS_LOG_INTERVAL_MS = 5000;
+
+    private final LocalBinder binder = new LocalBinder();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final PlaybackReference playbackReference = new PlaybackReference();
+
+    private HandlerThread workerThread;
+    private Handler worker;
+    private PitchTracker pitchTracker;
+    private PowerManager.WakeLock wakeLock;
+    private volatile Events events;
+
+    // Sadece ana thread
+    private SpeechRecognizer speechRecognizer;
+    private long lastRmsLogMs = 0;
+
+    // Worker'da oluşturulur / başlatılır (istatistikler her thread'den okunabilir)
+    private volatile VoiceCapture voiceCapture;
+    // Sadece worker
+    private java.text.SimpleDateFormat timestampFormat;
+
+    private volatile boolean listening = false;
+    private volatile boolean gapPaused = false; // Enstrümantal aralıkta tanıyıcı ve yakalama kapalı
+    private volatile boolean echoSourceFailed = false; // Tanıyıcı harici ses kaynağını desteklemiyorsa mikrofona dön
+    private volatile boolean foreground = false;
+    private int captureFailures = 0; // Sadece worker - art arda mikrofon okuma hataları
+
+    // Tek yeniden başlatma zamanlayıcısı - bekleyen istek yenisiyle değiştirilir
+    private boolean restartPending = false;
+    private boolean restartRecreate = false;
+    private boolean restartContinuation = false;
+    private final Runnable restartTask = this::runRestart;
+    private final Runnable gapResume = this::resumeFromGap;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        workerThread = new HandlerThread("ListeningService", Process.THREAD_PRIORITY_AUDIO);
+        workerThread.start();
+        worker = new Handler(workerThread.getLooper());
+        pitchTracker = new PitchTracker(workerThread.getLooper(), pointsJson -> {
+            Events target = events;
+            if (target != null) {
+                target.onPitchContour(pointsJson);
+            }
+        });
+        Log.d(TAG, "🧵 Dinleme servisi oluşturuldu");
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        enterForeground();
+        // stopListening() başlatma intent'i gelmeden çalıştıysa (hızlı başlat / durdur, aralıkta durdurma)
+        // foreground'da kalma. startForegroundService ile başlatılan servis startForeground çağırmadan
+        // durdurulursa sistem uygulamayı çökerttiği için önce geçilir, hemen geri çıkılır.
+        if (!listening) {
+            leaveForeground();
+        }
+        return START_NOT_STICKY;
+    }
+
+    @Override
+    public void onDestroy() {
+        listening = false;
+        worker.removeCallbacksAndMessages(null);
+        if (speechRecognizer != null) {
+            speechRecognizer.destroy();
+            speechRecognizer = null;
+        }
+        if (pitchTracker.isActive()) {
+            pitchTracker.stop();
+        }
+        if (voiceCapture != null) {
+            voiceCapture.stop();
+            voiceCapture = null;
+        }
+        playbackReference.clear();
+        releaseWakeLock();
+        workerThread.quitSafely();
+        Log.d(TAG, "🧵 Dinleme servisi kapatıldı");
+        super.onDestroy();
+    }
+
+    void setEvents(Events events) {
+        this.events = events;
+    }
+
+    PlaybackReference getPlaybackReference() {
+        return playbackReference;
+    }
+
+    PitchTracker getPitchTracker() {
+        return pitchTracker;
+    }
+
+    /**
+     * Yakalama yolu perde verebiliyor mu (Android 13+ ve harici ses kaynağı destekleniyor)
+     */
+    boolean isEchoCaptureAvailable() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU && !echoSourceFailed;
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Yankı referansı değişti - yakalama hattının gecikme tahmini sıfırlansın
+     */
+    void requestCaptureReset() {
+        worker.post(() -> {
+            if (voiceCapture != null) {
+                voiceCapture.requestReset();
+            }
+        });
+    }
+
+    /**
+     * Yankı giderici istatistikleri (JSON)
+     */
+    String getCaptureStatsJson() {
+        VoiceCapture capture = voiceCapture;
+        return capture != null ? capture.getStatsJson() : "{\"active\":false}";
+    }
+
+    /**
+     * Dinlemeyi başlat (mikrofon izni Activity'de kontrol edilir)
+     * Zaten dinleniyorsa tanıyıcı yeniden başlatılmaz (mikrofon açılıp kapanmasın)
+     */
+    void startListening() {
+        if (listening) {
+            Log.d(TAG, "⚠️ Zaten dinleniyor, yeniden başlatılmıyor");
+            return;
+        }
+        listening = true;
+        gapPaused = false;
+
+        Intent intent = new Intent(this, ListeningService.class);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            startForegroundService(intent);
+        } else {
+            startService(intent);
+        }
+        acquireWakeLock();
+        scheduleRestart(0, false, false);
+    }
+
+    /**
+     * Dinlemeyi durdur - tanıyıcı bir sonraki oturum için korunur
+     */
+    void stopListening() {
+        listening = false;
+        gapPaused = false;
+        cancelRestart();
+        worker.removeCallbacks(gapResume);
+        mainHandler.postAtFrontOfQueue(() -> {
+            if (speechRecognizer != null) {
+                speechRecognizer.stopListening();
+                speechRecognizer.cancel();
+            }
+        });
+        worker.post(() -> {
+            if (voiceCapture != null) {
+                voiceCapture.stop();
+            }
+        });
+        releaseWakeLock();
+        leaveForeground();
+        Log.d(TAG, "🛑 Dinleme durduruldu");
+    }
+
+    /**
+     * Enstrümantal / sessiz aralık: Tanıyıcıyı ve yakalamayı bırak, resumeDelayMs sonra sürdür
+     * Seans (listening) açık kalır; bekleyen yeniden başlatma iptal edilir.
+     */
+    void pauseForGap(long resumeDelayMs) {
+        if (!listening || gapPaused) {
+            return;
+        }
+        gapPaused = true;
+        cancelRestart();
+        mainHandler.postAtFrontOfQueue(() -> {
+            if (speechRecognizer != null) {
+                speechRecognizer.cancel();
+                speechRecognizer.destroy();
+                speechRecognizer = null;
+            }
+        });
+        worker.post(() -> {
+            if (voiceCapture != null) {
+                voiceCapture.stop();
+            }
+        });
+        worker.postDelayed(gapResume, resumeDelayMs);
+        Log.d(TAG, "⏸️ Enstrümantal aralık - dinleme " + resumeDelayMs + " ms duraklatıldı");
+    }
+
+    /**
+     * Aralık bitti (zamanlayıcı) veya erken çıkıldı (sarma, müzik durdu)
+     */
+    void resumeFromGap() {
+        worker.removeCallbacks(gapResume);
+        if (!gapPaused) {
+            return;
+        }
+        gapPaused = false;
+        if (listening) {
+            Log.d(TAG, "▶️ Enstrümantal aralık bitti - dinleme sürdürülüyor");
+            scheduleRestart(0, true, false);
+        }
+    }
+
+    /**
+     * Tek yeniden başlatma zamanlayıcısı - bekleyen istek varsa yenisiyle değiştirilir
+     * (tanıyıcıyı yeniden oluşturma isteği düşürülmez)
+     *
+     * @param recreate     Tanıyıcıyı destroy edip yeniden oluştur (kritik hatalar)
+     * @param continuation Sonuç sonrası kısa oturum ayarları
+     */
+    private void scheduleRestart(long delayMs, boolean recreate, boolean continuation) {
+        worker.post(() -> {
+            restartRecreate = recreate || (restartPending && restartRecreate);
+            restartContinuation = continuation;
+            restartPending = true;
+            worker.removeCallbacks(restartTask);
+            worker.postDelayed(restartTask, delayMs);
+        });
+    }
+
+    private void cancelRestart() {
+        worker.post(() -> {
+            worker.removeCallbacks(restartTask);
+            restartPending = false;
+            restartRecreate = false;
+        });
+    }
+
+    /**
+     * Worker: Intent'i ve yankı giderici pipe'ını hazırla, tanıyıcı çağrısını ana kuyruğun önüne koy
+     */
+    private void runRestart() {
+        restartPending = false;
+        if (!listening || gapPaused) {
+            return;
+        }
+        final boolean recreate = restartRecreate;
+        restartRecreate = false;
+        final Intent intent = buildIntent(restartContinuation);
+        applyEchoCancelledSource(intent);
+        mainHandler.postAtFrontOfQueue(() -> beginSession(intent, recreate));
+    }
+
+    /**
+     * Ana thread: Gerekirse tanıyıcıyı oluştur ve oturumu başlat
+     */
+    private void beginSession(Intent intent, boolean recreate) {
+        if (!listening || gapPaused) {
+            return;
+        }
+        if (recreate && speechRecognizer != null) {
+            speechRecognizer.cancel();
+            speechRecognizer.destroy();
+            speechRecognizer = null;
+            Log.d(TAG, "⚠️ SpeechRecognizer yeniden oluşturuluyor");
+        }
+        if (speechRecognizer == null) {
+            if (!SpeechRecognizer.isRecognitionAvailable(this)) {
+                reportError("Speech Recognition kullanılamıyor!");
+                return;
+            }
+            speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
+            if (speechRecognizer == null) {
+                reportError("SpeechRecognizer oluşturulamadı!");
+                return;
+            }
+            speechRecognizer.setRecognitionListener(recognitionListener);
+        }
+        try {
+            speechRecognizer.startListening(intent);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "❌ Speech Recognition başlatılamadı: " + e.getMessage());
+            reportError("Speech Recognition başlatılamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Oturum ayarları - ilk oturum ve hata sonrası uzun sessizlik toleransı, sonuç sonrası kısa oturum
+     */
+    private Intent buildIntent(boolean continuation) {
+        Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "tr-TR");
+        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
+        intent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, getPackageName());
+        if (continuation) {
+            intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 5000L);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 3000L);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 1500L);
+        } else {
+            // Sürekli dinleme - Web Speech API gibi
+            intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 10);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 15000L);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 10000L);
+            intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 200L);
+            intent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, false); // Offline çalışmıyor
+            intent.putExtra("android.speech.extra.DICTATION_MODE", true);
+        }
+        return intent;
+    }
+
+    /**
+     * Worker: Android 13+ (API 33) tanıyıcıya mikrofon yerine VoiceCapture'ın yankısı giderilmiş PCM akışını ver
+     * Her oturum için yeni bir pipe açılır. Daha eski sürümlerde veya tanıyıcı harici kaynağı
+     * desteklemiyorsa intent'e dokunulmaz (tanıyıcı mikrofonu kendisi açar).
+     */
+    private void applyEchoCancelledSource(Intent intent) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU || echoSourceFailed) {
+            return;
+        }
+        if (voiceCapture == null) {
+            voiceCapture = new VoiceCapture(playbackReference);
+            voiceCapture.addFrameListener(pitchTracker);
+            voiceCapture.setErrorListener(code -> worker.post(() -> handleCaptureError(code)));
+        }
+        if (!voiceCapture.start()) {
+            echoSourceFailed = true;
+            return;
+        }
+
+        try {
+            ParcelFileDescriptor source = voiceCapture.openRecognizerSession();
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE, source);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_CHANNEL_COUNT, VoiceCapture.CHANNEL_COUNT);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_ENCODING, VoiceCapture.ENCODING);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_SAMPLING_RATE, EchoCanceller.SAMPLE_RATE);
+        } catch (IOException e) {
+            Log.e("LYRICST_AUDIO", "❌ Tanıyıcı pipe'ı açılamadı, mikrofon kullanılacak: " + e.getMessage());
+            echoSourceFailed = true;
+            voiceCapture.stop();
+        }
+    }
+
+    /**
+     * Worker: Yakalama okuma hatasıyla durdu - tanıyıcının pipe'ına artık ses gelmiyor
+     * Oturum yeniden kurulur (applyEchoCancelledSource mikrofonu yeniden açar); art arda
+     * MAX_CAPTURE_FAILURES hatadan sonra tanıyıcının kendi mikrofonuna dönülür.
+     */
+    private void handleCaptureError(int code) {
+        captureFailures++;
+        if (captureFailures >= MAX_CAPTURE_FAILURES) {
+            Log.w("LYRICST_AUDIO", "⚠️ Mikrofon art arda okunamadı (" + code + "), yankı giderici devre dışı");
+            echoSourceFailed = true;
+        }
+        if (listening && !gapPaused) {
+            scheduleRestart(0, true, false);
+        }
+    }
+
+    /**
+     * Tanıyıcı callback'leri ana thread'e gelir - değerler kopyalanıp worker'a geçilir
+     */
+    private final RecognitionListener recognitionListener = new RecognitionListener() {
+        @Override
+        public void onReadyForSpeech(Bundle params) {
+            worker.post(() -> {
+                Log.d(TAG, "✅ [NATIVE SPEECH] Speech Recognition hazır - Dinlemeye başladı!");
+                Events target = events;
+                if (target != null) {
+                    target.onReadyForSpeech();
+                }
+            });
+        }
+
+        @Override
+        public void onBeginningOfSpeech() {
+            worker.post(() -> log("🎤 [NATIVE SPEECH] Konuşma başladı - Ses algılanıyor!"));
+        }
+
+        @Override
+        public void onRmsChanged(float rmsdB) {
+            // Mikrofon çalışıyor mu - çok sık gelir (~10-50 ms), RMS_LOG_INTERVAL_MS'de bir logla
+            long now = SystemClock.elapsedRealtime();
+            if (now - lastRmsLogMs >= RMS_LOG_INTERVAL_MS) {
+                lastRmsLogMs = now;
+                worker.post(() -> Log.d(TAG, String.format(java.util.Locale.US, "🔊 [NATIVE SPEECH] Ses seviyesi: %.2f dB", rmsdB)));
+            }
+        }
+
+        @Override
+        public void onBufferReceived(byte[] buffer) {
+            // Kullanılmıyor
+        }
+
+        @Override
+        public void onEndOfSpeech() {
+            worker.post(() -> log("🛑 [NATIVE SPEECH] Konuşma bitti - Sonuç bekleniyor..."));
+        }
+
+        @Override
+        public void onError(int error) {
+            worker.post(() -> handleError(error));
+        }
+
+        @Override
+        public void onResults(Bundle results) {
+            final ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+            final float[] confidences = results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
+            worker.post(() -> {
+                captureFailures = 0;
+                deliverResult(matches, confidences, 0.8f, true);
+                // Sürekli dinleme için yeni oturum - tanıyıcı korunur (mikrofon açılıp kapanmasın)
+                if (listening) {
+                    scheduleRestart(RESTART_AFTER_RESULT_MS, false, true);
+                }
+            });
+        }
+
+        @Override
+        public void onPartialResults(Bundle partialResults) {
+            final ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+            final float[] confidences = partialResults.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
+            // Partial sonrası yeniden başlatma yok - sürekli gelir, her seferinde mikrofon açılıp kapanırdı
+            worker.post(() -> deliverResult(matches, confidences, 0.7f, false));
+        }
+
+        @Override
+        public void onEvent(int eventType, Bundle params) {
+            // Kullanılmıyor
+        }
+    };
+
+    /**
+     * Worker: İlk alternatifi Activity'ye ilet
+     */
+    private void deliverResult(ArrayList<String> matches, float[] confidences, float defaultConfidence, boolean isFinal) {
+        if (matches == null || matches.isEmpty()) {
+            Log.w(TAG, String.format("⚠️ %s tetiklendi ama matches boş!", isFinal ? "onResults" : "onPartialResults"));
+            return;
+        }
+        String transcript = matches.get(0);
+        float confidence = confidences != null && confidences.length > 0 ? confidences[0] : defaultConfidence;
+        Log.d(TAG, String.format(java.util.Locale.US, "[%s] [LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: %s | Lang: tr-TR",
+            timestamp(), transcript, confidence, isFinal ? "FINAL" : "INTERIM"));
+        Events target = events;
+        if (target != null) {
+            target.onSpeechResult(transcript, confidence, isFinal);
+        }
+    }
+
+    /**
+     * Worker: Hata sınıflandırma ve yeniden başlatma kararı
+     */
+    private void handleError(int error) {
+        String errorName = errorName(error);
+        Log.w(TAG, String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Speech Recognition hatası: %d (%s)", timestamp(), error, errorName));
+        if (gapPaused) {
+            return; // Aralıkta tanıyıcı bilerek kapatıldı
+        }
+
+        // Tanıyıcı harici ses kaynağımızı okuyamadıysa bir daha deneme - normal mikrofona dön
+        // (ERROR_AUDIO kritik hata yolundan yeniden başlatılır)
+        if (error == SpeechRecognizer.ERROR_AUDIO && voiceCapture != null && voiceCapture.isRunning()) {
+            Log.w("LYRICST_AUDIO", "⚠️ Harici ses kaynağı desteklenmiyor, yankı giderici devre dışı");
+            echoSourceFailed = true;
+            voiceCapture.stop();
+        }
+
+        // ERROR_NO_MATCH / ERROR_SPEECH_TIMEOUT sürekli dinlemede normal - JavaScript'e bildirilmez
+        if (error == SpeechRecognizer.ERROR_NO_MATCH || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT) {
+            if (listening) {
+                scheduleRestart(RESTART_AFTER_NO_MATCH_MS, false, false);
+            }
+            return;
+        }
+
+        reportError("Speech Recognition hatası: " + error + " (" + errorName + ")");
+
+        // Kritik hatalarda tanıyıcıyı yeniden oluştur (ERROR_RECOGNIZER_BUSY / ERROR_CLIENT hariç)
+        if (listening && error != SpeechRecognizer.ERROR_RECOGNIZER_BUSY && error != SpeechRecognizer.ERROR_CLIENT) {
+            scheduleRestart(RESTART_AFTER_ERROR_MS, true, false);
+        }
+    }
+
+    private void reportError(String message) {
+        worker.post(() -> {
+            Log.e(TAG, "❌ [NATIVE SPEECH] " + message);
+            Events target = events;
+            if (target != null) {
+                target.onSpeechError(message);
+            }
+        });
+    }
+
+    /**
+     * Worker: Logcat + WebView konsolu (debug log kopyalama için)
+     */
+    private void log(String message) {
+        String line = String.format("[%s] [LOG] %s", timestamp(), message);
+        Log.d(TAG, line);
+        Events target = events;
+        if (target != null) {
+            target.onSpeechLog(line);
+        }
+    }
+
+    private String timestamp() {
+        if (timestampFormat == null) {
+            timestampFormat = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
+            timestampFormat.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
+        }
+        return timestampFormat.format(new java.util.Date());
+    }
+
+    private static String errorName(int error) {
+        switch (error) {
+            case SpeechRecognizer.ERROR_AUDIO:
+                return "ERROR_AUDIO";
+            case SpeechRecognizer.ERROR_CLIENT:
+                return "ERROR_CLIENT";
+            case SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS:
+                return "ERROR_INSUFFICIENT_PERMISSIONS";
+            case SpeechRecognizer.ERROR_NETWORK:
+                return "ERROR_NETWORK";
+            case SpeechRecognizer.ERROR_NETWORK_TIMEOUT:
+                return "ERROR_NETWORK_TIMEOUT";
+            case SpeechRecognizer.ERROR_NO_MATCH:
+                return "ERROR_NO_MATCH";
+            case SpeechRecognizer.ERROR_RECOGNIZER_BUSY:
+                return "ERROR_RECOGNIZER_BUSY";
+            case SpeechRecognizer.ERROR_SERVER:
+                return "ERROR_SERVER";
+            case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
+                return "ERROR_SPEECH_TIMEOUT";
+            default:
+                return "UNKNOWN_ERROR";
+        }
+    }
+
+    /**
+     * Foreground'a geç - Android 11+ mikrofon türü ile (ekran kapalıyken de mikrofon erişimi)
+     * Mikrofon türü API 30'da eklendi; daha eskilerde tür verilmeden başlatılır
+     */
+    private void enterForeground() {
+        if (foreground) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationManager manager = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
+            if (manager != null && manager.getNotificationChannel(CHANNEL_ID) == null) {
+                manager.createNotificationChannel(new NotificationChannel(CHANNEL_ID, "Dinleme", NotificationManager.IMPORTANCE_LOW));
+            }
+        }
+
+        Intent open = new Intent(this, MainActivity.class).addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        int pendingFlags = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M ? PendingIntent.FLAG_IMMUTABLE : 0;
+        Notification notification = new NotificationCompat.Builder(this, CHANNEL_ID)
+            .setSmallIcon(getApplicationInfo().icon)
+            .setContentTitle("Karaoke dinleniyor")
+            .setContentText("Şarkı sözleri sesinizle takip ediliyor")
+            .setOngoing(true)
+            .setContentIntent(PendingIntent.getActivity(this, 0, open, pendingFlags))
+            .build();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            startForeground(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_MICROPHONE);
+        } else {
+            startForeground(NOTIFICATION_ID, notification);
+        }
+        foreground = true;
+    }
+
+    /**
+     * Foreground'dan çık - Activity bağlı kaldıkça servis yaşar
+     */
+    private void leaveForeground() {
+        if (!foreground) {
+            return;
+        }
+        foreground = false;
+        ServiceCompat.stopForeground(this, ServiceCompat.STOP_FOREGROUND_REMOVE);
+        stopSelf();
+    }
+
+    private void acquireWakeLock() {
+        if (wakeLock == null) {
+            PowerManager powerManager = (PowerManager) getSystemService(Context.POWER_SERVICE);
+            if (powerManager == null) {
+                return;
+            }
+            wakeLock = powerManager.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "Lyricst:Listening");
+            wakeLock.setReferenceCounted(false);
+        }
+        wakeLock.acquire(WAKE_LOCK_TIMEOUT_MS);
+    }
+
+    private void releaseWakeLock() {
+        if (wakeLock != null && wakeLock.isHeld()) {
+            wakeLock.release();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.lyricst.app;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Zaman damgalı söz (LRC / enhanced LRC) ayrıştırıcı ve zaman indeksi
+ *
+ * Desteklenen biçim:
+ * - Satır etiketi: [mm:ss.xx] metin  (bir satırda birden fazla etiket = tekrarlanan satır)
+ * - Kelime etiketi (enhanced): [mm:ss.xx] <mm:ss.xx> kelime <mm:ss.xx> kelime ...
+ * - Meta etiketler ([ar:], [ti:], [by:] ...) atlanır, [offset:±ms] uygulanır
+ *
+ * Sonuç düz metin (satırlar '\n' ile) ve sıralı int dizileri: satır başlangıçları, satırların ilk
+ * kelimesi ve kelime başlangıçları. Kelime sırası düz metnin boşluklara göre bölünmesiyle birebir
+ * aynıdır (oynatıcı sözleri böyle böler). Etiketi olmayan kelimelerin zamanı komşu etiketler arasında
+ * doğrusal dağıtılır. Oynatma konumundan kelimeye geçiş ikili aramadır (O(log n)).
+ *
+ * Android API'lerine bağımlı değildir (JVM testleri için).
+ */
+final class LrcTimingIndex {
+
+    static final int FORMAT_VERSION = 1;
+
+    // Son satırın bitişi bilinmiyor - kelime başına varsayılan süre
+    private static final int DEFAULT_WORD_MS = 400;
+
+    final String text;
+    final int[] lineStartMs;
+    final int[] lineFirstWord;
+    final int[] wordStartMs;
+
+    private LrcTimingIndex(String text, int[] lineStartMs, int[] lineFirstWord, int[] wordStartMs) {
+        this.text = text;
+        this.lineStartMs = lineStartMs;
+        this.lineFirstWord = lineFirstWord;
+        this.wordStartMs = wordStartMs;
+    }
+
+    int lineCount() {
+        return lineStartMs.length;
+    }
+
+    int wordCount() {
+        return wordStartMs.length;
+    }
+
+    /**
+     * Verilen konumda söylenen kelime (ilk kelimeden önce -1)
+     */
+    int wordAt(int positionMs) {
+        return floorIndex(wordStartMs, positionMs);
+    }
+
+    /**
+     * Verilen konumdaki satır (ilk satırdan önce -1)
+     */
+    int lineAt(int positionMs) {
+        return floorIndex(lineStartMs, positionMs);
+    }
+
+    /**
+     * Metin LRC gibi görünüyor mu? (en az bir satır zaman etiketiyle başlıyor)
+     */
+    static boolean looksLikeLrc(String raw) {
+        if (raw == null) {
+            return false;
+        }
+        for (String line : raw.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("[") && parseTime(trimmed, 1, trimmed.indexOf(']')) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * LRC metnini ayrıştır
+     *
+     * @return Zaman etiketli hiç sözlü satır yoksa null
+     */
+    static LrcTimingIndex parse(String raw) {
+        if (raw == null) {
+            return null;
+        }
+
+        int offsetMs = 0;
+        List<Entry> entries = new ArrayList<>();
+        int order = 0;
+
+        for (String rawLine : raw.split("\r?\n")) {
+            String line = rawLine.trim();
+            List<Integer> times = new ArrayList<>();
+            int pos = 0;
+
+            // Satır başındaki [..] etiketleri
+            while (pos < line.length() && line.charAt(pos) == '[') {
+                int close = line.indexOf(']', pos);
+                if (close < 0) {
+                    break;
+                }
+                int time = parseTime(line, pos + 1, close);
+                if (time >= 0) {
+                    times.add(time);
+                } else if (line.regionMatches(true, pos + 1, "offset:", 0, 7)) {
+                    try {
+                        offsetMs = Integer.parseInt(line.substring(pos + 8, close).trim().replace("+", ""));
+                    } catch (NumberFormatException ignored) {
+                        // Bozuk offset - yok say
+                    }
+                }
+                pos = close + 1;
+            }
+
+            // Etiketsiz satırlar (başlık, boş satır, meta) indekse girmez
+            for (int time : times) {
+                entries.add(new Entry(time, line.substring(pos), order++));
+            }
+        }
+
+        Collections.sort(entries);
+
+        StringBuilder text = new StringBuilder();
+        List<Integer> lineStarts = new ArrayList<>();
+        List<Integer> lineFirst = new ArrayList<>();
+        List<Integer> wordStarts = new ArrayList<>();
+
+        for (int e = 0; e < entries.size(); e++) {
+            Entry entry = entries.get(e);
+            int lineStart = Math.max(0, entry.timeMs - offsetMs);
+
+            List<String> words = new ArrayList<>();
+            List<Integer> wordTimes = new ArrayList<>();
+            splitWords(entry.body, offsetMs, words, wordTimes);
+            if (words.isEmpty()) {
+                // Boş etiket (enstrümantal ara) - sadece önceki satırın bitişini belirler
+                continue;
+            }
+
+            // Satırın bitişi: sonraki etiketin zamanı (boş olsa bile)
+            int lineEnd = -1;
+            if (e + 1 < entries.size()) {
+                lineEnd = Math.max(lineStart, entries.get(e + 1).timeMs - offsetMs);
+            }
+            if (lineEnd < 0) {
+                lineEnd = lineStart + words.size() * DEFAULT_WORD_MS;
+            }
+
+            int[] times = interpolate(wordTimes, lineStart, lineEnd);
+            int previous = wordStarts.isEmpty() ? 0 : wordStarts.get(wordStarts.size() - 1);
+
+            if (!lineFirst.isEmpty()) {
+                text.append('\n');
+            }
+            lineFirst.add(wordStarts.size());
+            lineStarts.add(Math.max(lineStart, previous));
+            for (int w = 0; w < words.size(); w++) {
+                // Sıra bozulmasın (örtüşen etiketler) - ikili arama sıralı dizi ister
+                previous = Math.max(previous, times[w]);
+                wordStarts.add(previous);
+                if (w > 0) {
+                    text.append(' ');
+                }
+                text.append(words.get(w));
+            }
+        }
+
+        if (lineFirst.isEmpty()) {
+            return null;
+        }
+        return new LrcTimingIndex(text.toString(), toArray(lineStarts), toArray(lineFirst), toArray(wordStarts));
+    }
+
+    /**
+     * Depolama / JavaScript için JSON: {"v":1,"lines":[..],"lineWords":[..],"words":[..]}
+     */
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("v", FORMAT_VERSION);
+        json.put("lines", toJsonArray(lineStartMs));
+        json.put("lineWords", toJsonArray(lineFirstWord));
+        json.put("words", toJsonArray(wordStartMs));
+        return json;
+    }
+
+    /**
+     * Satır gövdesini kelimelere böl; <mm:ss.xx> etiketinden sonra başlayan kelime o zamanı alır
+     * (etiketsiz kelimeler için -1). Hece etiketleri (kelime ortasında) yok sayılır.
+     */
+    private static void splitWords(String body, int offsetMs, List<String> words, List<Integer> wordTimes) {
+        StringBuilder current = new StringBuilder();
+        int pendingTime = -1;
+        int currentTime = -1;
+        int i = 0;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c == '<') {
+                int close = body.indexOf('>', i);
+                int time = close > 0 ? parseTime(body, i + 1, close) : -1;
+                if (time >= 0) {
+                    if (current.length() == 0) {
+                        pendingTime = Math.max(0, time - offsetMs);
+                    }
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if (Character.isWhitespace(c)) {
+                if (current.length() > 0) {
+                    words.add(current.toString());
+                    wordTimes.add(currentTime);
+                    current.setLength(0);
+                }
+            } else {
+                if (current.length() == 0) {
+                    currentTime = pendingTime;
+                    pendingTime = -1;
+                }
+                current.append(c);
+            }
+            i++;
+        }
+        if (current.length() > 0) {
+            words.add(current.toString());
+            wordTimes.add(currentTime);
+        }
+    }
+
+    /**
+     * Etiketsiz kelimelerin zamanını komşu çapalar arasında doğrusal dağıt
+     * Çapalar: satır başı (ilk kelime etiketsizse), etiketli kelimeler, satır sonu
+     */
+    private static int[] interpolate(List<Integer> wordTimes, int lineStart, int lineEnd) {
+        int count = wordTimes.size();
+        int[] times = new int[count];
+        int anchorIndex = 0;
+        int anchorTime = wordTimes.get(0) >= 0 ? wordTimes.get(0) : lineStart;
+        times[0] = anchorTime;
+
+        int w = 1;
+        while (w < count) {
+            // Sonraki çapayı bul
+            int next = w;
+            while (next < count && wordTimes.get(next) < 0) {
+                next++;
+            }
+            int nextTime = next < count ? wordTimes.get(next) : Math.max(lineEnd, anchorTime);
+            int span = next - anchorIndex;
+            for (int k = w; k < next; k++) {
+                times[k] = anchorTime + (int) ((long) (nextTime - anchorTime) * (k - anchorIndex) / span);
+            }
+            if (next < count) {
+                times[next] = nextTime;
+                anchorIndex = next;
+                anchorTime = nextTime;
+            }
+            w = next + 1;
+        }
+        return times;
+    }
+
+    /**
+     * mm:ss, mm:ss.x(xx) veya mm:ss:xx biçimindeki zamanı milisaniyeye çevir (biçim dışıysa -1)
+     */
+    static int parseTime(String s, int start, int end) {
+        if (start < 0 || end <= start || end > s.length()) {
+            return -1;
+        }
+        int colon = s.indexOf(':', start);
+        if (colon <= start || colon >= end) {
+            return -1;
+        }
+        int minutes = parseDigits(s, start, colon);
+        int secondsEnd = colon + 1;
+        while (secondsEnd < end && Character.isDigit(s.charAt(secondsEnd))) {
+            secondsEnd++;
+        }
+        int seconds = parseDigits(s, colon + 1, secondsEnd);
+        if (minutes < 0 || seconds < 0 || seconds >= 60) {
+            return -1;
+        }
+
+        int fractionMs = 0;
+        if (secondsEnd < end) {
+            char separator = s.charAt(secondsEnd);
+            if (separator != '.' && separator != ':') {
+                return -1;
+            }
+            int fraction = parseDigits(s, secondsEnd + 1, end);
+            int digits = end - secondsEnd - 1;
+            if (fraction < 0 || digits > 3) {
+                return -1;
+            }
+            fractionMs = digits == 1 ? fraction * 100 : digits == 2 ? fraction * 10 : fraction;
+        }
+        return (minutes * 60 + seconds) * 1000 + fractionMs;
+    }
+
+    private static int parseDigits(String s, int start, int end) {
+        if (end <= start || end - start > 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * value'dan küçük veya eşit son elemanın indeksi (yoksa -1)
+     */
+    private static int floorIndex(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            // Eşit zamanlı ardışık elemanlarda sonuncusu
+            while (index + 1 < sorted.length && sorted[index + 1] == value) {
+                index++;
+            }
+            return index;
+        }
+        return -index - 2;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static JSONArray toJsonArray(int[] values) {
+        JSONArray array = new JSONArray();
+        for (int value : values) {
+            array.put(value);
+        }
+        return array;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final int timeMs;
+        final String body;
+        final int order;
+
+        Entry(int timeMs, String body, int order) {
+            this.timeMs = timeMs;
+            this.body = body;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return timeMs != other.timeMs ? Integer.compare(timeMs, other.timeMs) : Integer.compare(order, other.order);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.lyricst.app;
 
 import android.Manifest;
+import android.content.ComponentName;
 import android.content.Intent;
+import android.content.ServiceConnection;
 import android.content.pm.PackageManager;
 import android.media.AudioManager;
-import android.os.Bundle;
-import android.speech.RecognitionListener;
-import android.speech.RecognizerIntent;
-import android.speech.SpeechRecognizer;
+import android.net.Uri;
+import android.os.IBinder;
 import android.util.Log;
 import android.webkit.ConsoleMessage;
 import android.webkit.JavascriptInterface;
@@ -18,19 +18,33 @@ import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 import com.getcapacitor.BridgeActivity;
 
-import java.util.ArrayList;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class MainActivity extends BridgeActivity {
     
     private static final int PERMISSION_REQUEST_CODE = 1001;
-    private SpeechRecognizer speechRecognizer;
-    private boolean isListening = false;
+    private InstrumentalTrackGenerator instrumentalTrackGenerator;
+    private WaveformAnalyzer waveformAnalyzer;
+    // Tanıyıcı, ses yakalama ve perde takibi ListeningService'te (kendi looper thread'i, foreground)
+    private volatile ListeningService listeningService; // Bridge thread'lerinden de okunur
+    private boolean listeningServiceBound = false;
+    private boolean pendingStart = false; // Bağlantı kurulmadan JavaScript dinlemeyi başlattı
+    // Bağlantı kurulmadan JavaScript yankı referansı verdi ("" = temizle) - bağlanınca uygulanır
+    private final AtomicReference<String> pendingReferenceUri = new AtomicReference<>();
+    private PerformanceGovernor performanceGovernor;
     
     @Override
     public void onStart() {
         super.onStart();
         
+        // Dinleme servisine bağlan (zaten bağlıysa tekrar bağlanmaz)
+        bindListeningService();
+        
         // Mikrofon iznini kontrol et ve iste
         checkAndRequestMicrophonePermission();
         
@@ -39,6 +53,19 @@ public class MainActivity extends BridgeActivity {
         
         // WebView ayarlarını yapılandır
         configureWebView();
+        
+        // Kalite seviyesi ölçümü - sadece ekran görünürken
+        if (performanceGovernor != null) {
+            performanceGovernor.start();
+        }
+    }
+    
+    @Override
+    public void onStop() {
+        if (performanceGovernor != null) {
+            performanceGovernor.stop();
+        }
+        super.onStop();
     }
     
     /**
@@ -129,6 +156,31 @@ public class MainActivity extends BridgeActivity {
             webView.getSettings().setJavaScriptEnabled(true);
             webView.addJavascriptInterface(new AndroidSpeechBridge(), "AndroidSpeechBridge");
             
+            // Enstrümantal (vokal azaltılmış) parça üretimi için bridge
+            instrumentalTrackGenerator = InstrumentalTrackGenerator.get(this);
+            webView.addJavascriptInterface(new AndroidInstrumentalBridge(), "AndroidInstrumentalBridge");
+            
+            // Dalga formu / yapı analizi (süre, zarf piramidi, enstrümantal bölümler) için bridge
+            waveformAnalyzer = WaveformAnalyzer.get(this);
+            webView.addJavascriptInterface(new AndroidWaveformBridge(), "AndroidWaveformBridge");
+            
+            // Yankı giderici için oynatma referansı bridge'i
+            webView.addJavascriptInterface(new AndroidEchoBridge(), "AndroidEchoBridge");
+            
+            // Zaman damgalı söz (LRC) ayrıştırma bridge'i
+            webView.addJavascriptInterface(new AndroidLyricsBridge(), "AndroidLyricsBridge");
+            
+            // Perde takibi ve şarkı söyleme skoru - kontur window.onPitchContour ile sabit hızda gelir
+            webView.addJavascriptInterface(new AndroidPitchBridge(), "AndroidPitchBridge");
+            
+            // Performans yöneticisi - kalite seviyesi değişince window.onPerformanceTier çağrılır
+            if (performanceGovernor == null) {
+                performanceGovernor = new PerformanceGovernor(this, getWindowManager().getDefaultDisplay().getRefreshRate(),
+                    (tier, metricsJson) -> evaluateOnWebView(String.format("if (window.onPerformanceTier) window.onPerformanceTier(%s, %s);",
+                        JSONObject.quote(QualityTierPolicy.name(tier)), metricsJson)));
+            }
+            webView.addJavascriptInterface(new AndroidPerformanceBridge(), "AndroidPerformanceBridge");
+            
             // WebChromeClient - mikrofon izinleri ve console logları için
             webView.setWebChromeClient(new WebChromeClient() {
                 @Override
@@ -234,547 +286,493 @@ public class MainActivity extends BridgeActivity {
     }
     
     /**
-     * Native Android Speech Recognition başlat
-     * KRİTİK: SpeechRecognizer'ı sadece bir kez oluştur ve yeniden kullan (mikrofon açılıp kapanmasını önlemek için)
+     * Dinleme servisine bağlan - Activity yeniden oluşturulsa da servis (ve tanıma oturumu) sürer
      */
-    private void startNativeSpeechRecognition() {
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-        sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-        final String timestamp = sdf.format(new java.util.Date());
-        
-        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔧 [NATIVE SPEECH] startNativeSpeechRecognition() çağrıldı", timestamp));
-        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔧 [NATIVE SPEECH] isListening=%s, speechRecognizer=%s", 
-            timestamp, isListening, (speechRecognizer != null ? "var" : "null")));
+    private void bindListeningService() {
+        if (!listeningServiceBound) {
+            listeningServiceBound = bindService(new Intent(this, ListeningService.class), listeningConnection, BIND_AUTO_CREATE);
+        }
+    }
+    
+    private final ServiceConnection listeningConnection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder binder) {
+            listeningService = ((ListeningService.LocalBinder) binder).getService();
+            listeningService.setEvents(listeningEvents);
+            Log.d("LYRICST_SPEECH", "🔗 Dinleme servisine bağlanıldı");
+            applyPendingReference(listeningService);
+            if (pendingStart) {
+                pendingStart = false;
+                listeningService.startListening();
+            } else if (listeningService.isListening()) {
+                // Önceki Activity'nin oturumu - yeniden yüklenen JavaScript bunu bilmiyor ve hiç durdurmaz.
+                // Sahipsiz oturum mikrofonu, wake lock'u ve bildirimi açık tutmasın
+                Log.w("LYRICST_SPEECH", "🧹 Sahipsiz dinleme oturumu durduruldu (Activity yeniden oluşturuldu)");
+                listeningService.stopListening();
+            }
+        }
         
-        // SpeechRecognizer zaten varsa ve çalışıyorsa, restart etme
-        if (speechRecognizer != null) {
-            Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ⚠️ SpeechRecognizer zaten var, restart edilmiyor (mikrofon açılıp kapanmasını önlemek için)", timestamp));
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            listeningService = null;
+        }
+    };
+    
+    /**
+     * Bekleyen yankı referansını servise uygula (bridge thread'i veya bağlantı callback'i)
+     * URI önce pendingReferenceUri'ye yazılır; hangisi önce alırsa o uygular, ikisi birden uygulamaz.
+     */
+    private void applyPendingReference(ListeningService service) {
+        String uri = pendingReferenceUri.getAndSet(null);
+        if (uri == null) {
+            return;
+        }
+        File file = fileFromUri(uri);
+        if (file == null) {
+            service.getPlaybackReference().clear();
             return;
         }
+        Log.d("LYRICST_AUDIO", "🔁 Yankı referansı yükleniyor: " + file.getName());
+        service.getPlaybackReference().load(file);
+        service.requestCaptureReset();
+    }
+    
+    /**
+     * Servisten gelen olaylar (servisin worker thread'inden) - WebView'e aynı callback'lerle iletilir
+     */
+    private final ListeningService.Events listeningEvents = new ListeningService.Events() {
+        @Override
+        public void onReadyForSpeech() {
+            evaluateOnWebView("if (window.onNativeSpeechReady) window.onNativeSpeechReady();");
+        }
         
-            Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔧 [NATIVE SPEECH] SpeechRecognizer.isRecognitionAvailable() kontrol ediliyor...", timestamp));
-            if (!SpeechRecognizer.isRecognitionAvailable(this)) {
-                Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Speech Recognition kullanılamıyor!", timestamp));
-                
-                // JavaScript'e hata bildir
-                WebView webViewError = getBridge().getWebView();
-                if (webViewError != null) {
-                    webViewError.post(() -> {
-                        webViewError.evaluateJavascript(
-                            String.format("console.error('[%s] [ERROR] ❌ [NATIVE SPEECH] Speech Recognition kullanılamıyor!'); if (window.onNativeSpeechError) window.onNativeSpeechError('Speech Recognition kullanılamıyor!');", timestamp),
-                            null
-                        );
-                    });
-                }
+        @Override
+        public void onSpeechResult(String transcript, float confidence, boolean isFinal) {
+            WebView webView = getBridge() != null ? getBridge().getWebView() : null;
+            if (webView == null) {
+                Log.e("LYRICST_SPEECH", "❌ WebView bulunamadı!");
                 return;
             }
-
-            // SpeechRecognizer yoksa oluştur
-            if (speechRecognizer == null) {
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔧 [NATIVE SPEECH] SpeechRecognizer.createSpeechRecognizer() çağrılıyor...", timestamp));
-                speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] SpeechRecognizer oluşturuldu: %s", timestamp, (speechRecognizer != null ? "başarılı" : "BAŞARISIZ")));
-                
-                if (speechRecognizer == null) {
-                    Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] SpeechRecognizer oluşturulamadı!", timestamp));
-                    
-                    // JavaScript'e hata bildir
-                    WebView webViewError = getBridge().getWebView();
-                    if (webViewError != null) {
-                        webViewError.post(() -> {
-                            webViewError.evaluateJavascript(
-                                String.format("console.error('[%s] [ERROR] ❌ [NATIVE SPEECH] SpeechRecognizer oluşturulamadı!'); if (window.onNativeSpeechError) window.onNativeSpeechError('SpeechRecognizer oluşturulamadı!');", timestamp),
-                                null
-                            );
-                        });
-                    }
-                    return;
-                }
-            } else {
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] SpeechRecognizer zaten var, yeniden oluşturulmuyor", timestamp));
+            String escapedTranscript = transcript.replace("\\", "\\\\").replace("'", "\\'").replace("\n", " ").replace("\r", " ");
+            String js = String.format(Locale.US,
+                "if (window.onNativeSpeechResult) { console.log('[LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: %s | Lang: tr-TR'); window.onNativeSpeechResult('%s', %f); } else { console.error('[LOG] ❌ [ANDROID->JS] onNativeSpeechResult callback yok!'); }",
+                escapedTranscript, confidence, isFinal ? "FINAL" : "INTERIM", escapedTranscript, confidence);
+            PerformanceGovernor governor = performanceGovernor;
+            if (governor != null) {
+                governor.onCallbackPosted();
             }
-            speechRecognizer.setRecognitionListener(new RecognitionListener() {
-                @Override
-                public void onReadyForSpeech(Bundle params) {
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] Speech Recognition hazır - Dinlemeye başladı!", timestamp));
-                    
-                    // JavaScript'e bildir - Speech Recognition hazır
-                    WebView webView = getBridge().getWebView();
-                    if (webView != null) {
-                        webView.post(() -> {
-                            webView.evaluateJavascript(
-                                "if (window.onNativeSpeechReady) window.onNativeSpeechReady();",
-                                null
-                            );
-                        });
-                    }
+            webView.post(() -> webView.evaluateJavascript(js, value -> {
+                if (governor != null) {
+                    governor.onCallbackDelivered();
                 }
-
-                @Override
-                public void onBeginningOfSpeech() {
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🎤 [NATIVE SPEECH] Konuşma başladı - Ses algılanıyor!", timestamp));
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔍 [NATIVE SPEECH] onBeginningOfSpeech tetiklendi - onResults/onPartialResults bekleniyor...", timestamp));
-                    
-                    // JavaScript'e bildir - Konuşma başladı
-                    WebView webView = getBridge().getWebView();
-                    if (webView != null) {
-                        webView.post(() -> {
-                            webView.evaluateJavascript(
-                                String.format("console.log('[%s] [LOG] 🎤 [NATIVE SPEECH] Konuşma başladı - Ses algılanıyor!');", timestamp),
-                                null
-                            );
-                        });
-                    }
+            }));
+        }
+        
+        @Override
+        public void onSpeechError(String message) {
+            evaluateOnWebView("console.error('[ERROR] ❌ [NATIVE SPEECH] ' + " + JSONObject.quote(message)
+                + "); if (window.onNativeSpeechError) window.onNativeSpeechError(" + JSONObject.quote(message) + ");");
+        }
+        
+        @Override
+        public void onSpeechLog(String message) {
+            evaluateOnWebView("console.log(" + JSONObject.quote(message) + ");");
+        }
+        
+        @Override
+        public void onPitchContour(String pointsJson) {
+            evaluateOnWebView("if (window.onPitchContour) window.onPitchContour(" + pointsJson + ");");
+        }
+    };
+    
+    /**
+     * JavaScript Bridge - Native Speech Recognition için
+     */
+    public class AndroidSpeechBridge {
+        @JavascriptInterface
+        public void startListening() {
+            runOnUiThread(() -> {
+                Log.d("LYRICST_SPEECH", "📱 [NATIVE SPEECH] startListening() çağrıldı (JavaScript'ten)");
+                
+                // KRİTİK: Mikrofon izni kontrolü
+                boolean hasPermission = ContextCompat.checkSelfPermission(MainActivity.this, Manifest.permission.RECORD_AUDIO) 
+                        == PackageManager.PERMISSION_GRANTED;
+                if (!hasPermission) {
+                    Log.e("LYRICST_SPEECH", "❌ [NATIVE SPEECH] Mikrofon izni yok! İzin isteniyor...");
+                    checkAndRequestMicrophonePermission();
+                    return;
                 }
-
-                @Override
-                public void onRmsChanged(float rmsdB) {
-                    // Ses seviyesi değişti - mikrofon çalışıyor mu kontrol et
-                    // Her 100 değişimde bir log (çok fazla log olmasın ama yeterince bilgi ver)
-                    if (Math.random() < 0.01) { // %1 ihtimalle log
-                        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                        sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                        final String timestamp = sdf.format(new java.util.Date());
-                        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔊 [NATIVE SPEECH] Ses seviyesi: %.2f dB (mikrofon çalışıyor!)", timestamp, rmsdB));
-                        
-                        // JavaScript'e bildir - Ses seviyesi değişti (sadece yüksek ses seviyelerinde)
-                        if (rmsdB > 5.0) { // Yüksek ses seviyesi
-                            WebView webViewRms = getBridge().getWebView();
-                            if (webViewRms != null) {
-                                webViewRms.post(() -> {
-                                    webViewRms.evaluateJavascript(
-                                        String.format("console.log('[%s] [LOG] 🔊 [NATIVE SPEECH] Ses seviyesi: %.2f dB (mikrofon çalışıyor!)');", timestamp, rmsdB),
-                                        null
-                                    );
-                                });
-                            }
-                        }
-                    }
+                
+                if (listeningService != null) {
+                    listeningService.startListening();
+                } else {
+                    // Servis bağlantısı henüz kurulmadı - bağlanınca başlatılır
+                    pendingStart = true;
+                    bindListeningService();
                 }
-
-                @Override
-                public void onBufferReceived(byte[] buffer) {
-                    // Buffer alındı
+            });
+        }
+        
+        @JavascriptInterface
+        public void stopListening() {
+            runOnUiThread(() -> {
+                Log.d("LYRICST_SPEECH", "🛑 [NATIVE SPEECH] stopListening() çağrıldı");
+                pendingStart = false;
+                if (listeningService != null) {
+                    listeningService.stopListening();
                 }
-
+            });
+        }
+        
+        /**
+         * Şarkının enstrümantal aralığı başladı - resumeDelayMs sonra dinleme kendiliğinden sürer
+         */
+        @JavascriptInterface
+        public void pauseForGap(double resumeDelayMs) {
+            ListeningService service = listeningService;
+            if (service != null) {
+                service.pauseForGap((long) resumeDelayMs);
+            }
+        }
+        
+        /**
+         * Aralık erken bitti (ileri/geri sarma, müzik durdu) - hemen sürdür
+         */
+        @JavascriptInterface
+        public void resumeFromGap() {
+            ListeningService service = listeningService;
+            if (service != null) {
+                service.resumeFromGap();
+            }
+        }
+        
+        /**
+         * Dinleme foreground servisle yapılıyor - JavaScript tarafındaki canlı tutma zamanlayıcıları gereksiz
+         */
+        @JavascriptInterface
+        public boolean usesListeningService() {
+            return true;
+        }
+    }
+    
+    /**
+     * JavaScript Bridge - Enstrümantal parça üretimi için
+     * Sonuçlar window.onInstrumentalProgress / onInstrumentalReady / onInstrumentalError ile bildirilir
+     */
+    public class AndroidInstrumentalBridge {
+        /**
+         * Önbellekteki enstrümantal dosyanın URI'sini döndür (yoksa boş string)
+         */
+        @JavascriptInterface
+        public String getCachedInstrumental(String sourceUri) {
+            File source = fileFromUri(sourceUri);
+            if (source == null || instrumentalTrackGenerator == null) {
+                return "";
+            }
+            File cached = instrumentalTrackGenerator.findCached(source);
+            return cached != null ? Uri.fromFile(cached).toString() : "";
+        }
+        
+        /**
+         * Arka planda enstrümantal üretimini başlat (önbellekte varsa hemen hazır bildirilir)
+         */
+        @JavascriptInterface
+        public void generateInstrumental(String sourceUri) {
+            File source = fileFromUri(sourceUri);
+            if (source == null || instrumentalTrackGenerator == null) {
+                evaluateOnWebView(String.format("if (window.onInstrumentalError) window.onInstrumentalError(%s, %s);",
+                    JSONObject.quote(sourceUri), JSONObject.quote("Kaynak dosya bulunamadı")));
+                return;
+            }
+            
+            Log.d("LYRICST_AUDIO", "🎼 Enstrümantal üretimi istendi: " + source.getName());
+            instrumentalTrackGenerator.generate(source, new InstrumentalTrackGenerator.Listener() {
                 @Override
-                public void onEndOfSpeech() {
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🛑 [NATIVE SPEECH] Konuşma bitti - Sonuç bekleniyor...", timestamp));
-                    
-                    // JavaScript'e bildir - Konuşma bitti
-                    WebView webViewEnd = getBridge().getWebView();
-                    if (webViewEnd != null) {
-                        webViewEnd.post(() -> {
-                            webViewEnd.evaluateJavascript(
-                                String.format("console.log('[%s] [LOG] 🛑 [NATIVE SPEECH] Konuşma bitti - Sonuç bekleniyor...');", timestamp),
-                                null
-                            );
-                        });
-                    }
+                public void onProgress(int percent) {
+                    evaluateOnWebView(String.format(Locale.US, "if (window.onInstrumentalProgress) window.onInstrumentalProgress(%s, %d);",
+                        JSONObject.quote(sourceUri), percent));
                 }
-
+                
                 @Override
-                public void onError(int error) {
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    
-                    String errorName = getErrorName(error);
-                    Log.w("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Speech Recognition hatası: %d (%s)", timestamp, error, errorName));
-                    Log.w("LYRICST", "Speech Recognition hatası: " + error + " (" + errorName + ")");
-                    
-                    // ERROR_NO_MATCH (7) ve ERROR_SPEECH_TIMEOUT (6) normal durumlar - YENİ INTENT BAŞLAT
-                    // Bu hatalar sürekli dinleme modunda normaldir - yeni intent başlat (sürekli dinleme için)
-                    // JavaScript'e HATA GÖNDERME - bu normal durumlar
-                    if (error == SpeechRecognizer.ERROR_NO_MATCH || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT) {
-                        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔄 [NATIVE SPEECH] ERROR_NO_MATCH/ERROR_SPEECH_TIMEOUT - Normal durum, yeni intent başlatılıyor (sürekli dinleme)...", timestamp));
-                        // YENİ INTENT BAŞLAT - Sürekli dinleme için
-                        if (isListening && speechRecognizer != null) {
-                            new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                                if (isListening && speechRecognizer != null) {
-                                    try {
-                                        Intent newIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "tr-TR");
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 10);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 15000L);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 10000L);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 200L);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, false);
-                                        newIntent.putExtra("android.speech.extra.DICTATION_MODE", true);
-                                        newIntent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, getPackageName());
-                                        speechRecognizer.startListening(newIntent);
-                                        Log.d("LYRICST_SPEECH", "✅ Yeni intent başlatıldı (error sonrası - sürekli dinleme)");
-                                    } catch (Exception e) {
-                                        Log.e("LYRICST_SPEECH", "❌ Yeni intent başlatılamadı: " + e.getMessage());
-                                    }
-                                }
-                            }, 100); // Çok kısa delay - hızlı sürekli dinleme
-                        }
-                        return; // JavaScript'e hata gönderme - normal durum
-                    }
-                    
-                    // Diğer hatalar için JavaScript'e bildir
-                    String errorMessage = "Speech Recognition hatası: " + error + " (" + errorName + ")";
-                    WebView webView = getBridge().getWebView();
-                    if (webView != null) {
-                        webView.post(() -> {
-                            webView.evaluateJavascript(
-                                String.format("console.error('[%s] [ERROR] ❌ [NATIVE SPEECH] Speech Recognition hatası: %d (%s)'); if (window.onNativeSpeechError) window.onNativeSpeechError('Speech Recognition hatası: %d (%s)');", 
-                                    timestamp, error, errorName, error, errorName),
-                                null
-                            );
-                        });
-                    }
-                    
-                    // Kritik hatalar için restart (ERROR_RECOGNIZER_BUSY hariç) - SADECE GERÇEKTEN GEREKLİYSE
-                    if (isListening && error != SpeechRecognizer.ERROR_RECOGNIZER_BUSY && error != SpeechRecognizer.ERROR_CLIENT) {
-                        // SpeechRecognizer'ı destroy et ve yeniden oluştur (sadece kritik hatalarda)
-                        if (speechRecognizer != null) {
-                            try {
-                                speechRecognizer.cancel();
-                                speechRecognizer.destroy();
-                                speechRecognizer = null;
-                                Log.d("LYRICST_SPEECH", "⚠️ Kritik hata nedeniyle SpeechRecognizer destroy edildi, yeniden oluşturulacak");
-                            } catch (Exception e) {
-                                Log.e("LYRICST_SPEECH", "❌ SpeechRecognizer destroy edilemedi: " + e.getMessage());
-                            }
-                        }
-                        
-                        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                            if (isListening) {
-                                startNativeSpeechRecognition();
-                            }
-                        }, 2000); // Uzun delay - kritik hatalar için
-                    }
+                public void onReady(File output) {
+                    evaluateOnWebView(String.format("if (window.onInstrumentalReady) window.onInstrumentalReady(%s, %s);",
+                        JSONObject.quote(sourceUri), JSONObject.quote(Uri.fromFile(output).toString())));
                 }
                 
-                /**
-                 * Error code'unu isme çevir
-                 */
-                private String getErrorName(int error) {
-                    switch (error) {
-                        case SpeechRecognizer.ERROR_AUDIO:
-                            return "ERROR_AUDIO";
-                        case SpeechRecognizer.ERROR_CLIENT:
-                            return "ERROR_CLIENT";
-                        case SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS:
-                            return "ERROR_INSUFFICIENT_PERMISSIONS";
-                        case SpeechRecognizer.ERROR_NETWORK:
-                            return "ERROR_NETWORK";
-                        case SpeechRecognizer.ERROR_NETWORK_TIMEOUT:
-                            return "ERROR_NETWORK_TIMEOUT";
-                        case SpeechRecognizer.ERROR_NO_MATCH:
-                            return "ERROR_NO_MATCH";
-                        case SpeechRecognizer.ERROR_RECOGNIZER_BUSY:
-                            return "ERROR_RECOGNIZER_BUSY";
-                        case SpeechRecognizer.ERROR_SERVER:
-                            return "ERROR_SERVER";
-                        case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
-                            return "ERROR_SPEECH_TIMEOUT";
-                        default:
-                            return "UNKNOWN_ERROR";
-                    }
-                }
-
                 @Override
-                public void onResults(Bundle results) {
-                    // DETAYLI LOG - Web formatına uygun
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ⚡⚡⚡ onResults TETİKLENDİ! ⚡⚡⚡", timestamp));
-                    ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-                    float[] confidenceScores = results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
-                    
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] Matches var mı: %s | Size: %d", 
-                        timestamp, (matches != null), (matches != null ? matches.size() : 0)));
-                    
-                    // JavaScript'e bildir - onResults tetiklendi
-                    WebView webViewResults = getBridge().getWebView();
-                    if (webViewResults != null) {
-                        webViewResults.post(() -> {
-                            webViewResults.evaluateJavascript(
-                                String.format("console.log('[%s] [LOG] ⚡⚡⚡ onResults TETİKLENDİ! ⚡⚡⚡');", timestamp),
-                                null
-                            );
-                        });
-                    }
-                    
-                    if (matches != null && matches.size() > 0) {
-                        String transcript = matches.get(0);
-                        float confidence = confidenceScores != null && confidenceScores.length > 0 
-                            ? confidenceScores[0] 
-                            : 0.8f;
-                        
-                        // DETAYLI LOG - Web formatına uygun
-                        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: FINAL | Original: \"%s\" | Lang: tr-TR", 
-                            timestamp, transcript, confidence, transcript));
-                        
-                        // JavaScript'e gönder
-                        WebView webView = getBridge().getWebView();
-                        if (webView != null) {
-                            String escapedTranscript = transcript.replace("'", "\\'").replace("\n", " ").replace("\r", " ");
-                            String js = String.format(
-                                "if (window.onNativeSpeechResult) { console.log('[%s] [LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: FINAL | Original: \"%s\" | Lang: tr-TR'); window.onNativeSpeechResult('%s', %f); } else { console.error('[%s] [LOG] ❌ [ANDROID->JS] onNativeSpeechResult callback yok!'); }",
-                                timestamp, escapedTranscript, confidence, escapedTranscript,
-                                escapedTranscript, confidence,
-                                timestamp
-                            );
-                            Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] JavaScript kodu hazırlandı", timestamp));
-                            webView.post(() -> {
-                                webView.evaluateJavascript(js, null);
-                                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] JavaScript kodu çalıştırıldı", timestamp));
-                            });
-                        } else {
-                            Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ WebView bulunamadı!", timestamp));
-                        }
-                    } else {
-                        Log.w("LYRICST_SPEECH", String.format("[%s] [LOG] ⚠️ onResults tetiklendi ama matches boş!", timestamp));
-                    }
-                    
-                    // Sürekli dinleme için yeni intent başlat - RESTART ETME (SpeechRecognizer zaten var)
-                    if (isListening && speechRecognizer != null) {
-                        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔄 Final result alındı, yeni intent başlatılıyor (restart yok)...", timestamp));
-                        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                            if (isListening && speechRecognizer != null) {
-                                try {
-                                    Intent newIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "tr-TR");
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 5000L);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 3000L);
-                                    newIntent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 1500L);
-                                    speechRecognizer.startListening(newIntent);
-                                    Log.d("LYRICST_SPEECH", "✅ Yeni intent başlatıldı (final result'tan sonra - restart yok)");
-                                } catch (Exception e) {
-                                    Log.e("LYRICST_SPEECH", "❌ Yeni intent başlatılamadı: " + e.getMessage());
-                                }
-                            }
-                        }, 200); // Kısa delay - hızlı sürekli dinleme için
-                    }
+                public void onError(String message) {
+                    evaluateOnWebView(String.format("if (window.onInstrumentalError) window.onInstrumentalError(%s, %s);",
+                        JSONObject.quote(sourceUri), JSONObject.quote(message)));
                 }
-
+            });
+        }
+    }
+    
+    /**
+     * JavaScript Bridge - Dalga formu ve şarkı yapısı (önceden hesaplanmış zarf piramidi)
+     * Analiz sonucu window.onWaveformReady / onWaveformError ile bildirilir; sonraki okumalar
+     * (süre, tepe değerleri, bölümler) çözme yapmadan önbellek dosyasından gelir
+     */
+    public class AndroidWaveformBridge {
+        /**
+         * Süre (saniye) - analiz yoksa kapsayıcı başlığından, okunamazsa -1
+         */
+        @JavascriptInterface
+        public double getDuration(String sourceUri) {
+            File source = fileFromUri(sourceUri);
+            if (source == null || waveformAnalyzer == null) {
+                return -1;
+            }
+            long durationMs = waveformAnalyzer.readDurationMs(source);
+            return durationMs > 0 ? durationMs / 1000.0 : -1;
+        }
+        
+        /**
+         * Önbellekteki yapı bilgisi (AudioEnvelope.summaryJson), analiz yoksa boş string
+         */
+        @JavascriptInterface
+        public String getSummary(String sourceUri) {
+            AudioEnvelope envelope = cachedEnvelope(sourceUri);
+            return envelope != null ? envelope.summaryJson() : "";
+        }
+        
+        /**
+         * [startMs, endMs) aralığının `buckets` sütunluk tepe değerleri (AudioEnvelope.peaksJson)
+         */
+        @JavascriptInterface
+        public String getPeaks(String sourceUri, int startMs, int endMs, int buckets) {
+            AudioEnvelope envelope = cachedEnvelope(sourceUri);
+            return envelope != null ? envelope.peaksJson(startMs, endMs, buckets) : "";
+        }
+        
+        /**
+         * Arka planda analiz et (önbellekte varsa hemen hazır bildirilir)
+         */
+        @JavascriptInterface
+        public void analyze(String sourceUri) {
+            File source = fileFromUri(sourceUri);
+            if (source == null || waveformAnalyzer == null) {
+                evaluateOnWebView(String.format("if (window.onWaveformError) window.onWaveformError(%s, %s);",
+                    JSONObject.quote(sourceUri), JSONObject.quote("Kaynak dosya bulunamadı")));
+                return;
+            }
+            
+            waveformAnalyzer.analyze(source, new WaveformAnalyzer.Listener() {
                 @Override
-                public void onPartialResults(Bundle partialResults) {
-                    // DETAYLI LOG - Web formatına uygun
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                    sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                    final String timestamp = sdf.format(new java.util.Date());
-                    
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ⚡⚡⚡ onPartialResults TETİKLENDİ! ⚡⚡⚡", timestamp));
-                    ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-                    float[] confidenceScores = partialResults.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
-                    
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] Partial matches var mı: %s | Size: %d", 
-                        timestamp, (matches != null), (matches != null ? matches.size() : 0)));
-                    
-                    // JavaScript'e bildir - onPartialResults tetiklendi
-                    WebView webViewPartial = getBridge().getWebView();
-                    if (webViewPartial != null) {
-                        webViewPartial.post(() -> {
-                            webViewPartial.evaluateJavascript(
-                                String.format("console.log('[%s] [LOG] ⚡⚡⚡ onPartialResults TETİKLENDİ! ⚡⚡⚡');", timestamp),
-                                null
-                            );
-                        });
-                    }
-                    
-                    if (matches != null && matches.size() > 0) {
-                        String transcript = matches.get(0);
-                        float confidence = confidenceScores != null && confidenceScores.length > 0 
-                            ? confidenceScores[0] 
-                            : 0.7f;
-                        
-                        // DETAYLI LOG - Web formatına uygun
-                        Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: INTERIM | Original: \"%s\" | Lang: tr-TR", 
-                            timestamp, transcript, confidence, transcript));
-                        
-                        // JavaScript'e gönder (interim result)
-                        WebView webView = getBridge().getWebView();
-                        if (webView != null) {
-                            String escapedTranscript = transcript.replace("'", "\\'").replace("\n", " ").replace("\r", " ");
-                            String js = String.format(
-                                "if (window.onNativeSpeechResult) { console.log('[%s] [LOG] 🎤 [SPEECH] Kelime algılandı: \"%s\" | Confidence: %.2f | Type: INTERIM | Original: \"%s\" | Lang: tr-TR'); window.onNativeSpeechResult('%s', %f); } else { console.error('[%s] [LOG] ❌ [ANDROID->JS] onNativeSpeechResult callback yok!'); }",
-                                timestamp, escapedTranscript, confidence, escapedTranscript,
-                                escapedTranscript, confidence,
-                                timestamp
-                            );
-                            Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] JavaScript kodu (PARTIAL) hazırlandı", timestamp));
-                            webView.post(() -> {
-                                webView.evaluateJavascript(js, null);
-                                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] JavaScript kodu (PARTIAL) çalıştırıldı", timestamp));
-                            });
-                        } else {
-                            Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ WebView bulunamadı (PARTIAL)!", timestamp));
-                        }
-                        
-                        // KRİTİK: Partial result'tan sonra RESTART ETME (mikrofon açılıp kapanmasını önlemek için)
-                        // Partial results sürekli gelir, her seferinde restart etmek mikrofonu açıp kapatır
-                        // Bu yüzden partial results'tan sonra restart ETMİYORUZ - sadece final results'tan sonra restart ediyoruz
-                        // if (isListening && transcript != null && transcript.trim().length() > 0) {
-                        //     Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔄 Partial result alındı - restart edilmiyor (mikrofon açılıp kapanmasını önlemek için)", timestamp));
-                        // }
-                    } else {
-                        Log.w("LYRICST_SPEECH", String.format("[%s] [LOG] ⚠️ onPartialResults tetiklendi ama matches boş!", timestamp));
-                    }
+                public void onReady(AudioEnvelope envelope) {
+                    evaluateOnWebView(String.format("if (window.onWaveformReady) window.onWaveformReady(%s, %s);",
+                        JSONObject.quote(sourceUri), envelope.summaryJson()));
                 }
-
+                
                 @Override
-                public void onEvent(int eventType, Bundle params) {
-                    // Event alındı
+                public void onError(String message) {
+                    evaluateOnWebView(String.format("if (window.onWaveformError) window.onWaveformError(%s, %s);",
+                        JSONObject.quote(sourceUri), JSONObject.quote(message)));
                 }
             });
-            
-            // SpeechRecognizer oluşturuldu, şimdi dinlemeyi başlat
-            if (isListening && speechRecognizer != null) {
-                java.text.SimpleDateFormat sdfIntent = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                sdfIntent.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                final String timestampIntent = sdfIntent.format(new java.util.Date());
-                
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔧 [NATIVE SPEECH] Intent oluşturuluyor... isListening=%s, speechRecognizer=%s", 
-                    timestampIntent, isListening, (speechRecognizer != null ? "var" : "null")));
-                
-                Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] Intent oluşturuldu: %s", timestampIntent, RecognizerIntent.ACTION_RECOGNIZE_SPEECH));
-                
-                // KRİTİK: Intent ayarları - Web Speech API gibi davranması için
-                intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-                intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "tr-TR");
-                intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true); // Partial results al
-                intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 10); // Daha fazla alternatif
-                
-                // SÜREKLI DİNLEME İÇİN KRİTİK AYARLAR - Web Speech API gibi
-                intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 15000L); // 15 saniye sessizlik
-                intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 10000L); // 10 saniye muhtemel sessizlik
-                intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_MINIMUM_LENGTH_MILLIS, 200L); // Minimum 0.2 saniye konuşma (hassas)
-                
-                // ONLINE kullan - offline çalışmıyor
-                intent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, false);
-                
-                // Dictation mode - sürekli dinleme için
-                intent.putExtra("android.speech.extra.DICTATION_MODE", true);
-                
-                // Çağıran paketi belirt
-                intent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, getPackageName());
-                
-                // KRİTİK: Web Speech API gibi davranması için - alternatif sonuçlar
-                intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 10);
-                
-                // KRİTİK: Partial results'ı zorla - her kelime için partial result al
-                intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
-            
-                try {
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 📱 [NATIVE SPEECH] startListening() çağrılıyor... isListening=%s, speechRecognizer=%s", 
-                        timestampIntent, isListening, (speechRecognizer != null ? "var" : "null")));
-                    speechRecognizer.startListening(intent);
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] startListening() çağrıldı - onReadyForSpeech bekleniyor...", timestampIntent));
-                    
-                    // 3 saniye sonra onReadyForSpeech tetiklenmediyse hata bildir
-                    new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                        // onReadyForSpeech tetiklenmediyse JavaScript'e hata bildir
-                        // (Bu kontrolü onReadyForSpeech içinde bir flag ile yapabiliriz, ama şimdilik basit tutuyoruz)
-                    }, 3000);
-                } catch (Exception e) {
-                    Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Speech Recognition başlatılamadı: %s", timestampIntent, e.getMessage()));
-                    
-                    // JavaScript'e hata bildir
-                    WebView webView = getBridge().getWebView();
-                    if (webView != null) {
-                        webView.post(() -> {
-                            webView.evaluateJavascript(
-                                "if (window.onNativeSpeechError) window.onNativeSpeechError('Speech Recognition başlatılamadı: " + e.getMessage() + "');",
-                                null
-                            );
-                        });
-                    }
-                }
+        }
+        
+        private AudioEnvelope cachedEnvelope(String sourceUri) {
+            File source = fileFromUri(sourceUri);
+            return source != null && waveformAnalyzer != null ? waveformAnalyzer.findCached(source) : null;
+        }
+    }
+    
+    /**
+     * JavaScript Bridge - Yankı giderici için oynatma referansı
+     * WebView'in çaldığı PCM'e erişilemediği için aynı dosya native tarafta çözülür ve
+     * JavaScript'in bildirdiği oynatma saatiyle hizalanır
+     */
+    public class AndroidEchoBridge {
+        /**
+         * Çalınacak parçayı referans olarak ayarla (arka planda 16 kHz mono'ya çözülür)
+         */
+        @JavascriptInterface
+        public void setReferenceTrack(String uri) {
+            // Servis henüz bağlı değilse onServiceConnected uygular (JavaScript tekrar denemez)
+            pendingReferenceUri.set(uri != null ? uri : "");
+            ListeningService service = listeningService;
+            if (service != null) {
+                applyPendingReference(service);
+            }
+        }
+        
+        /**
+         * Oynatma saati - konum (saniye), çalıyor mu, hız
+         */
+        @JavascriptInterface
+        public void updatePlayback(double positionSeconds, boolean playing, double rate) {
+            ListeningService service = listeningService;
+            if (service != null) {
+                service.getPlaybackReference().updatePlayback(positionSeconds, playing, rate);
+            }
+        }
+        
+        @JavascriptInterface
+        public void clearReference() {
+            pendingReferenceUri.set("");
+            ListeningService service = listeningService;
+            if (service != null) {
+                applyPendingReference(service);
+            }
+        }
+        
+        /**
+         * Yankı giderici istatistikleri (JSON)
+         */
+        @JavascriptInterface
+        public String getStats() {
+            ListeningService service = listeningService;
+            return service != null ? service.getCaptureStatsJson() : "{\"active\":false}";
         }
     }
     
     /**
-     * Native Android Speech Recognition durdur
+     * JavaScript Bridge - Zaman damgalı söz (LRC / enhanced LRC) içe aktarma
      */
-    private void stopNativeSpeechRecognition() {
-        isListening = false;
-        if (speechRecognizer != null) {
-            speechRecognizer.stopListening();
-            speechRecognizer.cancel();
-            Log.d("LYRICST", "Native Speech Recognition durduruldu");
+    public class AndroidLyricsBridge {
+        /**
+         * LRC metnini düz söz + zaman indeksine çevir
+         * Dönüş: {"lyrics": "...", "timing": {"v":1,"lines":[..],"lineWords":[..],"words":[..]}}
+         * Metin LRC değilse boş string
+         */
+        @JavascriptInterface
+        public String parseLrc(String raw) {
+            if (!LrcTimingIndex.looksLikeLrc(raw)) {
+                return "";
+            }
+            LrcTimingIndex index = LrcTimingIndex.parse(raw);
+            if (index == null) {
+                return "";
+            }
+            try {
+                JSONObject result = new JSONObject();
+                result.put("lyrics", index.text);
+                result.put("timing", index.toJson());
+                Log.d("LYRICST_SPEECH", "🕒 LRC ayrıştırıldı: " + index.lineCount() + " satır, " + index.wordCount() + " kelime");
+                return result.toString();
+            } catch (JSONException e) {
+                Log.e("LYRICST_SPEECH", "❌ LRC JSON'a çevrilemedi: " + e.getMessage());
+                return "";
+            }
         }
     }
     
     /**
-     * JavaScript Bridge - Native Speech Recognition için
+     * JavaScript Bridge - Perde takibi ve şarkı söyleme skoru
+     * Perde sadece yankı giderici yakalama (VoiceCapture) çalışırken ölçülür
      */
-    public class AndroidSpeechBridge {
+    public class AndroidPitchBridge {
+        /**
+         * Yakalama yolu perde verebiliyor mu (Android 13+ ve harici ses kaynağı destekleniyor)
+         */
         @JavascriptInterface
-        public void startListening() {
-            runOnUiThread(() -> {
-                java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                final String timestamp = sdf.format(new java.util.Date());
-                
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 📱 [NATIVE SPEECH] startListening() çağrıldı (JavaScript'ten)", timestamp));
-                
-                // KRİTİK: Mikrofon izni kontrolü
-                boolean hasPermission = ContextCompat.checkSelfPermission(MainActivity.this, Manifest.permission.RECORD_AUDIO) 
-                        == PackageManager.PERMISSION_GRANTED;
-                
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🔍 [NATIVE SPEECH] Mikrofon izni kontrolü: %s", timestamp, hasPermission));
-                
-                if (hasPermission) {
-                    isListening = true;
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] ✅ [NATIVE SPEECH] Mikrofon izni var, recognition başlatılıyor...", timestamp));
-                    Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 📱 [NATIVE SPEECH] isListening=%s, speechRecognizer=%s", 
-                        timestamp, isListening, (speechRecognizer != null ? "var" : "null")));
-                    
-                    // KRİTİK: SpeechRecognizer'ın mikrofon erişimini kontrol et
-                    if (!SpeechRecognizer.isRecognitionAvailable(MainActivity.this)) {
-                        Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Speech Recognition kullanılamıyor!", timestamp));
-                        return;
-                    }
-                    
-                    startNativeSpeechRecognition();
-                } else {
-                    Log.e("LYRICST_SPEECH", String.format("[%s] [LOG] ❌ [NATIVE SPEECH] Mikrofon izni yok! İzin isteniyor...", timestamp));
-                    checkAndRequestMicrophonePermission();
-                }
-            });
+        public boolean isAvailable() {
+            ListeningService service = listeningService;
+            return service != null && service.isEchoCaptureAvailable();
         }
         
+        /**
+         * Performans başladı - kelime sayısı kadar skor yeri ayrılır
+         */
         @JavascriptInterface
-        public void stopListening() {
-            runOnUiThread(() -> {
-                java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                final String timestamp = sdf.format(new java.util.Date());
-                
-                Log.d("LYRICST_SPEECH", String.format("[%s] [LOG] 🛑 [NATIVE SPEECH] stopListening() çağrıldı", timestamp));
-                stopNativeSpeechRecognition();
-            });
+        public void start(int wordCount) {
+            ListeningService service = listeningService;
+            if (service != null) {
+                service.getPitchTracker().start(wordCount);
+            }
+        }
+        
+        /**
+         * Eşleştirici kelimeyi kabul etti - beklenen başlangıç ve oynatma konumu ms (bilinmiyorsa -1)
+         */
+        @JavascriptInterface
+        public void markWord(int wordIndex, double expectedMs, double playbackMs) {
+            ListeningService service = listeningService;
+            if (service != null) {
+                service.getPitchTracker().markWord(wordIndex, expectedMs, playbackMs);
+            }
+        }
+        
+        /**
+         * Performans bitti - skor JSON'u: {"pitch","timing","words":{"pitch":[..],"timing":[..]}}
+         */
+        @JavascriptInterface
+        public String stop() {
+            ListeningService service = listeningService;
+            return service != null ? service.getPitchTracker().stop() : "null";
+        }
+    }
+    
+    /**
+     * JavaScript Bridge - Performans yöneticisi
+     * Seviye değişimleri window.onPerformanceTier(tier, metrics) ile de bildirilir
+     */
+    public class AndroidPerformanceBridge {
+        /**
+         * Geçerli kalite seviyesi: "high" | "medium" | "low"
+         */
+        @JavascriptInterface
+        public String getTier() {
+            return performanceGovernor != null ? QualityTierPolicy.name(performanceGovernor.getTier()) : "high";
+        }
+        
+        /**
+         * Son ölçüm penceresinin metrikleri (JSON)
+         */
+        @JavascriptInterface
+        public String getMetrics() {
+            return performanceGovernor != null ? performanceGovernor.getMetricsJson() : "{}";
+        }
+    }
+    
+    /**
+     * file:// URI'yi okunabilir bir dosyaya çevir (blob:/data: gibi URI'ler için null)
+     */
+    private static File fileFromUri(String uri) {
+        if (uri == null || !uri.startsWith("file://")) {
+            return null;
+        }
+        String path = Uri.parse(uri).getPath();
+        if (path == null) {
+            return null;
+        }
+        File file = new File(path);
+        return file.isFile() && file.canRead() ? file : null;
+    }
+    
+    /**
+     * JavaScript kodunu WebView'de çalıştır (herhangi bir thread'den çağrılabilir)
+     */
+    private void evaluateOnWebView(String js) {
+        WebView webView = getBridge() != null ? getBridge().getWebView() : null;
+        if (webView != null) {
+            webView.post(() -> webView.evaluateJavascript(js, null));
         }
     }
     
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (speechRecognizer != null) {
-            speechRecognizer.destroy();
-            speechRecognizer = null;
+        // Activity geri gelmeyecekse dinlemeyi bitir. Yapılandırma değişikliğinde oturum yeni Activity
+        // bağlanana kadar sürer; yeniden yüklenen JavaScript sahiplenmezse onServiceConnected durdurur
+        if (listeningService != null) {
+            if (!isChangingConfigurations()) {
+                listeningService.stopListening();
+            }
+            listeningService.setEvents(null);
+            listeningService = null;
+        }
+        if (listeningServiceBound) {
+            unbindService(listeningConnection);
+            listeningServiceBound = false;
+        }
+        // Enstrümantal üretici ve dalga formu analizcisi süreç genelindedir - süren işler kesilmez
+        instrumentalTrackGenerator = null;
+        waveformAnalyzer = null;
+        if (performanceGovernor != null) {
+            performanceGovernor.stop();
+            performanceGovernor = null;
         }
     }
     
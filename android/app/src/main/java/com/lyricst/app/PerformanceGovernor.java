@@ -0,0 +1,249 @@
+package com.lyricst.app;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performans yöneticisi - cihaz bütçesine göre kalite seviyesi (high/medium/low) yayınlar
+ *
+ * Her WINDOW_MS'lik pencerede ölçülenler:
+ * - Frame süresi: Choreographer aralıkları, kaçırılan vsync sayısı
+ * - Ana thread meşguliyeti: Zamanlanmış bir probe'un ne kadar geç çalıştığı
+ * - Tanıma callback birikmesi: WebView'e gönderilip JS'in henüz işlemediği sonuç sayısı
+ * - Termal durum ve pil: Seviyeye tavan koyar (ısınan / pil tasarrufundaki cihazda zengin animasyon yok)
+ *
+ * Karar QualityTierPolicy'dedir; bu sınıf sadece ölçer ve seviye değişince dinleyiciye bildirir.
+ * Tüm ölçüm ve değerlendirme ana thread'de çalışır (Choreographer zaten ana thread'e bağlı).
+ */
+final class PerformanceGovernor {
+
+    interface Listener {
+        void onTierChanged(int tier, String metricsJson);
+    }
+
+    private static final String TAG = "LYRICST_PERF";
+    private static final long WINDOW_MS = 1000;
+    private static final long PROBE_INTERVAL_MS = 100;
+    private static final int LOW_BATTERY_PERCENT = 15;
+
+    private final Context context;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final long vsyncNanos;
+    private final QualityTierPolicy policy;
+    private final AtomicInteger pendingCallbacks = new AtomicInteger();
+
+    private boolean running = false;
+
+    // Pencere sayaçları (sadece ana thread)
+    private long lastFrameNanos = 0;
+    private int windowFrames = 0;
+    private int windowDroppedFrames = 0;
+    private long windowMaxLagMs = 0;
+    private int windowMaxBacklog = 0;
+    private long probeScheduledAt = 0;
+
+    // Son pencerenin metrikleri (JS'e raporlamak için)
+    private volatile String lastMetricsJson = "{}";
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+            if (lastFrameNanos > 0) {
+                long interval = frameTimeNanos - lastFrameNanos;
+                // 1.5 vsync'ten uzun aralık = en az bir frame kaçtı
+                if (interval > vsyncNanos + vsyncNanos / 2) {
+                    windowDroppedFrames += (int) (interval / vsyncNanos) - 1;
+                }
+                windowFrames++;
+            }
+            lastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    private final Runnable lagProbe = new Runnable() {
+        @Override
+        public void run() {
+            if (!running) {
+                return;
+            }
+            long now = SystemClock.uptimeMillis();
+            windowMaxLagMs = Math.max(windowMaxLagMs, now - probeScheduledAt);
+            windowMaxBacklog = Math.max(windowMaxBacklog, pendingCallbacks.get());
+            probeScheduledAt = now + PROBE_INTERVAL_MS;
+            mainHandler.postAtTime(this, probeScheduledAt);
+        }
+    };
+
+    private final Runnable windowEvaluator = new Runnable() {
+        @Override
+        public void run() {
+            if (!running) {
+                return;
+            }
+            evaluateWindow();
+            mainHandler.postDelayed(this, WINDOW_MS);
+        }
+    };
+
+    PerformanceGovernor(Context context, float refreshRate, Listener listener) {
+        this.context = context.getApplicationContext();
+        this.listener = listener;
+        this.vsyncNanos = (long) (1_000_000_000L / (refreshRate > 1f ? refreshRate : 60f));
+
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager != null && activityManager.isLowRamDevice();
+        this.policy = new QualityTierPolicy(lowRam ? QualityTierPolicy.TIER_MEDIUM : QualityTierPolicy.TIER_HIGH);
+    }
+
+    /**
+     * Ölçümü başlat (ana thread'den çağrılmalı)
+     */
+    void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        resetWindow();
+        lastFrameNanos = 0;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+        probeScheduledAt = SystemClock.uptimeMillis() + PROBE_INTERVAL_MS;
+        mainHandler.postAtTime(lagProbe, probeScheduledAt);
+        mainHandler.postDelayed(windowEvaluator, WINDOW_MS);
+        Log.d(TAG, "📊 Performans yöneticisi başladı - seviye: " + QualityTierPolicy.name(policy.getTier()));
+    }
+
+    /**
+     * Ölçümü durdur (ana thread'den çağrılmalı)
+     */
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        mainHandler.removeCallbacks(lagProbe);
+        mainHandler.removeCallbacks(windowEvaluator);
+    }
+
+    int getTier() {
+        return policy.getTier();
+    }
+
+    String getMetricsJson() {
+        return lastMetricsJson;
+    }
+
+    /**
+     * WebView'e bir tanıma sonucu gönderilmeden hemen önce çağır (herhangi bir thread)
+     */
+    void onCallbackPosted() {
+        pendingCallbacks.incrementAndGet();
+    }
+
+    /**
+     * evaluateJavascript sonucu döndüğünde (JS callback'i işledi) çağır
+     */
+    void onCallbackDelivered() {
+        if (pendingCallbacks.decrementAndGet() < 0) {
+            pendingCallbacks.set(0);
+        }
+    }
+
+    private void evaluateWindow() {
+        int total = windowFrames + windowDroppedFrames;
+        double droppedRatio = total > 0 ? (double) windowDroppedFrames / total : 0.0;
+        int backlog = Math.max(windowMaxBacklog, pendingCallbacks.get());
+        int thermal = currentThermalStatus();
+        int ceiling = tierCeiling(thermal);
+
+        boolean changed = policy.onWindow(droppedRatio, windowMaxLagMs, backlog, ceiling);
+        lastMetricsJson = metricsJson(droppedRatio, windowMaxLagMs, backlog, thermal, ceiling);
+
+        if (changed) {
+            Log.d(TAG, "📊 Kalite seviyesi: " + QualityTierPolicy.name(policy.getTier()) + " | " + lastMetricsJson);
+            listener.onTierChanged(policy.getTier(), lastMetricsJson);
+        }
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowFrames = 0;
+        windowDroppedFrames = 0;
+        windowMaxLagMs = 0;
+        windowMaxBacklog = 0;
+    }
+
+    /**
+     * Termal durum ve pile göre izin verilen en yüksek seviye
+     */
+    private int tierCeiling(int thermal) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            if (thermal >= PowerManager.THERMAL_STATUS_SEVERE) {
+                return QualityTierPolicy.TIER_LOW;
+            }
+            if (thermal >= PowerManager.THERMAL_STATUS_MODERATE) {
+                return QualityTierPolicy.TIER_MEDIUM;
+            }
+        }
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (powerManager != null && powerManager.isPowerSaveMode()) {
+            return QualityTierPolicy.TIER_MEDIUM;
+        }
+
+        // Sticky broadcast - receiver kaydetmeden son pil durumunu okur
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery != null) {
+            int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+            int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, 100);
+            int plugged = battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0);
+            if (level >= 0 && scale > 0 && plugged == 0 && level * 100 / scale <= LOW_BATTERY_PERCENT) {
+                return QualityTierPolicy.TIER_MEDIUM;
+            }
+        }
+        return QualityTierPolicy.TIER_HIGH;
+    }
+
+    private int currentThermalStatus() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return 0;
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null ? powerManager.getCurrentThermalStatus() : 0;
+    }
+
+    private String metricsJson(double droppedRatio, long maxLagMs, int backlog, int thermal, int ceiling) {
+        JSONObject metrics = new JSONObject();
+        try {
+            metrics.put("tier", QualityTierPolicy.name(policy.getTier()));
+            metrics.put("droppedRatio", Math.round(droppedRatio * 1000) / 1000.0);
+            metrics.put("mainLagMs", maxLagMs);
+            metrics.put("backlog", backlog);
+            metrics.put("thermal", thermal);
+            metrics.put("ceiling", QualityTierPolicy.name(ceiling));
+        } catch (JSONException ignored) {
+            // Sabit anahtarlar - olmaz
+        }
+        return metrics.toString();
+    }
+}
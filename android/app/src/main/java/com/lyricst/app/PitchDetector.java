@@ -0,0 +1,142 @@
+package com.lyricst.app;
+
+/**
+ * Akış halinde perde (pitch) tespiti - YIN algoritması
+ *
+ * Her 10 ms'lik mikrofon frame'i kayan analiz buffer'ına eklenir ve son WINDOW örnek üzerinde
+ * fark fonksiyonu hesaplanır:
+ *   d(τ) = Σ (x[j] - x[j+τ])²,  d'(τ) = d(τ) · τ / Σ_{k≤τ} d(k)   (kümülatif ortalama normalizasyonu)
+ * d' eşiğin altına düştüğü ilk yerel minimum periyottur; parabolik interpolasyonla alt-örnek
+ * hassasiyetine çıkarılır. 70-1000 Hz aralığı şarkı söyleyen insan sesini kapsar.
+ *
+ * Tüm buffer'lar bir kez ayrılır - frame başına bellek ayırma yok (ses thread'inde GC duraklaması olmasın).
+ * Android API'lerine bağımlı değildir (JVM testleri ve benchmark için).
+ */
+final class PitchDetector {
+
+    static final int SAMPLE_RATE = EchoCanceller.SAMPLE_RATE;
+    static final float MIN_FREQUENCY = 70f;
+    static final float MAX_FREQUENCY = 1000f;
+
+    private static final int WINDOW = 512;                              // 32 ms entegrasyon penceresi
+    private static final int MAX_LAG = (int) (SAMPLE_RATE / MIN_FREQUENCY); // 228 örnek
+    private static final int MIN_LAG = (int) (SAMPLE_RATE / MAX_FREQUENCY); // 16 örnek
+    private static final float THRESHOLD = 0.15f;                       // YIN mutlak eşik
+    private static final float SILENCE_RMS = 200f;                      // ~-44 dBFS altı sessizlik
+
+    // Kayan analiz buffer'ı: en yeni örnekler sonda
+    private final float[] buffer = new float[WINDOW + MAX_LAG];
+    // Fark fonksiyonu / normalize edilmiş fark - yeniden kullanılır
+    private final float[] difference = new float[MAX_LAG + 1];
+
+    private int filled = 0;
+    private float pitchHz = 0f;
+    private float clarity = 0f;
+    private float rms = 0f;
+
+    /**
+     * Bir frame işle
+     *
+     * @return Perde (Hz), sessiz / sessiz harf / belirsizse 0
+     */
+    float process(short[] frame, int length) {
+        int keep = buffer.length - length;
+        System.arraycopy(buffer, length, buffer, 0, keep);
+        for (int i = 0; i < length; i++) {
+            buffer[keep + i] = frame[i];
+        }
+        filled = Math.min(buffer.length, filled + length);
+
+        pitchHz = 0f;
+        clarity = 0f;
+        if (filled < buffer.length) {
+            rms = 0f;
+            return 0f;
+        }
+
+        // Seviye: pencerenin son WINDOW örneği
+        float energy = 0f;
+        for (int j = MAX_LAG; j < buffer.length; j++) {
+            energy += buffer[j] * buffer[j];
+        }
+        rms = (float) Math.sqrt(energy / WINDOW);
+        if (rms < SILENCE_RMS) {
+            return 0f;
+        }
+
+        // Fark fonksiyonu ve kümülatif ortalama normalizasyonu
+        difference[0] = 1f;
+        float runningSum = 0f;
+        for (int tau = 1; tau <= MAX_LAG; tau++) {
+            float sum = 0f;
+            for (int j = 0; j < WINDOW; j++) {
+                float delta = buffer[j] - buffer[j + tau];
+                sum += delta * delta;
+            }
+            runningSum += sum;
+            difference[tau] = runningSum > 0f ? sum * tau / runningSum : 1f;
+        }
+
+        // Eşiğin altındaki ilk yerel minimum
+        int tau = MIN_LAG;
+        while (tau <= MAX_LAG) {
+            if (difference[tau] < THRESHOLD) {
+                while (tau + 1 <= MAX_LAG && difference[tau + 1] < difference[tau]) {
+                    tau++;
+                }
+                break;
+            }
+            tau++;
+        }
+        if (tau > MAX_LAG) {
+            return 0f;
+        }
+
+        // Parabolik interpolasyon
+        float period = tau;
+        if (tau > 1 && tau < MAX_LAG) {
+            float left = difference[tau - 1];
+            float center = difference[tau];
+            float right = difference[tau + 1];
+            float denominator = left - 2f * center + right;
+            if (denominator > 0f) {
+                period = tau + 0.5f * (left - right) / denominator;
+            }
+        }
+
+        clarity = 1f - Math.max(0f, Math.min(1f, difference[tau]));
+        pitchHz = SAMPLE_RATE / period;
+        return pitchHz;
+    }
+
+    /**
+     * Son frame'in perdesi (Hz, yoksa 0)
+     */
+    float getPitchHz() {
+        return pitchHz;
+    }
+
+    /**
+     * Son tespitin netliği (0-1) - 1'e yakın = temiz periyodik ses
+     */
+    float getClarity() {
+        return clarity;
+    }
+
+    /**
+     * Son pencerenin RMS seviyesi (16-bit ölçeğinde)
+     */
+    float getRms() {
+        return rms;
+    }
+
+    /**
+     * Yeni oturum - eski örnekler yeni sesle karışmasın
+     */
+    void reset() {
+        filled = 0;
+        pitchHz = 0f;
+        clarity = 0f;
+        rms = 0f;
+    }
+}
@@ -0,0 +1,130 @@
+package com.lyricst.app;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Perde takibi - VoiceCapture'ın yankısı giderilmiş frame'lerini PitchDetector ve SingingScorer'a verir
+ *
+ * Ses thread'inde (onFrame) sadece tespit ve skor buffer'ına yazma yapılır. Kontur UI'a sabit
+ * hızla (CONTOUR_PUSH_MS) verilen looper'dan (ListeningService worker'ı) gönderilir: Bekleyen frame'ler CONTOUR_DECIMATION'lık
+ * gruplarla ortalanır, sessiz gruplar 0 olur. Tanıma sonucu başına değil sabit hızda gönderildiği
+ * için WebView'e yük sesin yoğunluğundan bağımsızdır.
+ *
+ * Sadece VoiceCapture çalışırken (Android 13+, yankı giderici yol) veri gelir; diğer cihazlarda
+ * tanıyıcı mikrofonu kendisi açtığı için perde skoru üretilmez.
+ */
+final class PitchTracker implements VoiceCapture.FrameListener {
+
+    interface Listener {
+        /**
+         * Kurucuya verilen looper'da çağrılır - points: MIDI nota dizisi (JSON), 0 = sessiz
+         */
+        void onContour(String pointsJson);
+    }
+
+    private static final String TAG = "LYRICST_AUDIO";
+    static final long CONTOUR_PUSH_MS = 100;  // 10 Hz
+    static final int CONTOUR_DECIMATION = 2;   // 20 ms'de bir nokta (50 nokta/s)
+
+    private final PitchDetector detector = new PitchDetector();
+    private final SingingScorer scorer = new SingingScorer();
+    private final Handler handler;
+    private final Listener listener;
+    private final float[] drained = new float[256];
+
+    private volatile boolean active = false;
+    private volatile boolean resetRequested = false;
+
+    private final Runnable contourPusher = new Runnable() {
+        @Override
+        public void run() {
+            if (!active) {
+                return;
+            }
+            pushContour();
+            handler.postDelayed(this, CONTOUR_PUSH_MS);
+        }
+    };
+
+    PitchTracker(Looper looper, Listener listener) {
+        this.handler = new Handler(looper);
+        this.listener = listener;
+    }
+
+    /**
+     * Performans başladı - skorlar sıfırlanır, kontur gönderimi başlar
+     */
+    void start(int wordCount) {
+        scorer.start(wordCount);
+        resetRequested = true;
+        active = true;
+        handler.removeCallbacks(contourPusher);
+        handler.postDelayed(contourPusher, CONTOUR_PUSH_MS);
+        Log.d(TAG, "🎵 Perde takibi başladı (" + wordCount + " kelime)");
+    }
+
+    /**
+     * Eşleştirici bir kelimeyi kabul etti (herhangi bir thread)
+     */
+    void markWord(int wordIndex, double expectedMs, double playbackMs) {
+        if (active) {
+            scorer.markWord(wordIndex, expectedMs, playbackMs);
+        }
+    }
+
+    /**
+     * Performans bitti - skor JSON'u (SingingScorer.finish)
+     */
+    String stop() {
+        active = false;
+        handler.removeCallbacks(contourPusher);
+        String result = scorer.finish();
+        Log.d(TAG, "🎵 Perde takibi bitti: " + (result.length() > 80 ? result.substring(0, 80) + "..." : result));
+        return result;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void onFrame(short[] frame, int length) {
+        if (!active) {
+            return;
+        }
+        if (resetRequested) {
+            resetRequested = false;
+            detector.reset();
+        }
+        scorer.onPitch(detector.process(frame, length));
+    }
+
+    private void pushContour() {
+        int count = scorer.drainContour(drained);
+        if (count < CONTOUR_DECIMATION) {
+            return;
+        }
+        StringBuilder points = new StringBuilder(count * 4);
+        points.append('[');
+        for (int group = 0; group + CONTOUR_DECIMATION <= count; group += CONTOUR_DECIMATION) {
+            float sum = 0f;
+            int voiced = 0;
+            for (int i = group; i < group + CONTOUR_DECIMATION; i++) {
+                if (drained[i] > 0f) {
+                    sum += drained[i];
+                    voiced++;
+                }
+            }
+            if (group > 0) {
+                points.append(',');
+            }
+            points.append(voiced > 0 ? String.format(Locale.US, "%.1f", sum / voiced) : "0");
+        }
+        points.append(']');
+        listener.onContour(points.toString());
+    }
+}
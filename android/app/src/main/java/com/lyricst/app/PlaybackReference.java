@@ -0,0 +1,193 @@
+package com.lyricst.app;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Yankı giderici için oynatma referansı
+ *
+ * WebView'in hoparlöre gönderdiği PCM'e native taraftan erişilemez. Bunun yerine aynı dosya
+ * arka planda 16 kHz mono'ya çözülür ve JavaScript'in bildirdiği oynatma saatine
+ * (konum + çalıyor mu + hız, SystemClock.elapsedRealtime ile sabitlenmiş) göre okunur.
+ *
+ * Referans, saatin REFERENCE_LEAD_MS kadar önünden okunur: Böylece WebView/ses yolu gecikmesi
+ * ne olursa olsun mikrofondaki yankı referansın gerisinde kalır ve EchoCanceller'ın gecikme
+ * tahmini her zaman pozitif bir değer bulur.
+ */
+final class PlaybackReference {
+
+    private static final String TAG = "LYRICST_AUDIO";
+    private static final int SAMPLE_RATE = EchoCanceller.SAMPLE_RATE;
+    private static final int DECODE_BLOCK_FRAMES = 4096;
+    private static final long REFERENCE_LEAD_MS = 100;
+    private static final long RESYNC_THRESHOLD_SAMPLES = SAMPLE_RATE * 40L / 1000; // 40 ms kayma
+    private static final double ANTI_ALIAS_CUTOFF_HZ = 7000.0;
+
+    private volatile short[] samples = new short[0];
+    private volatile int decodedSamples = 0;
+    private volatile AudioFileDecoder decoder;
+
+    // Oynatma saati - JavaScript thread'inden yazılır, ses thread'inden okunur
+    private volatile double anchorPositionSamples = 0.0;
+    private volatile long anchorRealtimeMs = 0L;
+    private volatile boolean playing = false;
+    private volatile double rate = 1.0;
+
+    // Sadece ses thread'i kullanır
+    private long cursor = -1;
+
+    /**
+     * Yeni referans dosyasını arka planda çözmeye başla (öncekini iptal eder)
+     */
+    synchronized void load(File file) {
+        clear();
+
+        AudioFileDecoder newDecoder = new AudioFileDecoder(file, DECODE_BLOCK_FRAMES);
+        decoder = newDecoder;
+        Thread decodeThread = new Thread(() -> decodeInto(newDecoder, file), "EchoReferenceDecoder");
+        decodeThread.setDaemon(true);
+        decodeThread.start();
+    }
+
+    /**
+     * Referansı kaldır - bundan sonra sessizlik döner
+     */
+    synchronized void clear() {
+        if (decoder != null) {
+            decoder.cancel();
+            decoder = null;
+        }
+        samples = new short[0];
+        decodedSamples = 0;
+        playing = false;
+    }
+
+    boolean isReady() {
+        return decodedSamples > 0;
+    }
+
+    /**
+     * JavaScript'ten gelen oynatma saati güncellemesi
+     */
+    void updatePlayback(double positionSeconds, boolean isPlaying, double playbackRate) {
+        anchorPositionSamples = positionSeconds * SAMPLE_RATE;
+        anchorRealtimeMs = SystemClock.elapsedRealtime();
+        rate = playbackRate > 0 ? playbackRate : 1.0;
+        playing = isPlaying;
+    }
+
+    /**
+     * Bir sonraki referans frame'ini doldur (ses thread'i)
+     * İmleç her frame'de sürekli ilerler; saatle arası RESYNC_THRESHOLD_SAMPLES'ı aşarsa atlanır.
+     *
+     * @return Referans çalıyorsa true (false ise frame sıfırlarla doldurulur)
+     */
+    boolean nextFrame(short[] frame) {
+        short[] data = samples;
+        int available = Math.min(decodedSamples, data.length);
+        if (!playing || available == 0) {
+            Arrays.fill(frame, (short) 0);
+            cursor = -1;
+            return false;
+        }
+
+        long elapsedMs = SystemClock.elapsedRealtime() - anchorRealtimeMs;
+        long expected = (long) (anchorPositionSamples + (elapsedMs + REFERENCE_LEAD_MS) * rate * SAMPLE_RATE / 1000.0);
+        if (cursor < 0 || Math.abs(cursor - expected) > RESYNC_THRESHOLD_SAMPLES) {
+            cursor = expected;
+        }
+
+        for (int n = 0; n < frame.length; n++) {
+            long index = cursor + Math.round(n * rate);
+            frame[n] = index >= 0 && index < available ? data[(int) index] : 0;
+        }
+        cursor += Math.round(frame.length * rate);
+        return true;
+    }
+
+    /**
+     * Dosyayı 16 kHz mono'ya çöz: kanalları birleştir, alçak geçiren filtre, doğrusal yeniden örnekleme
+     */
+    private void decodeInto(AudioFileDecoder decoder, File file) {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        long started = SystemClock.elapsedRealtime();
+        try {
+            decoder.decode(new AudioFileDecoder.BlockListener() {
+                private int channels;
+                private double step;
+                private double phase = 0.0;
+                private double previous = 0.0;
+                private Biquad antiAlias;
+                private short[] target;
+                private int written = 0;
+
+                @Override
+                public boolean onFormat(int sampleRate, int channelCount, long durationUs) {
+                    channels = channelCount;
+                    step = (double) sampleRate / SAMPLE_RATE;
+                    antiAlias = sampleRate > SAMPLE_RATE
+                        ? Biquad.lowPass(sampleRate, Math.min(ANTI_ALIAS_CUTOFF_HZ, 0.45 * SAMPLE_RATE), 0.707)
+                        : null;
+                    long expected = durationUs > 0 ? durationUs * SAMPLE_RATE / 1_000_000L + SAMPLE_RATE : SAMPLE_RATE * 60L;
+                    target = new short[(int) Math.min(expected, Integer.MAX_VALUE - 8)];
+                    publish();
+                    return channels > 0;
+                }
+
+                @Override
+                public void onBlock(short[] pcm, int frames) {
+                    for (int f = 0; f < frames; f++) {
+                        double mono = 0.0;
+                        for (int c = 0; c < channels; c++) {
+                            mono += pcm[f * channels + c];
+                        }
+                        mono /= channels;
+                        if (antiAlias != null) {
+                            mono = antiAlias.process(mono);
+                        }
+
+                        // Bu giriş örneği ile bir öncekinin arasına düşen çıkış örneklerini üret
+                        while (phase <= 1.0) {
+                            double value = previous + (mono - previous) * phase;
+                            append((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+                            phase += step;
+                        }
+                        phase -= 1.0;
+                        previous = mono;
+                    }
+                    publish();
+                }
+
+                private void append(short value) {
+                    if (written == target.length) {
+                        target = Arrays.copyOf(target, target.length + SAMPLE_RATE * 30);
+                    }
+                    target[written++] = value;
+                }
+
+                private void publish() {
+                    synchronized (PlaybackReference.this) {
+                        if (PlaybackReference.this.decoder != decoder) {
+                            decoder.cancel();
+                            return;
+                        }
+                        samples = target;
+                        decodedSamples = written;
+                    }
+                }
+            });
+
+            if (!decoder.isCancelled()) {
+                Log.d(TAG, String.format("✅ Yankı referansı çözüldü: %s (%.1f s, %d ms)",
+                    file.getName(), decodedSamples / (double) SAMPLE_RATE, SystemClock.elapsedRealtime() - started));
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "⚠️ Yankı referansı çözülemedi: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lyricst.app;
+
+/**
+ * Kalite seviyesi kararı - PerformanceGovernor'ın ölçtüğü pencere metriklerinden seviye seçer
+ *
+ * Android API'lerine bağımlı değildir (JVM testleri için ayrı tutuldu).
+ * Histerezis: Düşürme hızlı (DOWNGRADE_WINDOWS ardışık kötü pencere), yükseltme yavaş
+ * (UPGRADE_WINDOWS ardışık iyi pencere) - seviye sürekli gidip gelip animasyonları titretmesin.
+ * Termal durum ve pil tasarrufu seviyeye bir tavan koyar; tavan düşünce beklemeden uygulanır.
+ */
+final class QualityTierPolicy {
+
+    static final int TIER_LOW = 0;
+    static final int TIER_MEDIUM = 1;
+    static final int TIER_HIGH = 2;
+
+    // Pencere (1 s) eşikleri
+    static final double STRESSED_DROPPED_RATIO = 0.25; // Frame'lerin dörtte biri kaçtı
+    static final long STRESSED_MAIN_LAG_MS = 100;      // Ana thread 100 ms'den uzun meşgul
+    static final int STRESSED_BACKLOG = 3;             // JS 3'ten fazla tanıma sonucunu işleyemedi
+    static final double HEALTHY_DROPPED_RATIO = 0.05;
+    static final long HEALTHY_MAIN_LAG_MS = 32;
+    static final int HEALTHY_BACKLOG = 1;
+
+    static final int DOWNGRADE_WINDOWS = 2;
+    static final int UPGRADE_WINDOWS = 8;
+
+    private int tier;
+    private int stressedWindows = 0;
+    private int healthyWindows = 0;
+
+    QualityTierPolicy(int initialTier) {
+        this.tier = clampTier(initialTier);
+    }
+
+    int getTier() {
+        return tier;
+    }
+
+    /**
+     * Bir ölçüm penceresini değerlendir
+     *
+     * @param droppedRatio Kaçırılan frame oranı (0-1)
+     * @param maxMainLagMs Penceredeki en uzun ana thread gecikmesi
+     * @param maxBacklog   Penceredeki en yüksek bekleyen JS callback sayısı
+     * @param tierCeiling  Termal/pil kaynaklı üst sınır
+     * @return Seviye değiştiyse true
+     */
+    boolean onWindow(double droppedRatio, long maxMainLagMs, int maxBacklog, int tierCeiling) {
+        int previous = tier;
+
+        boolean stressed = droppedRatio > STRESSED_DROPPED_RATIO
+            || maxMainLagMs > STRESSED_MAIN_LAG_MS
+            || maxBacklog >= STRESSED_BACKLOG;
+        boolean healthy = droppedRatio < HEALTHY_DROPPED_RATIO
+            && maxMainLagMs < HEALTHY_MAIN_LAG_MS
+            && maxBacklog <= HEALTHY_BACKLOG;
+
+        if (stressed) {
+            healthyWindows = 0;
+            if (++stressedWindows >= DOWNGRADE_WINDOWS && tier > TIER_LOW) {
+                tier--;
+                stressedWindows = 0;
+            }
+        } else if (healthy) {
+            stressedWindows = 0;
+            if (++healthyWindows >= UPGRADE_WINDOWS && tier < TIER_HIGH) {
+                tier++;
+                healthyWindows = 0;
+            }
+        } else {
+            // Arada kalan pencere - iki sayacı da sıfırla, seviyeyi koru
+            stressedWindows = 0;
+            healthyWindows = 0;
+        }
+
+        int ceiling = clampTier(tierCeiling);
+        if (tier > ceiling) {
+            tier = ceiling;
+            healthyWindows = 0;
+        }
+        return tier != previous;
+    }
+
+    static String name(int tier) {
+        switch (tier) {
+            case TIER_LOW:
+                return "low";
+            case TIER_MEDIUM:
+                return "medium";
+            default:
+                return "high";
+        }
+    }
+
+    private static int clampTier(int value) {
+        return Math.max(TIER_LOW, Math.min(TIER_HIGH, value));
+    }
+}
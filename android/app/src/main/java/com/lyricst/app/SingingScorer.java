@@ -0,0 +1,235 @@
+package com.lyricst.app;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Şarkı söyleme skoru - perde konturu ve kelime başına perde / zamanlama kararlılığı
+ *
+ * Ses thread'i her 10 ms'lik frame için onPitch() çağırır; perde MIDI nota cinsinden (yarım ton)
+ * bir halka buffer'a yazılır. JavaScript eşleştirici bir kelimeyi kabul ettiğinde markWord() gelir:
+ * tanıma sonucu sesten yüzlerce ms sonra geldiği için kelimenin başlangıcı buffer'da geriye doğru
+ * aranan son sesli başlangıçtır (sessiz -> sesli geçiş). Kelimenin segmenti sonraki kelimenin
+ * başlangıcında kapanır.
+ *
+ * - Perde kararlılığı: Ardışık sesli frame'ler arası ortalama mutlak perde değişimi (yarım ton).
+ *   Vibrato ve notalar arası geçişler küçük adımlardır; titreyen / kırılan ses büyük adımlar üretir.
+ * - Zamanlama kararlılığı: Zaman damgalı sözlerde beklenen başlangıca uzaklık; yoksa kelime
+ *   aralıklarının kendi ortalamasına göre düzenliliği.
+ *
+ * Skorlar 0-1 arasıdır, hesaplanamayanlar -1. Frame yolu bellek ayırmaz.
+ * Android API'lerine bağımlı değildir (JVM testleri için).
+ */
+final class SingingScorer {
+
+    static final int FRAME_MS = EchoCanceller.FRAME_SIZE * 1000 / EchoCanceller.SAMPLE_RATE; // 10 ms
+
+    private static final int HISTORY_FRAMES = 512;        // ~5 s perde geçmişi
+    private static final int CONTOUR_CAPACITY = 256;      // UI'a henüz gönderilmemiş frame'ler
+    private static final int MAX_ONSET_LOOKBACK = 150;    // Başlangıç en fazla 1.5 s geride aranır
+    private static final int ASSUMED_LATENCY_FRAMES = 30; // Başlangıç bulunamazsa tanıma gecikmesi varsayımı
+    private static final int MIN_VOICED_FRAMES = 5;       // Perde skoru için en az 50 ms sesli
+    private static final float MAX_STEP_SEMITONES = 2f;   // Oktav hataları skoru tek başına sıfırlamasın
+    private static final float JITTER_TOLERANCE = 0.6f;   // Bu ortalama adımda perde skoru 0
+    private static final float TIMING_TOLERANCE_MS = 600f;
+    private static final float INTERVAL_SMOOTHING = 0.2f;
+
+    private final float[] history = new float[HISTORY_FRAMES]; // MIDI nota, 0 = sessiz
+    private final float[] contour = new float[CONTOUR_CAPACITY];
+    private long frameCount = 0;
+    private int contourCount = 0;
+
+    private float[] pitchScores = new float[0];
+    private float[] timingScores = new float[0];
+
+    private int openWord = -1;
+    private long openWordOnset = -1;
+    private long lastOnset = -1;
+    private float meanInterval = 0f;
+    private int markedWords = 0;
+
+    /**
+     * Yeni performans - kelime sayısı kadar skor yeri ayrılır (frame yolundan önce, bir kez)
+     */
+    synchronized void start(int wordCount) {
+        pitchScores = new float[Math.max(0, wordCount)];
+        timingScores = new float[Math.max(0, wordCount)];
+        Arrays.fill(pitchScores, -1f);
+        Arrays.fill(timingScores, -1f);
+        Arrays.fill(history, 0f);
+        frameCount = 0;
+        contourCount = 0;
+        openWord = -1;
+        openWordOnset = -1;
+        lastOnset = -1;
+        meanInterval = 0f;
+        markedWords = 0;
+    }
+
+    /**
+     * Ses thread'i: bir frame'in perdesi (Hz, sessizse 0)
+     */
+    synchronized void onPitch(float pitchHz) {
+        float midi = pitchHz > 0f ? (float) (69.0 + 12.0 * Math.log(pitchHz / 440.0) / Math.log(2.0)) : 0f;
+        history[(int) (frameCount % HISTORY_FRAMES)] = midi;
+        frameCount++;
+
+        if (contourCount == CONTOUR_CAPACITY) {
+            // UI yetişemiyor - en eski yarıyı at
+            System.arraycopy(contour, CONTOUR_CAPACITY / 2, contour, 0, CONTOUR_CAPACITY / 2);
+            contourCount = CONTOUR_CAPACITY / 2;
+        }
+        contour[contourCount++] = midi;
+    }
+
+    /**
+     * Eşleştirici bir kelimeyi kabul etti
+     *
+     * @param wordIndex  Kelime indeksi
+     * @param expectedMs Zaman damgalı sözlerde kelimenin beklenen başlangıcı (yoksa < 0)
+     * @param playbackMs Şu anki oynatma konumu (müzik yoksa < 0)
+     */
+    synchronized void markWord(int wordIndex, double expectedMs, double playbackMs) {
+        if (wordIndex < 0 || wordIndex >= pitchScores.length || wordIndex == openWord) {
+            return;
+        }
+        long onset = findOnset();
+        closeOpenWord(onset);
+
+        // Zamanlama
+        float timing = -1f;
+        if (expectedMs >= 0 && playbackMs >= 0) {
+            double onsetPlaybackMs = playbackMs - (double) (frameCount - onset) * FRAME_MS;
+            timing = clamp01(1f - (float) Math.abs(onsetPlaybackMs - expectedMs) / TIMING_TOLERANCE_MS);
+        } else if (lastOnset >= 0) {
+            float interval = onset - lastOnset;
+            if (markedWords >= 2 && meanInterval > 0f) {
+                timing = clamp01(1f - Math.abs(interval - meanInterval) / meanInterval);
+            }
+            meanInterval = meanInterval > 0f ? meanInterval + INTERVAL_SMOOTHING * (interval - meanInterval) : interval;
+        }
+        timingScores[wordIndex] = timing;
+
+        openWord = wordIndex;
+        openWordOnset = onset;
+        lastOnset = onset;
+        markedWords++;
+    }
+
+    /**
+     * UI için bekleyen kontur frame'lerini al ve temizle
+     *
+     * @return Kopyalanan frame sayısı
+     */
+    synchronized int drainContour(float[] out) {
+        int count = Math.min(out.length, contourCount);
+        System.arraycopy(contour, contourCount - count, out, 0, count);
+        contourCount = 0;
+        return count;
+    }
+
+    /**
+     * Performansı bitir - açık kelime kapatılır
+     * JSON: {"pitch":0.81,"timing":0.64,"words":{"pitch":[..],"timing":[..]}}  (hesaplanamayan: -1, ortalamaya girmez)
+     */
+    synchronized String finish() {
+        closeOpenWord(frameCount);
+        StringBuilder json = new StringBuilder(64 + pitchScores.length * 12);
+        json.append("{\"pitch\":").append(format(average(pitchScores)));
+        json.append(",\"timing\":").append(format(average(timingScores)));
+        json.append(",\"words\":{\"pitch\":");
+        appendArray(json, pitchScores);
+        json.append(",\"timing\":");
+        appendArray(json, timingScores);
+        json.append("}}");
+        return json.toString();
+    }
+
+    float getPitchScore(int wordIndex) {
+        return wordIndex >= 0 && wordIndex < pitchScores.length ? pitchScores[wordIndex] : -1f;
+    }
+
+    float getTimingScore(int wordIndex) {
+        return wordIndex >= 0 && wordIndex < timingScores.length ? timingScores[wordIndex] : -1f;
+    }
+
+    /**
+     * Son sesli bölümün başlangıç frame'i (önceki kelimenin başlangıcından sonra)
+     */
+    private long findOnset() {
+        long oldest = Math.max(Math.max(0, frameCount - Math.min(MAX_ONSET_LOOKBACK, HISTORY_FRAMES)), openWordOnset + 1);
+        long frame = frameCount - 1;
+
+        // Şu an sessizse son sesli frame'e git
+        while (frame >= oldest && history[(int) (frame % HISTORY_FRAMES)] == 0f) {
+            frame--;
+        }
+        if (frame < oldest) {
+            return Math.max(oldest, frameCount - ASSUMED_LATENCY_FRAMES);
+        }
+        // Sesli bölümün başına git
+        while (frame - 1 >= oldest && history[(int) ((frame - 1) % HISTORY_FRAMES)] != 0f) {
+            frame--;
+        }
+        return frame;
+    }
+
+    private void closeOpenWord(long endFrame) {
+        if (openWord < 0) {
+            return;
+        }
+        long from = Math.max(openWordOnset, frameCount - HISTORY_FRAMES);
+        float stepSum = 0f;
+        int steps = 0;
+        int voiced = 0;
+        float previous = 0f;
+        for (long frame = from; frame < endFrame; frame++) {
+            float midi = history[(int) (frame % HISTORY_FRAMES)];
+            if (midi == 0f) {
+                previous = 0f;
+                continue;
+            }
+            voiced++;
+            if (previous != 0f) {
+                stepSum += Math.min(MAX_STEP_SEMITONES, Math.abs(midi - previous));
+                steps++;
+            }
+            previous = midi;
+        }
+        if (voiced >= MIN_VOICED_FRAMES && steps > 0) {
+            pitchScores[openWord] = clamp01(1f - (stepSum / steps) / JITTER_TOLERANCE);
+        }
+        openWord = -1;
+    }
+
+    private static float average(float[] scores) {
+        float sum = 0f;
+        int count = 0;
+        for (float score : scores) {
+            if (score >= 0f) {
+                sum += score;
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : -1f;
+    }
+
+    private static void appendArray(StringBuilder json, float[] values) {
+        json.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(format(values[i]));
+        }
+        json.append(']');
+    }
+
+    private static String format(float value) {
+        return value < 0f ? "-1" : String.format(Locale.US, "%.2f", value);
+    }
+
+    private static float clamp01(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+}
@@ -0,0 +1,324 @@
+package com.lyricst.app;
+
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.ParcelFileDescriptor;
+import android.os.Process;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Mikrofon yakalama hattı - AudioRecord (16 kHz mono) -> EchoCanceller -> SpeechRecognizer
+ *
+ * SpeechRecognizer mikrofonu kendisi açtığında hoparlörden çalan şarkıyı da duyar.
+ * Android 13+ (API 33) ile tanıyıcıya RecognizerIntent.EXTRA_AUDIO_SOURCE üzerinden
+ * kendi PCM akışımızı verebiliyoruz: Mikrofon burada okunur, yankısı giderilir ve
+ * her tanıma oturumu için açılan bir pipe'a yazılır.
+ *
+ * Pipe'a non-blocking yazılır - tanıyıcı okumayı bırakırsa (oturum arası) frame'ler düşürülür,
+ * ses thread'i asla bloklanmaz. Yankısı giderilmiş frame'ler FrameListener'lara da verilir.
+ */
+final class VoiceCapture {
+
+    /**
+     * Yankısı giderilmiş mikrofon frame'lerini alan dinleyici
+     * Ses thread'inde çağrılır - hızlı dönmeli; dizi bir sonraki frame'de yeniden kullanılır
+     */
+    interface FrameListener {
+        void onFrame(short[] frame, int length);
+    }
+
+    /**
+     * Mikrofon okuma hatası - yakalama kendiliğinden durdu (ses thread'inden çağrılır)
+     * Sahibi yeniden başlatabilir veya tanıyıcının kendi mikrofonuna dönebilir.
+     */
+    interface ErrorListener {
+        void onCaptureError(int code);
+    }
+
+    private static final String TAG = "LYRICST_AUDIO";
+    private static final int SAMPLE_RATE = EchoCanceller.SAMPLE_RATE;
+    private static final int FRAME_SIZE = EchoCanceller.FRAME_SIZE;
+    private static final int BUFFER_FRAMES = 10; // AudioRecord iç buffer'ı: 100 ms
+
+    static final int CHANNEL_COUNT = 1;
+    static final int ENCODING = AudioFormat.ENCODING_PCM_16BIT;
+
+    private final PlaybackReference reference;
+    private final EchoCanceller canceller = new EchoCanceller();
+    private final CopyOnWriteArrayList<FrameListener> listeners = new CopyOnWriteArrayList<>();
+
+    private AudioRecord record;
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile boolean resetRequested = false;
+
+    // Aktif tanıma oturumunun pipe uçları
+    private volatile ParcelFileDescriptor sink;
+    private ParcelFileDescriptor source;
+
+    private volatile long droppedFrames = 0;
+    private volatile ErrorListener errorListener;
+
+    VoiceCapture(PlaybackReference reference) {
+        this.reference = reference;
+    }
+
+    void addFrameListener(FrameListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    void removeFrameListener(FrameListener listener) {
+        listeners.remove(listener);
+    }
+
+    void setErrorListener(ErrorListener listener) {
+        errorListener = listener;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Mikrofonu aç ve yakalama thread'ini başlat
+     *
+     * @return Mikrofon açılamazsa false
+     */
+    synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+
+        int minBuffer = AudioRecord.getMinBufferSize(SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO, ENCODING);
+        int bufferBytes = Math.max(minBuffer, FRAME_SIZE * 2 * BUFFER_FRAMES);
+        try {
+            record = new AudioRecord(MediaRecorder.AudioSource.VOICE_RECOGNITION, SAMPLE_RATE,
+                AudioFormat.CHANNEL_IN_MONO, ENCODING, bufferBytes);
+        } catch (IllegalArgumentException | SecurityException e) {
+            Log.e(TAG, "❌ AudioRecord oluşturulamadı: " + e.getMessage());
+            record = null;
+            return false;
+        }
+        if (record.getState() != AudioRecord.STATE_INITIALIZED) {
+            Log.e(TAG, "❌ AudioRecord başlatılamadı (state=" + record.getState() + ")");
+            record.release();
+            record = null;
+            return false;
+        }
+
+        try {
+            record.startRecording();
+        } catch (IllegalStateException e) {
+            Log.e(TAG, "❌ Kayıt başlatılamadı: " + e.getMessage());
+            record.release();
+            record = null;
+            return false;
+        }
+
+        running = true;
+        resetRequested = true;
+        AudioRecord activeRecord = record;
+        thread = new Thread(() -> captureLoop(activeRecord), "VoiceCapture");
+        thread.start();
+        Log.d(TAG, "✅ Yankı giderici mikrofon yakalama başladı");
+        return true;
+    }
+
+    /**
+     * Yakalamayı durdur ve mikrofonu bırak
+     */
+    synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        if (record != null) {
+            try {
+                record.stop();
+            } catch (IllegalStateException ignored) {
+                // Zaten durmuş olabilir
+            }
+            record.release();
+            record = null;
+        }
+        closeSession();
+        Log.d(TAG, "🛑 Yankı giderici mikrofon yakalama durduruldu");
+    }
+
+    /**
+     * Yeni tanıma oturumu için pipe aç - okuma ucu RecognizerIntent.EXTRA_AUDIO_SOURCE'a verilir
+     * Önceki oturumun pipe'ı kapatılır (tanıyıcı o oturumu bitirmiş olur).
+     */
+    synchronized ParcelFileDescriptor openRecognizerSession() throws IOException {
+        closeSession();
+
+        ParcelFileDescriptor[] pipe = ParcelFileDescriptor.createPipe();
+        try {
+            int flags = Os.fcntlInt(pipe[1].getFileDescriptor(), OsConstants.F_GETFL, 0);
+            Os.fcntlInt(pipe[1].getFileDescriptor(), OsConstants.F_SETFL, flags | OsConstants.O_NONBLOCK);
+        } catch (ErrnoException e) {
+            pipe[0].close();
+            pipe[1].close();
+            throw new IOException("Pipe non-blocking yapılamadı: " + e.getMessage(), e);
+        }
+        source = pipe[0];
+        sink = pipe[1];
+        return source;
+    }
+
+    /**
+     * Yeni şarkı - öğrenilmiş yankı yolu ve gecikme artık geçersiz
+     */
+    void requestReset() {
+        resetRequested = true;
+    }
+
+    /**
+     * Yankı giderici istatistikleri (JSON) - ses thread'inden bağımsız okunur, yaklaşık değerlerdir
+     */
+    String getStatsJson() {
+        JSONObject stats = new JSONObject();
+        try {
+            stats.put("active", running);
+            stats.put("referenceReady", reference.isReady());
+            stats.put("delayMs", canceller.getEstimatedDelaySamples() * 1000 / SAMPLE_RATE);
+            stats.put("doubleTalk", canceller.isDoubleTalk());
+            stats.put("frameMicros", canceller.getLastFrameNanos() / 1000);
+            stats.put("overBudgetFrames", canceller.getOverBudgetFrames());
+            stats.put("droppedFrames", droppedFrames);
+        } catch (JSONException ignored) {
+            // Sabit anahtarlar - olmaz
+        }
+        return stats.toString();
+    }
+
+    private void closeSession() {
+        ParcelFileDescriptor oldSink = sink;
+        sink = null;
+        closeQuietly(oldSink);
+        closeQuietly(source);
+        source = null;
+    }
+
+    private void captureLoop(AudioRecord activeRecord) {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+
+        short[] mic = new short[FRAME_SIZE];
+        short[] ref = new short[FRAME_SIZE];
+        short[] out = new short[FRAME_SIZE];
+        byte[] bytes = new byte[FRAME_SIZE * 2];
+        int filled = 0;
+
+        while (running) {
+            int read = activeRecord.read(mic, filled, FRAME_SIZE - filled);
+            if (read < 0) {
+                Log.e(TAG, "❌ AudioRecord okuma hatası: " + read);
+                handleReadFailure(activeRecord, read);
+                return;
+            }
+            filled += read;
+            if (filled < FRAME_SIZE) {
+                continue;
+            }
+            filled = 0;
+
+            if (resetRequested) {
+                resetRequested = false;
+                canceller.reset();
+            }
+
+            reference.nextFrame(ref);
+            canceller.process(mic, ref, out);
+
+            for (FrameListener listener : listeners) {
+                listener.onFrame(out, FRAME_SIZE);
+            }
+            writeToSink(out, bytes);
+        }
+    }
+
+    /**
+     * Okuma hatası: Mikrofonu bırak ve durumu sıfırla - yoksa start() running == true gördüğü için
+     * mikrofonu yeniden açmaz ve sonraki oturumlar sessiz bir pipe alır
+     * stop() zaten sürüyorsa (running == false) kaynakları o bırakır.
+     */
+    private void handleReadFailure(AudioRecord activeRecord, int code) {
+        synchronized (this) {
+            if (!running || record != activeRecord) {
+                return;
+            }
+            running = false;
+            thread = null;
+            try {
+                activeRecord.stop();
+            } catch (IllegalStateException ignored) {
+                // Zaten durmuş olabilir
+            }
+            activeRecord.release();
+            record = null;
+            closeSession();
+        }
+        ErrorListener listener = errorListener;
+        if (listener != null) {
+            listener.onCaptureError(code);
+        }
+    }
+
+    /**
+     * Frame'i tanıyıcı pipe'ına yaz (little-endian 16-bit)
+     * 320 byte < PIPE_BUF olduğu için yazma ya tamamen olur ya da EAGAIN döner.
+     */
+    private void writeToSink(short[] frame, byte[] bytes) {
+        ParcelFileDescriptor target = sink;
+        if (target == null) {
+            return;
+        }
+        for (int n = 0; n < frame.length; n++) {
+            bytes[2 * n] = (byte) frame[n];
+            bytes[2 * n + 1] = (byte) (frame[n] >> 8);
+        }
+        try {
+            Os.write(target.getFileDescriptor(), bytes, 0, bytes.length);
+        } catch (ErrnoException e) {
+            if (e.errno == OsConstants.EAGAIN) {
+                droppedFrames++;
+            } else {
+                // EPIPE: Tanıyıcı okuma ucunu kapattı - oturum bitti, yenisi açılana kadar yazma
+                if (sink == target) {
+                    sink = null;
+                }
+            }
+        } catch (IOException e) {
+            droppedFrames++;
+        }
+    }
+
+    private static void closeQuietly(ParcelFileDescriptor descriptor) {
+        if (descriptor == null) {
+            return;
+        }
+        try {
+            descriptor.close();
+        } catch (IOException ignored) {
+            // Kapatılırken hata önemli değil
+        }
+    }
+}
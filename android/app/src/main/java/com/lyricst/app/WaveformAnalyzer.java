@@ -0,0 +1,255 @@
+package com.lyricst.app;
+
+import android.content.Context;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dalga formu ve yapı analizcisi
+ *
+ * Kayıtlı şarkıyı arka planda bir kez akış halinde çözer (AudioFileDecoder), AudioEnvelopeAnalyzer
+ * ile zarf piramidini ve sessiz / enstrümantal bölümleri çıkarır ve küçük bir ikili dosyaya yazar.
+ * Dosya adı içerik hash'inden türetilir (InstrumentalTrackGenerator ile aynı dizin ve şema).
+ * Sonraki açılışlarda UI, süre, dalga formu ve bölümler çözme yapılmadan bu dosyadan okunur.
+ *
+ * Süreç boyunca tek örnek (get) - Activity yeniden oluşturulduğunda süren analiz kesilmez.
+ */
+final class WaveformAnalyzer {
+
+    /**
+     * Analiz dinleyicisi - arka plan thread'inden çağrılır
+     */
+    interface Listener {
+        void onReady(AudioEnvelope envelope);
+
+        void onError(String message);
+    }
+
+    private static final String TAG = "LYRICST_AUDIO";
+    static final String FILE_PREFIX = "waveform_";
+    private static final String FILE_EXTENSION = ".lwv";
+    private static final int MEMORY_CACHE_SIZE = 4;
+
+    private static WaveformAnalyzer instance;
+
+    private final File outputDir;
+    private final ExecutorService executor;
+    // Süren analizler ve dinleyicileri
+    private final Map<String, List<Listener>> runningJobs = new HashMap<>();
+    // Son açılan şarkıların zarfları (UI yakınlaştırdıkça dosya tekrar okunmasın)
+    private final Map<String, AudioEnvelope> loaded = new LinkedHashMap<String, AudioEnvelope>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AudioEnvelope> eldest) {
+            return size() > MEMORY_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Süreç genelindeki analizci (uygulama context'i tutulur, Activity sızdırılmaz)
+     */
+    static synchronized WaveformAnalyzer get(Context context) {
+        if (instance == null) {
+            instance = new WaveformAnalyzer(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private WaveformAnalyzer(Context context) {
+        this.outputDir = new File(context.getFilesDir(), InstrumentalTrackGenerator.OUTPUT_DIR);
+        ContentHash.init(context.getFilesDir());
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "WaveformAnalyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Önceden analiz edilmiş zarfı bul (bellekte yoksa dosyadan okunur)
+     * Bridge thread'inden çağrılır - hash'i bilinmeyen şarkı okunup hash'lenmez, null döner
+     *
+     * @return Analiz yoksa null
+     */
+    AudioEnvelope findCached(File source) {
+        String hash = ContentHash.peek(source);
+        return hash != null ? loadCached(hash) : null;
+    }
+
+    private AudioEnvelope loadCached(String hash) {
+        try {
+            synchronized (loaded) {
+                AudioEnvelope envelope = loaded.get(hash);
+                if (envelope != null) {
+                    return envelope;
+                }
+            }
+            File file = envelopeFile(hash);
+            if (!file.isFile()) {
+                return null;
+            }
+            AudioEnvelope envelope;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                envelope = AudioEnvelope.readFrom(in);
+            }
+            synchronized (loaded) {
+                loaded.put(hash, envelope);
+            }
+            return envelope;
+        } catch (IOException e) {
+            Log.w(TAG, "Dalga formu önbelleği okunamadı: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Süreyi çözme yapmadan al: Analiz varsa ondan, yoksa kapsayıcı başlığından
+     *
+     * @return Milisaniye, okunamazsa -1
+     */
+    long readDurationMs(File source) {
+        AudioEnvelope cached = findCached(source);
+        if (cached != null) {
+            return cached.durationMs;
+        }
+        MediaExtractor extractor = new MediaExtractor();
+        try {
+            extractor.setDataSource(source.getAbsolutePath());
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat format = extractor.getTrackFormat(i);
+                String mime = format.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/") && format.containsKey(MediaFormat.KEY_DURATION)) {
+                    return format.getLong(MediaFormat.KEY_DURATION) / 1000L;
+                }
+            }
+            return -1;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Süre okunamadı: " + e.getMessage());
+            return -1;
+        } finally {
+            extractor.release();
+        }
+    }
+
+    /**
+     * Analizi kuyruğa al - önbellekte varsa çözme yapılmadan hemen onReady çağrılır
+     * Aynı şarkı için analiz zaten sürüyorsa dinleyici süren işe eklenir
+     */
+    void analyze(File source, Listener listener) {
+        final String key = source.getAbsolutePath();
+        synchronized (runningJobs) {
+            List<Listener> listeners = runningJobs.get(key);
+            if (listeners != null) {
+                Log.d(TAG, "⚠️ Dalga formu analizi zaten sürüyor, dinleyici eklendi: " + source.getName());
+                listeners.add(listener);
+                return;
+            }
+            listeners = new ArrayList<>();
+            listeners.add(listener);
+            runningJobs.put(key, listeners);
+        }
+
+        executor.execute(() -> {
+            AudioEnvelope envelope = null;
+            String error = null;
+            try {
+                envelope = loadCached(ContentHash.of(source));
+                if (envelope == null) {
+                    long start = System.currentTimeMillis();
+                    envelope = render(source);
+                    Log.d(TAG, String.format("✅ Dalga formu analiz edildi: %s (%d ms, %d bölüm, %d cümle)",
+                        source.getName(), System.currentTimeMillis() - start,
+                        envelope.getSectionCount(), envelope.getPhraseStartsMs().length));
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "❌ Dalga formu analiz edilemedi: " + e.getMessage());
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+
+            List<Listener> listeners;
+            synchronized (runningJobs) {
+                listeners = runningJobs.remove(key);
+            }
+            for (Listener each : listeners) {
+                if (envelope != null) {
+                    each.onReady(envelope);
+                } else {
+                    each.onError(error);
+                }
+            }
+        });
+    }
+
+    private File envelopeFile(String hash) {
+        return new File(outputDir, FILE_PREFIX + hash + FILE_EXTENSION);
+    }
+
+    /**
+     * Çöz -> analiz et -> işe özel geçici .part dosyasına yaz -> yeniden adlandır
+     * (yarım dosya önbelleğe girmez, iki iş aynı geçici dosyaya yazmaz)
+     */
+    private AudioEnvelope render(File source) throws IOException {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Çıkış dizini oluşturulamadı: " + outputDir);
+        }
+        String hash = ContentHash.of(source);
+        File output = envelopeFile(hash);
+        File partial = File.createTempFile(output.getName(), ".part", outputDir);
+
+        AudioFileDecoder decoder = new AudioFileDecoder(source, InstrumentalTrackGenerator.BLOCK_FRAMES);
+        final AudioEnvelopeAnalyzer[] analyzer = new AudioEnvelopeAnalyzer[1];
+        decoder.decode(new AudioFileDecoder.BlockListener() {
+            @Override
+            public boolean onFormat(int sampleRate, int channels, long durationUs) {
+                analyzer[0] = new AudioEnvelopeAnalyzer(sampleRate, channels, durationUs / 1000L);
+                return true;
+            }
+
+            @Override
+            public void onBlock(short[] pcm, int frames) {
+                analyzer[0].process(pcm, frames);
+            }
+        });
+        if (analyzer[0] == null) {
+            throw new IOException("Ses verisi çözülemedi: " + source.getName());
+        }
+        AudioEnvelope envelope = analyzer[0].finish();
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(partial))) {
+                envelope.writeTo(out);
+            }
+            if (!partial.renameTo(output)) {
+                throw new IOException("Dalga formu dosyası kaydedilemedi: " + output.getName());
+            }
+        } finally {
+            if (partial.exists() && !partial.delete()) {
+                Log.w(TAG, "Yarım dosya silinemedi: " + partial.getName());
+            }
+        }
+        synchronized (loaded) {
+            loaded.put(hash, envelope);
+        }
+        return envelope;
+    }
+}
@@ -0,0 +1,214 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * AudioEnvelopeAnalyzer bölüm / cümle tespiti ve AudioEnvelope piramidi - sentetik stereo miks
+ */
+public class AudioEnvelopeAnalyzerTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int TOLERANCE_MS = 3 * AudioEnvelope.BUCKET_MS;
+    private static final double REVERB_GAIN = 30000.0; // Kuyruk RMS ~6900, kuru vokal RMS ~3200
+
+    @Test
+    public void findsVocalPhrasesAndInstrumentalGaps() {
+        Mix mix = new Mix(2);
+        mix.instrumental(4000);   // intro
+        mix.vocal(4000);
+        mix.instrumental(4000);   // ara müzik (sonunda 1 s sessizlik)
+        mix.silence(1000);
+        mix.vocal(2000);
+        mix.instrumental(200);    // cümle içi kısa boşluk - yeni cümle değil
+        mix.vocal(800);
+        AudioEnvelope envelope = mix.analyze();
+
+        int[] phrases = envelope.getPhraseStartsMs();
+        assertEquals(2, phrases.length);
+        assertEquals(4000, phrases[0], TOLERANCE_MS);
+        assertEquals(13000, phrases[1], TOLERANCE_MS);
+
+        assertEquals(2, envelope.getSectionCount());
+        assertEquals(0, envelope.getSectionStartMs(0));
+        assertEquals(4000, envelope.getSectionEndMs(0), TOLERANCE_MS);
+        assertEquals(AudioEnvelope.SECTION_INSTRUMENTAL, envelope.getSectionKind(0));
+        assertEquals(8000, envelope.getSectionStartMs(1), TOLERANCE_MS);
+        assertEquals(13000, envelope.getSectionEndMs(1), TOLERANCE_MS);
+        assertEquals(AudioEnvelope.SECTION_INSTRUMENTAL, envelope.getSectionKind(1));
+        assertEquals(16000, envelope.durationMs);
+    }
+
+    @Test
+    public void reverbHeavyVocalIsNotInstrumental() {
+        Mix mix = new Mix(2);
+        mix.drumsAndBass(4000);   // ortada davul/bas
+        mix.reverbVocal(6000);    // geniş stereo yankılı vokal
+        mix.drumsAndBass(4000);
+        mix.reverbVocal(6000);
+        AudioEnvelope envelope = mix.analyze();
+
+        int[][] vocals = {{4000, 10000}, {14000, 20000}};
+        for (int s = 0; s < envelope.getSectionCount(); s++) {
+            if (envelope.getSectionKind(s) != AudioEnvelope.SECTION_INSTRUMENTAL) {
+                continue;
+            }
+            for (int[] vocal : vocals) {
+                boolean overlaps = envelope.getSectionStartMs(s) < vocal[1] - TOLERANCE_MS
+                    && envelope.getSectionEndMs(s) > vocal[0] + TOLERANCE_MS;
+                assertFalse("Vokal enstrümantal sayıldı: " + envelope.getSectionStartMs(s) + "-" + envelope.getSectionEndMs(s),
+                    overlaps);
+            }
+        }
+    }
+
+    @Test
+    public void monoSourceOnlyReportsSilence() {
+        Mix mix = new Mix(1);
+        mix.silence(1000);
+        mix.vocal(4000);
+        mix.silence(4000);
+        mix.vocal(1000);
+        AudioEnvelope envelope = mix.analyze();
+
+        assertArrayEquals(new int[] {1000, 9000}, roundTo(envelope.getPhraseStartsMs(), 100));
+        assertEquals(1, envelope.getSectionCount());
+        assertEquals(AudioEnvelope.SECTION_SILENCE, envelope.getSectionKind(0));
+        assertEquals(5000, envelope.getSectionStartMs(0), TOLERANCE_MS);
+        assertEquals(9000, envelope.getSectionEndMs(0), TOLERANCE_MS);
+    }
+
+    @Test
+    public void pyramidServesAnyZoomAndSurvivesRoundTrip() throws IOException {
+        Mix mix = new Mix(2);
+        mix.silence(2000);
+        mix.vocal(8000);
+        AudioEnvelope envelope = mix.analyze();
+        assertTrue(envelope.getLevelCount() > 1);
+        assertEquals(500, envelope.getBucketCount(0));
+
+        String overview = envelope.peaksJson(0, envelope.durationMs, 10);
+        assertEquals(10, count(overview, "min"));
+        assertEquals(10, count(overview, "rms"));
+        // İlk 2 s sessiz, son 8 s yüksek
+        assertTrue(overview, overview.startsWith("{\"min\":[0,0,"));
+        String zoomed = envelope.peaksJson(2000, 2100, 50);
+        assertEquals(50, count(zoomed, "max"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        envelope.writeTo(bytes);
+        assertTrue("Dosya boyutu: " + bytes.size(), bytes.size() < 4 * 1024);
+        AudioEnvelope restored = AudioEnvelope.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(envelope.summaryJson(), restored.summaryJson());
+        assertEquals(overview, restored.peaksJson(0, restored.durationMs, 10));
+        assertEquals(zoomed, restored.peaksJson(2000, 2100, 50));
+    }
+
+    private static int count(String json, String key) {
+        int start = json.indexOf("\"" + key + "\":[") + key.length() + 4;
+        String values = json.substring(start, json.indexOf(']', start));
+        return values.isEmpty() ? 0 : values.split(",").length;
+    }
+
+    private static int[] roundTo(int[] values, int step) {
+        int[] rounded = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rounded[i] = Math.round((float) values[i] / step) * step;
+        }
+        return rounded;
+    }
+
+    /**
+     * Sentetik miks: vokal = ortada harmonikli ton + hafif geniş gürültü,
+     * enstrümantal = kanallar arası ilişkisiz geniş gürültü,
+     * davul/bas = ortada bas tonu + vuruşlar, yankılı vokal = ortada ton + kanallar arası ilişkisiz kuyruk
+     */
+    private static final class Mix {
+        private final int channels;
+        private final Random random = new Random(11L);
+        private short[] pcm = new short[SAMPLE_RATE * 4];
+        private int frames = 0;
+
+        Mix(int channels) {
+            this.channels = channels;
+        }
+
+        void vocal(int ms) {
+            append(ms, (t, channel) -> {
+                double voice = Math.sin(2 * Math.PI * 220 * t) + 0.5 * Math.sin(2 * Math.PI * 440 * t);
+                return voice * 6000 + random.nextGaussian() * 500;
+            });
+        }
+
+        void instrumental(int ms) {
+            append(ms, (t, channel) -> random.nextGaussian() * 3000);
+        }
+
+        void drumsAndBass(int ms) {
+            double[] hit = new double[1];
+            append(ms, (t, channel) -> {
+                double beat = t % 0.5;
+                if (channel == 0) {
+                    hit[0] = random.nextGaussian();
+                }
+                double kick = Math.sin(2 * Math.PI * 60 * beat) * Math.exp(-beat * 30);
+                double snare = beat > 0.25 ? hit[0] * Math.exp(-(beat - 0.25) * 40) : 0.0;
+                return Math.sin(2 * Math.PI * 55 * t) * 4000 + kick * 8000 + snare * 4000;
+            });
+        }
+
+        void reverbVocal(int ms) {
+            double[] tail = new double[2];
+            append(ms, (t, channel) -> {
+                double voice = Math.sin(2 * Math.PI * 220 * t) + 0.5 * Math.sin(2 * Math.PI * 440 * t);
+                // Kanal başına ayrı, yumuşatılmış gürültü - kuru sesten daha güçlü ilişkisiz yankı
+                tail[channel] = 0.9 * tail[channel] + 0.1 * random.nextGaussian();
+                return voice * 4000 + tail[channel] * REVERB_GAIN;
+            });
+        }
+
+        void silence(int ms) {
+            append(ms, (t, channel) -> 0.0);
+        }
+
+        AudioEnvelope analyze() {
+            AudioEnvelopeAnalyzer analyzer = new AudioEnvelopeAnalyzer(SAMPLE_RATE, channels, 0);
+            int block = 4096;
+            for (int offset = 0; offset < frames; offset += block) {
+                int count = Math.min(block, frames - offset);
+                short[] chunk = new short[count * channels];
+                System.arraycopy(pcm, offset * channels, chunk, 0, chunk.length);
+                analyzer.process(chunk, count);
+            }
+            return analyzer.finish();
+        }
+
+        private interface Sample {
+            double at(double t, int channel);
+        }
+
+        private void append(int ms, Sample sample) {
+            int count = SAMPLE_RATE * ms / 1000;
+            int needed = (frames + count) * channels;
+            if (needed > pcm.length) {
+                pcm = java.util.Arrays.copyOf(pcm, Math.max(needed, pcm.length * 2));
+            }
+            for (int f = 0; f < count; f++) {
+                double t = (double) (frames + f) / SAMPLE_RATE;
+                for (int c = 0; c < channels; c++) {
+                    pcm[(frames + f) * channels + c] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample.at(t, c)));
+                }
+            }
+            frames += count;
+        }
+    }
+}
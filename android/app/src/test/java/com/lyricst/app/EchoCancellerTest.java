@@ -0,0 +1,177 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * EchoCanceller için sentetik karışım testleri
+ * Referans: genlik modülasyonlu (müzik benzeri) gürültü
+ * Mikrofon: gecikmiş + kısa oda yanıtından geçmiş referans (+ isteğe bağlı kullanıcı sesi)
+ */
+public class EchoCancellerTest {
+
+    private static final int FRAME = EchoCanceller.FRAME_SIZE;
+    private static final int SAMPLE_RATE = EchoCanceller.SAMPLE_RATE;
+    private static final int ECHO_DELAY = 1200; // 75 ms hoparlör -> mikrofon gecikmesi
+    private static final double ECHO_GAIN = 0.5;
+
+    @Test
+    public void cancelsEchoWithoutNearEndSpeech() {
+        short[] ref = musicLikeSignal(8 * SAMPLE_RATE, 1L);
+        short[] echo = echoOf(ref, 2L);
+        short[] out = run(new EchoCanceller(), echo, ref);
+
+        int from = 6 * SAMPLE_RATE;
+        double erle = 10 * Math.log10(energy(echo, from, echo.length) / energy(out, from, out.length));
+        assertTrue("ERLE çok düşük: " + erle + " dB", erle > 15.0);
+    }
+
+    @Test
+    public void estimatesBulkDelay() {
+        short[] ref = musicLikeSignal(4 * SAMPLE_RATE, 3L);
+        short[] echo = echoOf(ref, 4L);
+        EchoCanceller canceller = new EchoCanceller();
+        run(canceller, echo, ref);
+
+        assertEquals(ECHO_DELAY, canceller.getEstimatedDelaySamples(), FRAME);
+    }
+
+    @Test
+    public void preservesNearEndDuringDoubleTalk() {
+        int total = 10 * SAMPLE_RATE;
+        int singingFrom = 6 * SAMPLE_RATE;
+        short[] ref = musicLikeSignal(total, 5L);
+        short[] echo = echoOf(ref, 6L);
+        short[] voice = voiceLikeSignal(total, singingFrom);
+
+        short[] mic = new short[total];
+        for (int i = 0; i < total; i++) {
+            mic[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, echo[i] + voice[i]));
+        }
+
+        EchoCanceller canceller = new EchoCanceller();
+        short[] out = run(canceller, mic, ref);
+
+        // Çıkıştan kullanıcının sesi çıkarıldığında geriye kalan = yankı kalıntısı + bozulma
+        short[] residual = new short[total];
+        for (int i = 0; i < total; i++) {
+            residual[i] = (short) (out[i] - voice[i]);
+        }
+        double echoSuppression = 10 * Math.log10(energy(echo, singingFrom, total) / energy(residual, singingFrom, total));
+        double voiceToResidual = 10 * Math.log10(energy(voice, singingFrom, total) / energy(residual, singingFrom, total));
+
+        assertTrue("Çift konuşmada filtre dağıldı: " + echoSuppression + " dB", echoSuppression > 10.0);
+        assertTrue("Kullanıcı sesi bozuldu: " + voiceToResidual + " dB", voiceToResidual > 10.0);
+    }
+
+    @Test
+    public void staysWithinFrameBudget() {
+        short[] ref = musicLikeSignal(10 * SAMPLE_RATE, 7L);
+        short[] echo = echoOf(ref, 8L);
+        EchoCanceller canceller = new EchoCanceller();
+
+        // JIT ısınması
+        run(canceller, echo, ref);
+
+        short[] out = new short[FRAME];
+        short[] micFrame = new short[FRAME];
+        short[] refFrame = new short[FRAME];
+        long total = 0;
+        int frames = 0;
+        for (int offset = 0; offset + FRAME <= echo.length; offset += FRAME) {
+            System.arraycopy(echo, offset, micFrame, 0, FRAME);
+            System.arraycopy(ref, offset, refFrame, 0, FRAME);
+            canceller.process(micFrame, refFrame, out);
+            total += canceller.getLastFrameNanos();
+            frames++;
+        }
+        long average = total / frames;
+
+        assertTrue("Frame başına ortalama süre bütçeyi aşıyor: " + average + " ns",
+            average < EchoCanceller.FRAME_BUDGET_NANOS);
+    }
+
+    private static short[] run(EchoCanceller canceller, short[] mic, short[] ref) {
+        short[] out = new short[mic.length];
+        short[] micFrame = new short[FRAME];
+        short[] refFrame = new short[FRAME];
+        short[] outFrame = new short[FRAME];
+        for (int offset = 0; offset + FRAME <= mic.length; offset += FRAME) {
+            System.arraycopy(mic, offset, micFrame, 0, FRAME);
+            System.arraycopy(ref, offset, refFrame, 0, FRAME);
+            canceller.process(micFrame, refFrame, outFrame);
+            System.arraycopy(outFrame, 0, out, offset, FRAME);
+        }
+        return out;
+    }
+
+    /**
+     * Alçak geçirilmiş gürültü, 50 ms'lik bloklarda rastgele genlik (müzik dinamiği gibi)
+     */
+    private static short[] musicLikeSignal(int length, long seed) {
+        Random random = new Random(seed);
+        short[] signal = new short[length];
+        double smoothed = 0.0;
+        double envelope = 0.5;
+        for (int i = 0; i < length; i++) {
+            if (i % (SAMPLE_RATE / 20) == 0) {
+                envelope = 0.2 + 0.8 * random.nextDouble();
+            }
+            smoothed = 0.7 * smoothed + 0.3 * random.nextGaussian();
+            signal[i] = (short) Math.max(-20000, Math.min(20000, smoothed * envelope * 8000));
+        }
+        return signal;
+    }
+
+    /**
+     * Gecikme + kısa, sönümlü oda yanıtı + kazanç
+     */
+    private static short[] echoOf(short[] ref, long seed) {
+        Random random = new Random(seed);
+        double[] impulse = new double[48];
+        for (int k = 0; k < impulse.length; k++) {
+            impulse[k] = (k == 0 ? 1.0 : random.nextGaussian() * 0.3) * Math.exp(-k / 10.0);
+        }
+
+        short[] echo = new short[ref.length];
+        for (int i = 0; i < ref.length; i++) {
+            double sum = 0.0;
+            for (int k = 0; k < impulse.length; k++) {
+                int index = i - ECHO_DELAY - k;
+                if (index >= 0) {
+                    sum += impulse[k] * ref[index];
+                }
+            }
+            echo[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum * ECHO_GAIN));
+        }
+        return echo;
+    }
+
+    /**
+     * Harmonikli, hece zarflı "şarkı söyleme" sinyali - from örneğinden itibaren
+     */
+    private static short[] voiceLikeSignal(int length, int from) {
+        short[] voice = new short[length];
+        for (int i = from; i < length; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            double syllable = 0.5 + 0.5 * Math.sin(2 * Math.PI * 3.0 * t);
+            double tone = Math.sin(2 * Math.PI * 220 * t)
+                + 0.5 * Math.sin(2 * Math.PI * 440 * t)
+                + 0.25 * Math.sin(2 * Math.PI * 660 * t);
+            voice[i] = (short) (tone * syllable * 6000);
+        }
+        return voice;
+    }
+
+    private static double energy(short[] signal, int from, int to) {
+        double sum = 1e-9;
+        for (int i = from; i < to; i++) {
+            sum += (double) signal[i] * signal[i];
+        }
+        return sum;
+    }
+}
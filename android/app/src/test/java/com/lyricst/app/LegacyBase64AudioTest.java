@@ -0,0 +1,75 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Eski base64 metin kayıtlarının tespiti ve binary'ye çevrilmesi testleri
+ */
+public class LegacyBase64AudioTest {
+
+    @Test
+    public void base64TextIsDecodedInPlace() throws IOException {
+        byte[] audio = fakeAudio(10_001);
+        File file = write(Base64.getMimeEncoder().encodeToString(audio).getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(LegacyBase64Audio.isBase64Text(file));
+        assertTrue(LegacyBase64Audio.migrateIfNeeded(file));
+        assertArrayEquals(audio, Files.readAllBytes(file.toPath()));
+        assertFalse(new File(file.getPath() + ".part").exists());
+    }
+
+    @Test
+    public void binaryAudioIsLeftUntouched() throws IOException {
+        byte[] audio = fakeAudio(8192);
+        File file = write(audio);
+
+        assertFalse(LegacyBase64Audio.isBase64Text(file));
+        assertFalse(LegacyBase64Audio.migrateIfNeeded(file));
+        assertArrayEquals(audio, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void migratedFileIsNotConvertedTwice() throws IOException {
+        byte[] audio = fakeAudio(3000);
+        File file = write(Base64.getEncoder().encodeToString(audio).getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(LegacyBase64Audio.migrateIfNeeded(file));
+        assertFalse(LegacyBase64Audio.migrateIfNeeded(file));
+        assertArrayEquals(audio, Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * ID3 başlığı + rastgele "sıkıştırılmış" veri
+     */
+    private static byte[] fakeAudio(int length) {
+        byte[] data = new byte[length];
+        new Random(7).nextBytes(data);
+        data[0] = 'I';
+        data[1] = 'D';
+        data[2] = '3';
+        data[3] = 0x03;
+        data[4] = 0x00;
+        return data;
+    }
+
+    private static File write(byte[] content) throws IOException {
+        File file = File.createTempFile("legacy", ".mp3");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        return file;
+    }
+}
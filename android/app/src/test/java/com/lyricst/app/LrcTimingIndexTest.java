@@ -0,0 +1,65 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * LRC ayrıştırma ve zaman indeksi testleri
+ */
+public class LrcTimingIndexTest {
+
+    @Test
+    public void lineTagsInterpolateWordsAcrossLine() {
+        LrcTimingIndex index = LrcTimingIndex.parse(
+            "[ti:Şarkı]\n[ar:Sanatçı]\n[00:10.00]bir iki üç dört\n[00:14.00]beş altı\n");
+
+        assertEquals("bir iki üç dört\nbeş altı", index.text);
+        assertArrayEquals(new int[] {10000, 14000}, index.lineStartMs);
+        assertArrayEquals(new int[] {0, 4}, index.lineFirstWord);
+        assertArrayEquals(new int[] {10000, 11000, 12000, 13000, 14000, 14400}, index.wordStartMs);
+    }
+
+    @Test
+    public void enhancedWordTagsAreUsedAndGapsInterpolated() {
+        LrcTimingIndex index = LrcTimingIndex.parse(
+            "[00:01.00]<00:01.00>merhaba <00:01.50>güzel dünya <00:03.50>bugün\n[00:05.00]");
+
+        assertEquals("merhaba güzel dünya bugün", index.text);
+        assertArrayEquals(new int[] {1000, 1500, 2500, 3500}, index.wordStartMs);
+    }
+
+    @Test
+    public void repeatedTagsAndOffsetProduceSortedIndex() {
+        LrcTimingIndex index = LrcTimingIndex.parse(
+            "[offset:+500]\n[00:20.00][00:05.00]nakarat\n[00:10.00]kıta\n");
+
+        assertEquals("nakarat\nkıta\nnakarat", index.text);
+        assertArrayEquals(new int[] {4500, 9500, 19500}, index.lineStartMs);
+    }
+
+    @Test
+    public void lookupIsFloorSearch() {
+        LrcTimingIndex index = LrcTimingIndex.parse("[00:10.00]bir iki üç dört\n[00:14.00]beş altı\n");
+
+        assertEquals(-1, index.wordAt(9999));
+        assertEquals(0, index.wordAt(10000));
+        assertEquals(2, index.wordAt(12999));
+        assertEquals(5, index.wordAt(60000));
+        assertEquals(-1, index.lineAt(0));
+        assertEquals(0, index.lineAt(13999));
+        assertEquals(1, index.lineAt(14000));
+    }
+
+    @Test
+    public void plainLyricsAreNotLrc() {
+        assertFalse(LrcTimingIndex.looksLikeLrc("sadece düz [nakarat] sözler"));
+        assertNull(LrcTimingIndex.parse("sadece düz sözler\n[ar:Sanatçı]"));
+        assertTrue(LrcTimingIndex.looksLikeLrc("[ar:Sanatçı]\n[01:02.3]söz"));
+        assertEquals(62300, LrcTimingIndex.parseTime("01:02.3", 0, 7));
+    }
+}
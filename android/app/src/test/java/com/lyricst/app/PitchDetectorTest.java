@@ -0,0 +1,122 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+/**
+ * PitchDetector doğruluk ve gerçek zaman testleri - sentetik tonlar (16 kHz)
+ */
+public class PitchDetectorTest {
+
+    private static final int FRAME = EchoCanceller.FRAME_SIZE;
+    private static final int SAMPLE_RATE = PitchDetector.SAMPLE_RATE;
+
+    @Test
+    public void tracksPureAndHarmonicTones() {
+        for (double frequency : new double[] {82.4, 110.0, 220.0, 440.0, 880.0}) {
+            assertEquals("Saf ton " + frequency, frequency, medianPitch(tone(frequency, 0, SAMPLE_RATE)), frequency * 0.01);
+            assertEquals("Harmonikli ton " + frequency, frequency, medianPitch(tone(frequency, 4, SAMPLE_RATE)), frequency * 0.01);
+        }
+    }
+
+    @Test
+    public void silenceAndNoiseAreUnvoiced() {
+        PitchDetector detector = new PitchDetector();
+        short[] frame = new short[FRAME];
+        Random random = new Random(7L);
+        int voiced = 0;
+        for (int n = 0; n < 100; n++) {
+            for (int i = 0; i < FRAME; i++) {
+                frame[i] = (short) (n < 50 ? 0 : random.nextGaussian() * 3000);
+            }
+            if (detector.process(frame, FRAME) > 0f) {
+                voiced++;
+            }
+        }
+        assertTrue("Gürültüde sesli frame: " + voiced, voiced < 5);
+    }
+
+    /**
+     * Benchmark: 60 s ses, orta seviye bir çekirdekte gerçek zamanın çok altında kalmalı
+     * Masaüstü JVM telefondan birkaç kat hızlı olduğu için sınır gerçek zamanın %5'i
+     * (ses thread'inin 10 ms'lik frame bütçesinde yankı giderici de çalışıyor)
+     */
+    @Test
+    public void sustainsRealTimeWithoutAllocation() {
+        short[] signal = tone(196.0, 4, 60 * SAMPLE_RATE);
+        PitchDetector detector = new PitchDetector();
+        short[] frame = new short[FRAME];
+
+        // JIT ısınması
+        runFrames(detector, signal, frame, 10 * SAMPLE_RATE);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        runFrames(detector, signal, frame, signal.length);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+
+        double realTimeFactor = elapsedSeconds / 60.0;
+        assertTrue("Gerçek zaman oranı çok yüksek: " + realTimeFactor, realTimeFactor < 0.05);
+        if (allocatedBefore >= 0) {
+            assertTrue("Frame yolunda bellek ayrıldı: " + allocated + " byte", allocated < 64 * 1024);
+        }
+    }
+
+    private static void runFrames(PitchDetector detector, short[] signal, short[] frame, int samples) {
+        for (int offset = 0; offset + FRAME <= samples; offset += FRAME) {
+            System.arraycopy(signal, offset, frame, 0, FRAME);
+            detector.process(frame, FRAME);
+        }
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static float medianPitch(short[] signal) {
+        PitchDetector detector = new PitchDetector();
+        short[] frame = new short[FRAME];
+        float[] pitches = new float[signal.length / FRAME];
+        int count = 0;
+        for (int offset = 0; offset + FRAME <= signal.length; offset += FRAME) {
+            System.arraycopy(signal, offset, frame, 0, FRAME);
+            float pitch = detector.process(frame, FRAME);
+            if (pitch > 0f) {
+                pitches[count++] = pitch;
+            }
+        }
+        assertTrue("Sesli frame yok", count > pitches.length / 2);
+        java.util.Arrays.sort(pitches, 0, count);
+        return pitches[count / 2];
+    }
+
+    /**
+     * Temel frekans + (harmonics) adet azalan genlikli harmonik (ses benzeri)
+     */
+    private static short[] tone(double frequency, int harmonics, int samples) {
+        short[] out = new short[samples];
+        for (int i = 0; i < samples; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            double value = Math.sin(2 * Math.PI * frequency * t);
+            for (int h = 2; h <= harmonics + 1; h++) {
+                value += Math.sin(2 * Math.PI * frequency * h * t) / h;
+            }
+            out[i] = (short) (value * 6000);
+        }
+        return out;
+    }
+}
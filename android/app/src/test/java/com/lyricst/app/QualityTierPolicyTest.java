@@ -0,0 +1,73 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * QualityTierPolicy histerezis testleri
+ */
+public class QualityTierPolicyTest {
+
+    private static final int NO_CEILING = QualityTierPolicy.TIER_HIGH;
+
+    @Test
+    public void singleBadWindowDoesNotDowngrade() {
+        QualityTierPolicy policy = new QualityTierPolicy(QualityTierPolicy.TIER_HIGH);
+
+        assertFalse(policy.onWindow(0.5, 10, 0, NO_CEILING));
+        assertFalse(policy.onWindow(0.0, 10, 0, NO_CEILING));
+        assertFalse(policy.onWindow(0.5, 10, 0, NO_CEILING));
+
+        assertEquals(QualityTierPolicy.TIER_HIGH, policy.getTier());
+    }
+
+    @Test
+    public void sustainedStressDowngradesOneTierAtATime() {
+        QualityTierPolicy policy = new QualityTierPolicy(QualityTierPolicy.TIER_HIGH);
+
+        policy.onWindow(0.0, 250, 0, NO_CEILING);
+        assertTrue(policy.onWindow(0.0, 250, 0, NO_CEILING));
+        assertEquals(QualityTierPolicy.TIER_MEDIUM, policy.getTier());
+
+        policy.onWindow(0.0, 0, 5, NO_CEILING);
+        assertTrue(policy.onWindow(0.0, 0, 5, NO_CEILING));
+        assertEquals(QualityTierPolicy.TIER_LOW, policy.getTier());
+
+        policy.onWindow(0.9, 0, 0, NO_CEILING);
+        assertFalse(policy.onWindow(0.9, 0, 0, NO_CEILING));
+        assertEquals(QualityTierPolicy.TIER_LOW, policy.getTier());
+    }
+
+    @Test
+    public void upgradeNeedsLongHealthyStreak() {
+        QualityTierPolicy policy = new QualityTierPolicy(QualityTierPolicy.TIER_LOW);
+
+        for (int i = 1; i < QualityTierPolicy.UPGRADE_WINDOWS; i++) {
+            assertFalse(policy.onWindow(0.0, 5, 0, NO_CEILING));
+        }
+        // Arada kalan bir pencere seriyi bozar
+        policy.onWindow(0.1, 50, 2, NO_CEILING);
+        for (int i = 1; i < QualityTierPolicy.UPGRADE_WINDOWS; i++) {
+            policy.onWindow(0.0, 5, 0, NO_CEILING);
+        }
+        assertEquals(QualityTierPolicy.TIER_LOW, policy.getTier());
+
+        assertTrue(policy.onWindow(0.0, 5, 0, NO_CEILING));
+        assertEquals(QualityTierPolicy.TIER_MEDIUM, policy.getTier());
+    }
+
+    @Test
+    public void thermalCeilingAppliesImmediately() {
+        QualityTierPolicy policy = new QualityTierPolicy(QualityTierPolicy.TIER_HIGH);
+
+        assertTrue(policy.onWindow(0.0, 5, 0, QualityTierPolicy.TIER_LOW));
+        assertEquals(QualityTierPolicy.TIER_LOW, policy.getTier());
+
+        // Tavan kalktığında bile yükseltme normal histerezisle olur
+        assertFalse(policy.onWindow(0.0, 5, 0, NO_CEILING));
+        assertEquals(QualityTierPolicy.TIER_LOW, policy.getTier());
+    }
+}
@@ -0,0 +1,68 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * SingingScorer kelime segmentasyonu ve kararlılık skorları
+ */
+public class SingingScorerTest {
+
+    @Test
+    public void steadyNoteScoresHigherThanWobblyNote() {
+        SingingScorer scorer = new SingingScorer();
+        scorer.start(2);
+
+        // Kelime 0: sabit 220 Hz, 300 ms; ardından 100 ms sessizlik
+        feed(scorer, 30, i -> 220f);
+        feed(scorer, 10, i -> 0f);
+        scorer.markWord(0, -1, -1);
+
+        // Kelime 1: her frame yarım ton zıplayan ses
+        feed(scorer, 30, i -> i % 2 == 0 ? 220f : 233f);
+        scorer.markWord(1, -1, -1);
+        scorer.finish();
+
+        assertTrue("Sabit nota: " + scorer.getPitchScore(0), scorer.getPitchScore(0) > 0.9f);
+        assertTrue("Titrek nota: " + scorer.getPitchScore(1), scorer.getPitchScore(1) < 0.2f);
+    }
+
+    @Test
+    public void timingUsesVoicedOnsetNotRecognitionTime() {
+        SingingScorer scorer = new SingingScorer();
+        scorer.start(1);
+
+        // 500 ms sessizlik, kelime 500. ms'de başlıyor; tanıma sonucu 400 ms sonra geliyor
+        feed(scorer, 50, i -> 0f);
+        feed(scorer, 40, i -> 300f);
+        double playbackMs = 90 * SingingScorer.FRAME_MS;
+        scorer.markWord(0, 500, playbackMs);
+
+        assertEquals(1f, scorer.getTimingScore(0), 0.01f);
+    }
+
+    @Test
+    public void unmarkedWordsStayUnknown() {
+        SingingScorer scorer = new SingingScorer();
+        scorer.start(3);
+        feed(scorer, 20, i -> 0f);
+        scorer.markWord(1, -1, -1);
+        String json = scorer.finish();
+
+        assertEquals(-1f, scorer.getPitchScore(0), 0f);
+        assertEquals(-1f, scorer.getPitchScore(1), 0f);
+        assertTrue(json, json.startsWith("{\"pitch\":-1,\"timing\":-1,\"words\":{\"pitch\":[-1,-1,-1]"));
+    }
+
+    private interface PitchAt {
+        float at(int frame);
+    }
+
+    private static void feed(SingingScorer scorer, int frames, PitchAt pitch) {
+        for (int i = 0; i < frames; i++) {
+            scorer.onPitch(pitch.at(i));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.lyricst.app;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * VocalReducer için sinüs taraması testleri
+ * Merkez (L = R) ton vokal bandında iptal edilmeli, bant dışında yükseltilmemeli;
+ * yan (L = -R) içerik her frekansta korunmalı
+ */
+public class VocalReducerTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int BLOCK_FRAMES = 4096;
+    private static final double AMPLITUDE = 8000.0;
+
+    private static final double[] IN_BAND_HZ = {300, 500, 1000, 2000, 3000, 4000};
+    private static final double[] OUT_OF_BAND_HZ = {40, 60, 100, 150, 200, 5500, 8000, 10000, 14000};
+
+    @Test
+    public void cancelsCentreToneInVocalBand() {
+        for (double frequency : IN_BAND_HZ) {
+            double gain = gainDb(frequency, 1.0);
+            assertTrue("Merkez iptali yetersiz @" + frequency + " Hz: " + gain + " dB", gain < -20.0);
+        }
+    }
+
+    @Test
+    public void neverBoostsCentreTone() {
+        for (double frequency : OUT_OF_BAND_HZ) {
+            double gain = gainDb(frequency, 1.0);
+            assertTrue("Bant dışı merkez yükseltildi @" + frequency + " Hz: " + gain + " dB", gain < 0.1);
+        }
+        for (double frequency : IN_BAND_HZ) {
+            assertTrue(gainDb(frequency, 1.0) < 0.1);
+        }
+    }
+
+    @Test
+    public void preservesSideContent() {
+        for (double frequency : IN_BAND_HZ) {
+            double gain = gainDb(frequency, -1.0);
+            assertTrue("Yan içerik bozuldu @" + frequency + " Hz: " + gain + " dB", Math.abs(gain) < 0.1);
+        }
+        for (double frequency : OUT_OF_BAND_HZ) {
+            double gain = gainDb(frequency, -1.0);
+            assertTrue("Yan içerik bozuldu @" + frequency + " Hz: " + gain + " dB", Math.abs(gain) < 0.1);
+        }
+    }
+
+    /**
+     * Sol kanalın giriş/çıkış enerji oranı (dB)
+     * İlk yarım saniye filtrelerin oturması için atlanır
+     *
+     * @param rightSign +1 merkez (L = R), -1 yan (L = -R)
+     */
+    private static double gainDb(double frequency, double rightSign) {
+        int frames = SAMPLE_RATE * 2;
+        short[] pcm = new short[frames * 2];
+        for (int f = 0; f < frames; f++) {
+            double value = AMPLITUDE * Math.sin(2.0 * Math.PI * frequency * f / SAMPLE_RATE);
+            pcm[f * 2] = (short) Math.round(value);
+            pcm[f * 2 + 1] = (short) Math.round(value * rightSign);
+        }
+        short[] input = pcm.clone();
+
+        VocalReducer reducer = new VocalReducer(SAMPLE_RATE, 2, 1.0);
+        short[] block = new short[BLOCK_FRAMES * 2];
+        for (int start = 0; start < frames; start += BLOCK_FRAMES) {
+            int count = Math.min(BLOCK_FRAMES, frames - start);
+            System.arraycopy(pcm, start * 2, block, 0, count * 2);
+            reducer.process(block, count);
+            System.arraycopy(block, 0, pcm, start * 2, count * 2);
+        }
+
+        int from = SAMPLE_RATE / 2;
+        return 10 * Math.log10(leftEnergy(pcm, from, frames) / leftEnergy(input, from, frames));
+    }
+
+    private static double leftEnergy(short[] pcm, int fromFrame, int toFrame) {
+        double sum = 0.0;
+        for (int f = fromFrame; f < toFrame; f++) {
+            double value = pcm[f * 2];
+            sum += value * value;
+        }
+        return sum;
+    }
+}
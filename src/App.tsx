@@ -119,6 +119,7 @@ function App() {
                 songTitle={selectedSong.title}
                 artist={selectedSong.artist}
                 audioFilePath={selectedSong.audio_file_path || null}
+                lyricsTiming={selectedSong.lyrics_timing || null}
               />
             </motion.div>
           ) : null}
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { motion } from 'framer-motion';
 import { Volume2, VolumeX, Play, Pause, Music } from 'lucide-react';
 import { audioControlService } from '../../services/AudioControlService';
+import { WaveformSeekBar } from './WaveformSeekBar';
 import toast from 'react-hot-toast';
 
 interface Props {
@@ -106,6 +107,9 @@ export const AudioControlPanel: React.FC<Props> = ({ songFilePath }) => {
           </motion.button>
         </div>
 
+        {/* Dalga Formu - dokunulan yere (en yakın cümle başına) sar */}
+        <WaveformSeekBar songFilePath={songFilePath} />
+
         {/* Ses Seviyesi Slider */}
         <div>
           <div className="flex items-center gap-3 sm:gap-4 mb-3">
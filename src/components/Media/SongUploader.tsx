@@ -3,6 +3,7 @@ import { motion, AnimatePresence } from 'framer-motion';
 import { Upload, Music, FileAudio, X, CheckCircle } from 'lucide-react';
 import { mediaService, MusicFile } from '../../services/MediaService';
 import { dbAdapter } from '../../database/DatabaseAdapter';
+import { lyricsImportService } from '../../services/LyricsImportService';
 import toast from 'react-hot-toast';
 
 interface Props {
@@ -58,14 +59,18 @@ export const SongUploader: React.FC<Props> = ({ onSongUploaded, onClose }) => {
       // Veritabanını başlat
       await dbAdapter.initialize();
 
+      // LRC ise zaman etiketleri ayrılır
+      const imported = lyricsImportService.importLyrics(songDetails.lyrics);
+
       // Şarkıyı veritabanına ekle
       const songId = await dbAdapter.addSong(
         songDetails.title,
         songDetails.artist,
-        songDetails.lyrics,
+        imported.lyrics,
         musicFile?.uri || null,
         musicFile?.name || null,
-        musicFile?.duration || 0
+        musicFile?.duration || 0,
+        imported.timing
       );
 
       toast.success('Şarkı başarıyla eklendi!');
@@ -181,7 +186,7 @@ export const SongUploader: React.FC<Props> = ({ onSongUploaded, onClose }) => {
             value={songDetails.lyrics}
             onChange={(e) => setSongDetails({ ...songDetails, lyrics: e.target.value })}
             className="w-full px-4 py-3 bg-white/5 border border-white/10 rounded-xl text-white focus:outline-none focus:border-purple-500 focus:ring-4 focus:ring-purple-500/20 transition-all resize-none h-32 sm:h-40"
-            placeholder="Şarkı sözlerini buraya yapıştırın..."
+            placeholder="Şarkı sözlerini buraya yapıştırın... (LRC de olur)"
           />
         </div>
 
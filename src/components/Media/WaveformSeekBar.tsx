@@ -0,0 +1,143 @@
+import React, { useState, useEffect, useMemo, useCallback } from 'react';
+import { ZoomIn, ZoomOut } from 'lucide-react';
+import { audioControlService } from '../../services/AudioControlService';
+import { waveformService, snapToPhrase, type AudioStructure } from '../../services/WaveformService';
+
+interface Props {
+  songFilePath: string | null;
+}
+
+// Sabit sütun sayısı - piramitten her yakınlaştırmada bu kadar değer okunur
+const WAVEFORM_COLUMNS = 120;
+const ZOOM_LEVELS = [1, 2, 4, 8, 16];
+const PLAYHEAD_TICK_MS = 250;
+// Sarma hedefi bu mesafedeki cümle başlangıcına yapıştırılır
+const SNAP_WINDOW_MS = 1500;
+
+/**
+ * Önceden hesaplanmış zarf piramidinden çizilen dalga formu + cümle başlangıcına yapışan sarma
+ * Analiz yoksa (web, henüz hazır değil) hiçbir şey çizilmez.
+ */
+export const WaveformSeekBar: React.FC<Props> = ({ songFilePath }) => {
+  const [structure, setStructure] = useState<AudioStructure | null>(null);
+  const [zoomIndex, setZoomIndex] = useState(0);
+  const [positionMs, setPositionMs] = useState(0);
+
+  // Yapı bilgisi: önbellekte yoksa analiz sonucunu bekle
+  useEffect(() => {
+    setStructure(null);
+    if (!songFilePath || !waveformService.isAvailable()) return;
+
+    let cancelled = false;
+    const cached = waveformService.getStructure(songFilePath);
+    if (cached) {
+      setStructure(cached);
+    } else {
+      waveformService.analyze(songFilePath)
+        .then(result => { if (!cancelled) setStructure(result); })
+        .catch(() => { /* Analiz edilemeyen şarkıda dalga formu gösterilmez */ });
+    }
+    return () => { cancelled = true; };
+  }, [songFilePath]);
+
+  useEffect(() => {
+    if (!structure) return;
+    const intervalId = window.setInterval(() => {
+      setPositionMs(audioControlService.getCurrentTime() * 1000);
+    }, PLAYHEAD_TICK_MS);
+    return () => window.clearInterval(intervalId);
+  }, [structure]);
+
+  // Görünen aralık: 1x tüm şarkı, yakınlaştırınca oynatma konumu etrafında.
+  // Başlangıç aralığın çeyreğine yuvarlanır - tepe değerleri her tick'te değil kaydıkça yeniden okunur
+  const durationMs = structure?.durationMs ?? 0;
+  const spanMs = durationMs / ZOOM_LEVELS[zoomIndex];
+  const viewStartMs = useMemo(() => {
+    if (zoomIndex === 0 || spanMs <= 0) return 0;
+    const step = spanMs / 4;
+    const centered = Math.round((positionMs - spanMs / 2) / step) * step;
+    return Math.max(0, Math.min(durationMs - spanMs, centered));
+  }, [zoomIndex, spanMs, positionMs, durationMs]);
+
+  const peaks = useMemo(
+    () => (structure && songFilePath
+      ? waveformService.getPeaks(songFilePath, viewStartMs, viewStartMs + spanMs, WAVEFORM_COLUMNS)
+      : null),
+    [structure, songFilePath, viewStartMs, spanMs]
+  );
+
+  const handleSeek = useCallback((event: React.MouseEvent<SVGSVGElement>) => {
+    if (!structure) return;
+    const rect = event.currentTarget.getBoundingClientRect();
+    const fraction = Math.min(1, Math.max(0, (event.clientX - rect.left) / rect.width));
+    const targetMs = snapToPhrase(structure, viewStartMs + fraction * spanMs, SNAP_WINDOW_MS);
+    audioControlService.seekTo(targetMs / 1000);
+    setPositionMs(targetMs);
+  }, [structure, viewStartMs, spanMs]);
+
+  if (!structure || !peaks || spanMs <= 0) {
+    return null;
+  }
+
+  const toX = (ms: number): number => ((ms - viewStartMs) / spanMs) * WAVEFORM_COLUMNS;
+
+  return (
+    <div>
+      <svg
+        className="w-full h-12 sm:h-16 bg-gray-900/50 rounded-lg cursor-pointer"
+        viewBox={`0 0 ${WAVEFORM_COLUMNS} 100`}
+        preserveAspectRatio="none"
+        onClick={handleSeek}
+      >
+        {/* Enstrümantal / sessiz bölümler */}
+        {structure.sections.map(section => (
+          <rect
+            key={section.startMs}
+            x={toX(section.startMs)}
+            width={Math.max(0, toX(section.endMs) - toX(section.startMs))}
+            y={0}
+            height={100}
+            fill={section.kind === 'instrumental' ? 'rgba(59, 130, 246, 0.15)' : 'rgba(255, 255, 255, 0.05)'}
+          />
+        ))}
+        {peaks.max.map((max: number, i: number) => (
+          <rect
+            key={i}
+            x={i + 0.15}
+            width={0.7}
+            y={50 - max * 50}
+            height={Math.max(0.5, (max - peaks.min[i]) * 50)}
+            fill={viewStartMs + ((i + 0.5) / WAVEFORM_COLUMNS) * spanMs <= positionMs ? '#ec4899' : '#a855f7'}
+            opacity={0.4 + peaks.rms[i] * 0.6}
+          />
+        ))}
+        <line
+          x1={toX(positionMs)}
+          x2={toX(positionMs)}
+          y1={0}
+          y2={100}
+          stroke="#ffffff"
+          strokeWidth={1.5}
+          vectorEffect="non-scaling-stroke"
+        />
+      </svg>
+      <div className="flex items-center justify-end gap-2 mt-2">
+        <button
+          onClick={() => setZoomIndex(index => Math.max(0, index - 1))}
+          disabled={zoomIndex === 0}
+          className="p-1 rounded-md hover:bg-white/10 disabled:opacity-40"
+        >
+          <ZoomOut className="w-4 h-4 text-gray-400" />
+        </button>
+        <span className="text-xs text-gray-400 w-8 text-center">{ZOOM_LEVELS[zoomIndex]}x</span>
+        <button
+          onClick={() => setZoomIndex(index => Math.min(ZOOM_LEVELS.length - 1, index + 1))}
+          disabled={zoomIndex === ZOOM_LEVELS.length - 1}
+          className="p-1 rounded-md hover:bg-white/10 disabled:opacity-40"
+        >
+          <ZoomIn className="w-4 h-4 text-gray-400" />
+        </button>
+      </div>
+    </div>
+  );
+};
@@ -0,0 +1,57 @@
+import React, { useState, useEffect } from 'react';
+import { Zap } from 'lucide-react';
+import { pitchTrackingService } from '../../services/PitchTrackingService';
+
+interface Props {
+  reducedEffects: boolean;
+}
+
+// Perde konturu: 20 ms'lik noktalar, son ~4 saniye gösterilir
+const PITCH_CONTOUR_POINTS = 200;
+const PITCH_DISPLAY_MIN = 40; // MIDI E2
+const PITCH_DISPLAY_MAX = 84; // MIDI C6
+
+/**
+ * Perde konturu - native taraftan sabit hızda (10 Hz) gelen noktaları çizer
+ * Abonelik ve kontur state'i bu bileşende tutulur; her gönderimde sadece bu küçük bileşen
+ * yeniden çizilir, oynatıcının tamamı değil. Son PITCH_CONTOUR_POINTS nokta tutulur.
+ */
+const PitchContourView: React.FC<Props> = ({ reducedEffects }) => {
+  const [contour, setContour] = useState<number[]>([]);
+
+  useEffect(() => {
+    return pitchTrackingService.subscribe((points: number[]) => {
+      setContour(previous => previous.concat(points).slice(-PITCH_CONTOUR_POINTS));
+    });
+  }, []);
+
+  return (
+    <div className={`bg-white/5 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-white/10`}>
+      <div className="flex items-center gap-2 sm:gap-3 mb-3 sm:mb-4">
+        <Zap className="w-4 h-4 sm:w-5 sm:h-5 text-gray-400" />
+        <span className="text-xs sm:text-sm font-semibold text-white">PERDE</span>
+      </div>
+      <svg
+        className="w-full h-16 sm:h-20 bg-gray-800/50 rounded-lg"
+        viewBox={`0 0 ${PITCH_CONTOUR_POINTS} 100`}
+        preserveAspectRatio="none"
+      >
+        <path
+          d={contour.reduce((path: string, midi: number, i: number) => {
+            if (midi <= 0) return path; // Sessiz - çizgi kesilir
+            const x = PITCH_CONTOUR_POINTS - contour.length + i;
+            const y = 100 - ((Math.min(PITCH_DISPLAY_MAX, Math.max(PITCH_DISPLAY_MIN, midi)) - PITCH_DISPLAY_MIN) / (PITCH_DISPLAY_MAX - PITCH_DISPLAY_MIN)) * 100;
+            const connected = i > 0 && contour[i - 1] > 0;
+            return `${path}${connected ? 'L' : 'M'}${x} ${y.toFixed(1)}`;
+          }, '')}
+          fill="none"
+          stroke="#f472b6"
+          strokeWidth={2}
+          vectorEffect="non-scaling-stroke"
+        />
+      </svg>
+    </div>
+  );
+};
+
+export const PitchContour = React.memo(PitchContourView);
@@ -11,12 +11,17 @@ import nativeSpeechRecognitionService from '../../services/NativeSpeechRecogniti
 import { dummyRecorderService } from '../../services/DummyRecorderService';
 import { audioContextService } from '../../services/AudioContextService';
 import { LyricsMatcher } from '../../engine/LyricsMatcher';
-import { isAndroid, isMobileBrowser } from '../../utils/platform';
+import { LyricsTimingIndex } from '../../engine/LyricsTimingIndex';
+import { isAndroid } from '../../utils/platform';
+import { performanceGovernor, type QualityProfile } from '../../services/PerformanceGovernorService';
 import { dbAdapter } from '../../database/DatabaseAdapter';
 import { VirtualLyricsDisplay } from './VirtualLyricsDisplay';
 import { lyricsCache } from '../../cache/LyricsCache';
 import { audioControlService } from '../../services/AudioControlService';
+import { pitchTrackingService } from '../../services/PitchTrackingService';
+import { waveformService, sectionAt, type AudioSection, type AudioStructure } from '../../services/WaveformService';
 import { AudioControlPanel } from '../Media/AudioControlPanel';
+import { PitchContour } from './PitchContour';
 import toast from 'react-hot-toast';
 
 interface Props {
@@ -25,13 +30,24 @@ interface Props {
   songTitle: string;
   artist: string;
   audioFilePath?: string | null;
+  lyricsTiming?: string | null; // LRC'den üretilen zaman indeksi (JSON)
 }
 
+// Zaman damgalı sözlerde oynatma konumu -> kelime kontrol aralığı
+const TIMING_TICK_MS = 100;
+// Enstrümantal aralıklarda native tanıma duraklatılır (aralık en az GAP_MIN_PAUSE_MS sürecekse)
+const GAP_TICK_MS = 250;
+const GAP_MIN_PAUSE_MS = 2000;
+const GAP_RESUME_LEAD_MS = 800; // Tanıyıcının açılması için vokal dönmeden önce sürdür
+
+// Dummy recorder ile mikrofonu canlı tutma - sadece native dinleme servisi olmayan Android'de
+const needsKeepAlive = (): boolean => isAndroid() && !nativeSpeechRecognitionService.usesListeningService();
+
 /**
  * Premium karaoke oynatıcı bileşeni
  * Gerçek zamanlı kelime tanıma ve eşleştirme yapar
  */
-export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitle, artist, audioFilePath }) => {
+export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitle, artist, audioFilePath, lyricsTiming }) => {
   const [isListening, setIsListening] = useState<boolean>(false);
   const [currentWordIndex, setCurrentWordIndex] = useState<number>(0);
   const [accuracy, setAccuracy] = useState<number>(0);
@@ -57,8 +73,11 @@ export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitl
   const startTimeRef = useRef<number>(0);
   const [useVirtualDisplay, setUseVirtualDisplay] = useState<boolean>(false);
   
-  // Mobil tespiti - performans optimizasyonu için
-  const isMobile = isMobileBrowser();
+  // Kalite profili - performans yöneticisi cihaz bütçesine göre seans içinde değiştirir
+  // (eskiden isMobileBrowser() ile sabitti). Callback'ler güncel değeri ref'ten okur.
+  const [quality, setQuality] = useState<QualityProfile>(performanceGovernor.getProfile());
+  const qualityRef = useRef<QualityProfile>(quality);
+  const reducedEffects = !quality.richAnimations;
   
   // Mikrofon analizi için refs
   const analyserRef = useRef<AnalyserNode | null>(null);
@@ -66,6 +85,17 @@ export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitl
   const animationFrameRef = useRef<number | null>(null);
   const lastWaveUpdateRef = useRef<number>(0); // Wave data throttling için
   
+  // Kalite seviyesi değişimlerini dinle - matcher lookahead'i de buna göre ayarlanır
+  useEffect(() => {
+    const applyProfile = (profile: QualityProfile) => {
+      qualityRef.current = profile;
+      matcherRef.current.setLookaheadRanges(profile.matcherLookahead, profile.fastSpeechLookahead);
+      setQuality(profile);
+    };
+    applyProfile(performanceGovernor.getProfile());
+    return performanceGovernor.subscribe(applyProfile);
+  }, []);
+
   // Matcher'a pozisyon değişikliği callback'i ayarla
   useEffect(() => {
     matcherRef.current.setOnPositionChange((newPosition: number) => {
@@ -147,10 +177,13 @@ export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitl
 
     // Console.log override - HER ZAMAN AKTİF (karaoke açık/kapalı fark etmez - TÜM LOGLARI YAKALA)
     console.log = (...args: any[]) => {
-      originalLog.apply(console, args);
       const logMessage = formatLogMessage(args);
       // HER ZAMAN log ekle - isListening kontrolü yok
       addDebugLog(`[LOG] ${logMessage}`);
+      // Console çıktısı kalite seviyesine göre etiket başına kısılır (error/warn hariç), tampon eksiksiz kalır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalLog.apply(console, args);
+      }
     };
 
     // Console.error override - HER ZAMAN AKTİF
@@ -171,18 +204,24 @@ export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitl
 
     // Console.info override - HER ZAMAN AKTİF
     console.info = (...args: any[]) => {
-      originalInfo.apply(console, args);
       const logMessage = formatLogMessage(args);
       // HER ZAMAN log ekle - isListening kontrolü yok
       addDebugLog(`[INFO] ${logMessage}`);
+      // Console çıktısı etiket başına kısılır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalInfo.apply(console, args);
+      }
     };
 
     // Console.debug override - HER ZAMAN AKTİF
     console.debug = (...args: any[]) => {
-      originalDebug.apply(console, args);
       const logMessage = formatLogMessage(args);
       // HER ZAMAN log ekle - isListening kontrolü yok
       addDebugLog(`[DEBUG] ${logMessage}`);
+      // Console çıktısı etiket başına kısılır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalDebug.apply(console, args);
+      }
     };
 
     // İlk log - console override aktif
@@ -201,6 +240,23 @@ export const PremiumKaraokePlayer: React.FC<Props> = ({ lyrics, songId, songTitl
     return lyrics.split(/\s+/).filter((w: string) => w.trim());
   }, [lyrics]);
 
+  // Zaman damgalı sözler (LRC) - satır sınırları ve oynatma konumu -> kelime araması
+  const timingIndex = useMemo(
+    () => LyricsTimingIndex.fromJson(lyricsTiming, words.length),
+    [lyricsTiming, words.length]
+  );
+  const lineStarts = useMemo(() => timingIndex?.getLineStarts(), [timingIndex]);
+  const lineStartSet = useMemo(() => new Set(lineStarts ?? []), [lineStarts]);
+  const timingIndexRef = useRef<LyricsTimingIndex | null>(timingIndex);
+  timingIndexRef.current = timingIndex;
+
+  // Native perde konturu (sadece yankı giderici yakalama olan Android cihazlarda)
+  // Dinleme başlarken yeniden kontrol edilir (native dinleme servisi bağlanmadan önce false döner)
+  const [pitchAvailable, setPitchAvailable] = useState(false);
+
+  // Şarkı yapısı (native dalga formu analizi) - enstrümantal aralıklar
+  const [audioStructure, setAudioStructure] = useState<AudioStructure | null>(null);
+
   // Debug loglarını kopyala
   const copyDebugLogs = useCallback(async () => {
     try {
@@ -328,12 +384,15 @@ ${logs || '(Henüz log yok)'}
 
     // Console.log override - HER ZAMAN AKTİF (karaoke başlamadan önce de logla)
     console.log = (...args: any[]) => {
-      originalLog.apply(console, args);
       const logMessage = formatLogMessage(args);
       // KRİTİK: Native Speech Recognition loglarını HER ZAMAN ekle (karaoke başlamadan önce de)
       if (logMessage.includes('[NATIVE SPEECH]') || logMessage.includes('[PLAYER]') || logMessage.includes('[SPEECH]') || logMessage.includes('[MATCHER]') || isListening) {
         addDebugLog(`[LOG] ${logMessage}`);
       }
+      // Console çıktısı kalite seviyesine göre etiket başına kısılır (error/warn hariç), tampon eksiksiz kalır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalLog.apply(console, args);
+      }
     };
 
     // Console.error override - HER ZAMAN AKTİF (karaoke başlamadan önce de logla)
@@ -358,20 +417,26 @@ ${logs || '(Henüz log yok)'}
 
     // Console.info override - HER ZAMAN AKTİF
     console.info = (...args: any[]) => {
-      originalInfo.apply(console, args);
+      const logMessage = formatLogMessage(args);
       if (isListening) {
-        const logMessage = formatLogMessage(args);
         addDebugLog(`[INFO] ${logMessage}`);
       }
+      // Console çıktısı etiket başına kısılır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalInfo.apply(console, args);
+      }
     };
 
     // Console.debug override - HER ZAMAN AKTİF
     console.debug = (...args: any[]) => {
-      originalDebug.apply(console, args);
+      const logMessage = formatLogMessage(args);
       if (isListening) {
-        const logMessage = formatLogMessage(args);
         addDebugLog(`[DEBUG] ${logMessage}`);
       }
+      // Console çıktısı etiket başına kısılır
+      if (performanceGovernor.shouldLog(logMessage)) {
+        originalDebug.apply(console, args);
+      }
     };
 
     // Karaoke kapalıyken logları temizle
@@ -435,8 +500,8 @@ ${logs || '(Henüz log yok)'}
         }
 
         const now = Date.now();
-        // Mobilde daha az sıklıkla güncelle (60fps -> 30fps)
-        const updateInterval = isMobile ? 33 : 16; // Mobil: 30fps, PC: 60fps
+        // Güncelleme aralığı kalite seviyesine göre (high: 60fps, medium: 30fps, low: 15fps)
+        const updateInterval = qualityRef.current.waveUpdateIntervalMs;
         
         if (now - lastWaveUpdateRef.current < updateInterval) {
           animationFrameRef.current = requestAnimationFrame(analyze);
@@ -448,8 +513,8 @@ ${logs || '(Henüz log yok)'}
         // Frekans verilerini al
         analyserRef.current.getByteFrequencyData(dataArray);
 
-        // Mobilde daha az bar kullan (performans için)
-        const bars = isMobile ? 30 : 50;
+        // Düşük seviyede daha az bar kullan (performans için)
+        const bars = qualityRef.current.waveBars;
         const step = Math.floor(bufferLength / bars);
         const newWaveData: number[] = [];
 
@@ -462,8 +527,8 @@ ${logs || '(Henüz log yok)'}
           newWaveData.push(Math.max(normalizedValue, 5));
         }
 
-        // Mobilde eksik bar'ları doldur (görsel tutarlılık için)
-        if (isMobile && newWaveData.length < 50) {
+        // Eksik bar'ları doldur (görsel tutarlılık için)
+        if (newWaveData.length < 50) {
           while (newWaveData.length < 50) {
             newWaveData.push(5);
           }
@@ -529,6 +594,15 @@ ${logs || '(Henüz log yok)'}
     requestAnimationFrame(animateScroll);
   }, []);
 
+  // Süre 0 ise animasyonsuz kaydır (düşük kalite seviyesi)
+  const scrollContainerTo = useCallback((element: HTMLElement, target: number, duration: number) => {
+    if (duration > 0) {
+      smoothScrollTo(element, target, duration);
+    } else {
+      element.scrollTop = target;
+    }
+  }, [smoothScrollTo]);
+
   // Scroll fonksiyonunu ayrı tanımla (re-render'ları önlemek için) - SMOOTH VE YUMUŞAK
   const scrollToCurrentWord = useCallback(() => {
     if (!lyricsRef.current) return;
@@ -556,42 +630,28 @@ ${logs || '(Henüz log yok)'}
         // Ortalama scroll pozisyonu hesapla (biraz yukarıda - daha iyi görünüm)
         const targetScrollTop = elementOffsetTop - (containerHeight / 2) + (elementHeight / 2) - 30;
         
-        // SMOOTH SCROLL - Hem mobilde hem PC'de smooth (custom animasyon ile)
-        if (isMobile) {
-          // Mobilde daha kısa süre (performans için) ama yine de smooth
-          smoothScrollTo(container, targetScrollTop, 400);
-        } else {
-          // PC'de daha uzun süre - çok yumuşak
-          smoothScrollTo(container, targetScrollTop, 700);
-        }
+        // SMOOTH SCROLL - süre kalite seviyesine göre (düşük seviyede animasyonsuz)
+        scrollContainerTo(container, targetScrollTop, quality.scrollDurationMs);
       } else {
         // Görünür alandaysa, sadece hafif ayarlama yap (mikro-optimizasyon) - SMOOTH
         const margin = 60; // 60px margin
         if (elementRect.top < containerRect.top + margin) {
           const targetScroll = container.scrollTop + (elementRect.top - containerRect.top - margin);
-          if (isMobile) {
-            smoothScrollTo(container, targetScroll, 300);
-          } else {
-            smoothScrollTo(container, targetScroll, 500);
-          }
+          scrollContainerTo(container, targetScroll, Math.round(quality.scrollDurationMs * 0.7));
         } else if (elementRect.bottom > containerRect.bottom - margin) {
           const targetScroll = container.scrollTop + (elementRect.bottom - containerRect.bottom + margin);
-          if (isMobile) {
-            smoothScrollTo(container, targetScroll, 300);
-          } else {
-            smoothScrollTo(container, targetScroll, 500);
-          }
+          scrollContainerTo(container, targetScroll, Math.round(quality.scrollDurationMs * 0.7));
         }
       }
     }
-  }, [currentWordIndex, isMobile, smoothScrollTo]);
+  }, [currentWordIndex, quality.scrollDurationMs, scrollContainerTo]);
 
   // Kelime Takibi ve Otomatik Scroll - SMOOTH VE YUMUŞAK - MOBİL İÇİN OPTİMİZE
   useEffect(() => {
     if (lyricsRef.current && currentWordIndex >= 0) {
       // Scroll işlemini requestAnimationFrame ile optimize et - SMOOTH SCROLL
       // Mobilde biraz throttle (performans için) ama yine de smooth
-      const delay = isMobile ? 50 : 0; // Mobilde 50ms, PC'de anında
+      const delay = reducedEffects ? 50 : 0; // Azaltılmış efektlerde 50ms, aksi halde anında
       
       const scrollTimeout = setTimeout(() => {
         requestAnimationFrame(() => {
@@ -601,7 +661,7 @@ ${logs || '(Henüz log yok)'}
       
       return () => clearTimeout(scrollTimeout);
     }
-  }, [currentWordIndex, isMobile, scrollToCurrentWord]);
+  }, [currentWordIndex, reducedEffects, scrollToCurrentWord]);
 
   // Debounced kelime işleme - CPU optimizasyonu için
   const processWordDebounced = useRef<((word: string, confidence: number) => void) | null>(null);
@@ -645,6 +705,19 @@ ${logs || '(Henüz log yok)'}
               addDebugLog(`[MATCH] Eşleşme: "${match.detected}" -> "${match.original}" | Doğru: ${match.isCorrect} | Confidence: ${match.confidence.toFixed(3)} | Pozisyon: ${newPosition}`);
             }
             
+            // Perde / zamanlama skoru: Kabul edilen kelimenin segmentini native tarafa bildir
+            if (match.isCorrect) {
+              const wordIndex = newPosition - 1;
+              // Zaman indeksi boşlukla bölünmüş kelime sırasını kullanır - eşleştirici indeksinden çevir
+              const sourceWord = matcherRef.current.sourceWordAt(wordIndex);
+              const timing = timingIndexRef.current;
+              pitchTrackingService.markWord(
+                wordIndex,
+                timing && sourceWord >= 0 ? timing.wordStart(sourceWord) : -1,
+                audioControlService.isPlaying() ? audioControlService.getCurrentTime() * 1000 : -1
+              );
+            }
+            
             // ANLIK İŞARETLEME - Her kelime için state'i güncelle
             // flushSync ile anında DOM güncellemesi - anlık görsel geri bildirim
             flushSync(() => {
@@ -652,12 +725,81 @@ ${logs || '(Henüz log yok)'}
               setAccuracy(newAccuracy);
             });
           }
-        }, isMobile ? 100 : 50); // Mobilde 100ms, PC'de 50ms debounce
+        }, qualityRef.current.wordUpdateDelayMs); // Kalite seviyesine göre 50-150ms debounce
       };
     }
     
     processWordDebounced.current(word, confidence);
-  }, [isManualMode, isListening, isMobile, addDebugLog]);
+  }, [isManualMode, isListening, addDebugLog]);
+
+  // Zaman damgalı sözlerde her tick'te oynatma konumundaki kelimeyi matcher'a önsel olarak ver
+  // Matcher arama penceresini buna göre daraltır; tanıma sustuğunda vurgu müziği izlemeye devam eder
+  useEffect(() => {
+    if (!timingIndex || !audioFilePath || !isListening || isManualMode) {
+      return;
+    }
+    const intervalId = window.setInterval(() => {
+      if (!audioControlService.isPlaying()) return;
+      const expected = timingIndex.wordAt(audioControlService.getCurrentTime() * 1000);
+      if (expected >= 0) {
+        matcherRef.current.setTimingPrior(expected);
+      }
+    }, TIMING_TICK_MS);
+    return () => window.clearInterval(intervalId);
+  }, [timingIndex, audioFilePath, isListening, isManualMode]);
+
+  // Şarkı yapısını al - önbellekte yoksa analiz bitince gelir
+  useEffect(() => {
+    setAudioStructure(null);
+    if (!audioFilePath || !waveformService.isAvailable()) return;
+    let cancelled = false;
+    const cached = waveformService.getStructure(audioFilePath);
+    if (cached) {
+      setAudioStructure(cached);
+    } else {
+      waveformService.analyze(audioFilePath)
+        .then(structure => { if (!cancelled) setAudioStructure(structure); })
+        .catch(() => { /* Yapı yoksa tanıma hiç duraklatılmaz */ });
+    }
+    return () => { cancelled = true; };
+  }, [audioFilePath]);
+
+  // Enstrümantal / sessiz aralıkta native tanıyıcıyı ve mikrofonu kapat, vokal dönmeden önce sürdür
+  // Native taraf sürdürmeyi kendisi zamanlar; sarma veya durdurmada aralıktan erken çıkılırsa hemen sürdürülür
+  // Mid/side tespiti geniş stereo / yankılı vokali enstrümantal sanabilir - kullanıcı söylerken tanıyıcı
+  // kapanmasın diye zaman indeksi varsa sadece içinde hiç kelime başlamayan aralıkta, yoksa sadece
+  // sessiz aralıkta duraklatılır
+  useEffect(() => {
+    if (!audioStructure || !audioFilePath || !isListening || isManualMode || !isAndroid()) {
+      return;
+    }
+    const canPause = (section: AudioSection): boolean =>
+      timingIndex ? !timingIndex.hasWordBetween(section.startMs, section.endMs) : section.kind === 'silence';
+    let pausedUntilMs = -1;
+    const intervalId = window.setInterval(() => {
+      const positionMs = audioControlService.getCurrentTime() * 1000;
+      const section = audioControlService.isPlaying() ? sectionAt(audioStructure, positionMs) : null;
+      if (pausedUntilMs >= 0) {
+        if (!section || section.endMs !== pausedUntilMs) {
+          pausedUntilMs = -1;
+          nativeSpeechRecognitionService.resumeFromGap();
+        }
+        return;
+      }
+      if (!section || !canPause(section)) return;
+      const resumeDelayMs = (section.endMs - positionMs) / audioControlService.getPlaybackRate() - GAP_RESUME_LEAD_MS;
+      if (resumeDelayMs >= GAP_MIN_PAUSE_MS) {
+        pausedUntilMs = section.endMs;
+        nativeSpeechRecognitionService.pauseForGap(resumeDelayMs);
+      }
+    }, GAP_TICK_MS);
+    return () => {
+      window.clearInterval(intervalId);
+      if (pausedUntilMs >= 0) {
+        nativeSpeechRecognitionService.resumeFromGap();
+      }
+    };
+  }, [audioStructure, audioFilePath, isListening, isManualMode, timingIndex]);
 
   // Müzik dosyasını yükle
   useEffect(() => {
@@ -761,14 +903,19 @@ ${logs || '(Henüz log yok)'}
           throw new Error(errorMessage);
         }
 
-        // 2. AudioContext başlat (Android 10+ için kritik - suspended yönetimi)
-        await audioContextService.initialize();
-        console.log('✅ [PLAYER] AudioContext başlatıldı - suspended monitoring aktif');
+        // Native dinleme servisi varsa mikrofonu foreground servis canlı tutar - 2. ve 3. adımlar atlanır
+        if (nativeSpeechRecognitionService.usesListeningService()) {
+          console.log('📱 [PLAYER] Native dinleme servisi aktif - canlı tutma zamanlayıcıları gerekmiyor');
+        } else {
+          // 2. AudioContext başlat (Android 10+ için kritik - suspended yönetimi)
+          await audioContextService.initialize();
+          console.log('✅ [PLAYER] AudioContext başlatıldı - suspended monitoring aktif');
+        }
 
-        // 3. DUMMY RECORDER başlat - SADECE NATIVE ANDROID APP İÇİN
+        // 3. DUMMY RECORDER başlat - SADECE NATIVE ANDROID APP İÇİN (dinleme servisi yoksa)
         // Web sitesinden (GitHub Pages) çalışıyorsa Capacitor yok, bu yüzden çalışmaz
         // Bu Android'e "ses kaydediyorum" sinyali verir, böylece mikrofon kapanmaz
-        if (isAndroid()) {
+        if (needsKeepAlive()) {
           try {
             console.log('📱 [PLAYER] Native Android app tespit edildi - Dummy recorder başlatılıyor...');
             await dummyRecorderService.start();
@@ -975,6 +1122,7 @@ ${logs || '(Henüz log yok)'}
       matcherRef.current.reset();
       setCurrentWordIndex(0);
       setAccuracy(0);
+      setPitchAvailable(!isManualMode && pitchTrackingService.start(matcherRef.current.matchedWordsList.length));
       startTimeRef.current = Date.now();
       setIsListening(true);
       setMicState('active'); // Mikrofon aktif
@@ -990,7 +1138,7 @@ ${logs || '(Henüz log yok)'}
       toast.error(`Hata: ${errorMessage}`, { duration: 5000 });
       
       // Hata olursa dummy recorder'ı da durdur - SADECE ANDROID'DE
-      if (isAndroid()) {
+      if (needsKeepAlive()) {
         try {
           await dummyRecorderService.stop();
         } catch (e) {
@@ -1034,7 +1182,7 @@ ${logs || '(Henüz log yok)'}
     audioContextService.stopMonitoring();
     
     // 4. Dummy recorder'ı durdur - SADECE ANDROID'DE
-    if (isAndroid()) {
+    if (needsKeepAlive()) {
       try {
         await dummyRecorderService.stop();
         console.log('✅ [PLAYER] Dummy recorder durduruldu (Android)');
@@ -1046,10 +1194,12 @@ ${logs || '(Henüz log yok)'}
     // 4. Performans kaydet
     const duration = Math.floor((Date.now() - startTimeRef.current) / 1000);
     const finalAccuracy = matcherRef.current.getAccuracy();
+    const scores = pitchTrackingService.stop();
     
     try {
-      await dbAdapter.savePerformance(songId, finalAccuracy, duration);
-      toast.success(`Performans kaydedildi! Doğruluk: %${Math.round(finalAccuracy * 100)}`);
+      await dbAdapter.savePerformance(songId, finalAccuracy, duration, scores);
+      const pitchInfo = scores && scores.pitch >= 0 ? ` | Perde: %${Math.round(scores.pitch * 100)}` : '';
+      toast.success(`Performans kaydedildi! Doğruluk: %${Math.round(finalAccuracy * 100)}${pitchInfo}`);
     } catch (err) {
       console.error('Performans kaydedilemedi:', err);
     }
@@ -1165,7 +1315,7 @@ ${logs || '(Henüz log yok)'}
       }
       
       // 5. Dummy recorder'ı durdur - SADECE ANDROID'DE
-      if (isAndroid()) {
+      if (needsKeepAlive()) {
         try {
           dummyRecorderService.stop().catch(console.error);
         } catch (error) {
@@ -1190,7 +1340,7 @@ ${logs || '(Henüz log yok)'}
         // Wake Lock sayesinde mikrofon açık kalacak
       } else if (!document.hidden && isListening) {
         // Geri geldiğinde kontrol et - dummy recorder hala aktif mi?
-        if (isAndroid() && !dummyRecorderService.isActive()) {
+        if (needsKeepAlive() && !dummyRecorderService.isActive()) {
           console.warn('⚠️ [PLAYER] Mikrofon düştü, tekrar bağlanıyor...');
           toast.error('⚠️ Mikrofon düştü, tekrar bağlanıyor...', { duration: 2000 });
           try {
@@ -1213,8 +1363,8 @@ ${logs || '(Henüz log yok)'}
       <motion.div
         initial={{ opacity: 0 }}
         animate={{ opacity: 1 }}
-        transition={{ duration: isMobile ? 0.2 : 0.3 }}
-        className={`relative bg-gray-900/60 ${isMobile ? 'backdrop-blur-sm' : 'backdrop-blur-2xl'} border border-white/10 rounded-2xl sm:rounded-3xl m-2 sm:m-4 overflow-hidden`}
+        transition={{ duration: reducedEffects ? 0.2 : 0.3 }}
+        className={`relative bg-gray-900/60 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur-2xl'} border border-white/10 rounded-2xl sm:rounded-3xl m-2 sm:m-4 overflow-hidden`}
         style={{ willChange: 'opacity' }}
       >
         {/* Üst Bilgi Barı */}
@@ -1223,19 +1373,19 @@ ${logs || '(Henüz log yok)'}
             <div className="flex-1 min-w-0">
               <motion.h2 
                 className="text-xl sm:text-2xl md:text-3xl font-bold bg-gradient-to-r from-white to-gray-300 bg-clip-text text-transparent truncate"
-                initial={isMobile ? { opacity: 0 } : { x: -20, opacity: 0 }}
+                initial={reducedEffects ? { opacity: 0 } : { x: -20, opacity: 0 }}
                 animate={{ x: 0, opacity: 1 }}
-                transition={{ duration: isMobile ? 0.2 : 0.3 }}
-                style={{ willChange: isMobile ? 'opacity' : 'transform, opacity' }}
+                transition={{ duration: reducedEffects ? 0.2 : 0.3 }}
+                style={{ willChange: reducedEffects ? 'opacity' : 'transform, opacity' }}
               >
                 {songTitle}
               </motion.h2>
               <motion.p 
                 className="text-sm sm:text-base text-gray-400 truncate"
-                initial={isMobile ? { opacity: 0 } : { x: -20, opacity: 0 }}
+                initial={reducedEffects ? { opacity: 0 } : { x: -20, opacity: 0 }}
                 animate={{ x: 0, opacity: 1 }}
-                transition={{ delay: isMobile ? 0 : 0.1, duration: isMobile ? 0.2 : 0.3 }}
-                style={{ willChange: isMobile ? 'opacity' : 'transform, opacity' }}
+                transition={{ delay: reducedEffects ? 0 : 0.1, duration: reducedEffects ? 0.2 : 0.3 }}
+                style={{ willChange: reducedEffects ? 'opacity' : 'transform, opacity' }}
               >
                 {artist}
               </motion.p>
@@ -1245,7 +1395,7 @@ ${logs || '(Henüz log yok)'}
               {/* Müzik Kontrol Paneli Toggle */}
               {audioFilePath && (
                 <motion.button
-                  whileHover={isMobile ? {} : { scale: 1.1 }}
+                  whileHover={reducedEffects ? {} : { scale: 1.1 }}
                   whileTap={{ scale: 0.9 }}
                   onClick={() => setShowAudioPanel(!showAudioPanel)}
                   className="p-2 sm:p-3 bg-white/5 rounded-xl border border-white/10 relative"
@@ -1263,7 +1413,7 @@ ${logs || '(Henüz log yok)'}
               
               {/* Favori */}
               <motion.button
-                whileHover={isMobile ? {} : { scale: 1.1 }}
+                whileHover={reducedEffects ? {} : { scale: 1.1 }}
                 whileTap={{ scale: 0.9 }}
                 onClick={() => setFavorites(!favorites)}
                 className="p-2 sm:p-3 bg-white/5 rounded-xl border border-white/10"
@@ -1274,7 +1424,7 @@ ${logs || '(Henüz log yok)'}
               
               {/* Paylaş */}
               <motion.button
-                whileHover={isMobile ? {} : { scale: 1.1 }}
+                whileHover={reducedEffects ? {} : { scale: 1.1 }}
                 whileTap={{ scale: 0.9 }}
                 className="p-2 sm:p-3 bg-white/5 rounded-xl border border-white/10"
                 style={{ willChange: 'transform' }}
@@ -1285,7 +1435,7 @@ ${logs || '(Henüz log yok)'}
               {/* Debug/Hata Ayıklama */}
               {isListening && (
                 <motion.button
-                  whileHover={isMobile ? {} : { scale: 1.1 }}
+                  whileHover={reducedEffects ? {} : { scale: 1.1 }}
                   whileTap={{ scale: 0.9 }}
                   onClick={copyDebugLogs}
                   className="p-2 sm:p-3 bg-white/5 rounded-xl border border-white/10 relative"
@@ -1307,7 +1457,7 @@ ${logs || '(Henüz log yok)'}
               
               {/* Ayarlar */}
               <motion.button
-                whileHover={isMobile ? {} : { scale: 1.1 }}
+                whileHover={reducedEffects ? {} : { scale: 1.1 }}
                 whileTap={{ scale: 0.9 }}
                 onClick={() => setShowSettings(!showSettings)}
                 className="p-2 sm:p-3 bg-white/5 rounded-xl border border-white/10"
@@ -1335,15 +1485,15 @@ ${logs || '(Henüz log yok)'}
           {/* Sol Panel - İstatistikler */}
           <motion.div 
             className="lg:col-span-1 space-y-3 sm:space-y-4 order-2 lg:order-1"
-            initial={isMobile ? { opacity: 0 } : { x: -50, opacity: 0 }}
+            initial={reducedEffects ? { opacity: 0 } : { x: -50, opacity: 0 }}
             animate={{ x: 0, opacity: 1 }}
-            transition={{ delay: isMobile ? 0 : 0.2, duration: isMobile ? 0.2 : 0.3 }}
-            style={{ willChange: isMobile ? 'opacity' : 'transform, opacity' }}
+            transition={{ delay: reducedEffects ? 0 : 0.2, duration: reducedEffects ? 0.2 : 0.3 }}
+            style={{ willChange: reducedEffects ? 'opacity' : 'transform, opacity' }}
           >
             {/* Accuracy Kartı */}
             <motion.div
-              whileHover={isMobile ? {} : { scale: 1.02 }}
-              className={`relative bg-gradient-to-br from-green-500/20 to-emerald-500/20 ${isMobile ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-green-500/30 overflow-hidden`}
+              whileHover={reducedEffects ? {} : { scale: 1.02 }}
+              className={`relative bg-gradient-to-br from-green-500/20 to-emerald-500/20 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-green-500/30 overflow-hidden`}
               style={{ willChange: 'transform' }}
             >
               <div className="absolute top-0 right-0 w-24 sm:w-32 h-24 sm:h-32 bg-green-500/20 rounded-full blur-2xl" />
@@ -1358,8 +1508,8 @@ ${logs || '(Henüz log yok)'}
 
             {/* Progress Kartı */}
             <motion.div
-              whileHover={isMobile ? {} : { scale: 1.02 }}
-              className={`relative bg-gradient-to-br from-purple-500/20 to-pink-500/20 ${isMobile ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-purple-500/30 overflow-hidden`}
+              whileHover={reducedEffects ? {} : { scale: 1.02 }}
+              className={`relative bg-gradient-to-br from-purple-500/20 to-pink-500/20 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-purple-500/30 overflow-hidden`}
               style={{ willChange: 'transform' }}
             >
               <div className="absolute top-0 right-0 w-24 sm:w-32 h-24 sm:h-32 bg-purple-500/20 rounded-full blur-2xl" />
@@ -1370,7 +1520,7 @@ ${logs || '(Henüz log yok)'}
                   <motion.div
                     className="h-full bg-gradient-to-r from-purple-500 to-pink-500"
                     animate={{ width: `${(currentWordIndex / words.length) * 100}%` }}
-                    transition={{ type: isMobile ? 'tween' : 'spring', stiffness: isMobile ? undefined : 100, duration: isMobile ? 0.2 : undefined }}
+                    transition={{ type: reducedEffects ? 'tween' : 'spring', stiffness: reducedEffects ? undefined : 100, duration: reducedEffects ? 0.2 : undefined }}
                     style={{ willChange: 'width' }}
                   />
                 </div>
@@ -1379,7 +1529,7 @@ ${logs || '(Henüz log yok)'}
 
             {/* Ses Seviyesi */}
             {isListening && (
-              <div className={`bg-white/5 ${isMobile ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-white/10`}>
+              <div className={`bg-white/5 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 border border-white/10`}>
                 <div className="flex items-center gap-2 sm:gap-3 mb-3 sm:mb-4">
                   <Volume2 className="w-4 h-4 sm:w-5 sm:h-5 text-gray-400" />
                   <span className="text-xs sm:text-sm font-semibold text-white">MİKROFON SEVİYESİ</span>
@@ -1389,7 +1539,7 @@ ${logs || '(Henüz log yok)'}
                     <motion.div
                       key={i}
                       animate={{ height: `${height}%` }}
-                      transition={{ duration: isMobile ? 0.15 : 0.1, ease: 'easeOut' }}
+                      transition={{ duration: reducedEffects ? 0.15 : 0.1, ease: 'easeOut' }}
                       className="absolute bottom-0 w-0.5 sm:w-1 bg-gradient-to-t from-purple-500 to-pink-500 rounded-t-full"
                       style={{ left: `${i * 2}%`, willChange: 'height' }}
                     />
@@ -1398,6 +1548,11 @@ ${logs || '(Henüz log yok)'}
               </div>
             )}
 
+            {/* Perde Konturu - native perde takibi varsa (kontur state'i alt bileşende) */}
+            {isListening && pitchAvailable && !isManualMode && (
+              <PitchContour reducedEffects={reducedEffects} />
+            )}
+
             {/* Ses Kontrol Paneli */}
             <AnimatePresence>
               {showAudioPanel && audioFilePath && (
@@ -1405,7 +1560,7 @@ ${logs || '(Henüz log yok)'}
                   initial={{ opacity: 0, height: 0 }}
                   animate={{ opacity: 1, height: 'auto' }}
                   exit={{ opacity: 0, height: 0 }}
-                  transition={{ type: isMobile ? 'tween' : 'spring', stiffness: isMobile ? undefined : 100, duration: isMobile ? 0.2 : undefined }}
+                  transition={{ type: reducedEffects ? 'tween' : 'spring', stiffness: reducedEffects ? undefined : 100, duration: reducedEffects ? 0.2 : undefined }}
                   className="overflow-hidden"
                   style={{ willChange: 'height, opacity' }}
                 >
@@ -1418,12 +1573,12 @@ ${logs || '(Henüz log yok)'}
           {/* Orta Panel - Şarkı Sözleri */}
           <motion.div 
             className="lg:col-span-2 order-1 lg:order-2"
-            initial={isMobile ? { opacity: 0 } : { scale: 0.9, opacity: 0 }}
+            initial={reducedEffects ? { opacity: 0 } : { scale: 0.9, opacity: 0 }}
             animate={{ scale: 1, opacity: 1 }}
-            transition={{ delay: isMobile ? 0 : 0.3, duration: isMobile ? 0.2 : 0.3 }}
-            style={{ willChange: isMobile ? 'opacity' : 'transform, opacity' }}
+            transition={{ delay: reducedEffects ? 0 : 0.3, duration: reducedEffects ? 0.2 : 0.3 }}
+            style={{ willChange: reducedEffects ? 'opacity' : 'transform, opacity' }}
           >
-            <div className={`relative bg-gray-800/50 ${isMobile ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 md:p-8 border border-white/10 h-64 sm:h-80 md:h-96 overflow-hidden`}>
+            <div className={`relative bg-gray-800/50 ${reducedEffects ? 'backdrop-blur-sm' : 'backdrop-blur'} rounded-xl sm:rounded-2xl p-4 sm:p-6 md:p-8 border border-white/10 h-64 sm:h-80 md:h-96 overflow-hidden`}>
               {/* Gradient Overlay */}
               <div className="absolute inset-0 bg-gradient-to-b from-gray-900/0 via-gray-900/20 to-gray-900/80 pointer-events-none z-10" />
               
@@ -1432,6 +1587,8 @@ ${logs || '(Henüz log yok)'}
                 <div className="relative h-full z-20">
                   <VirtualLyricsDisplay
                     words={words}
+                    lineStarts={lineStarts}
+                    quality={quality}
                     currentIndex={currentWordIndex}
                     matchedWords={useMemo(() => 
                       matcherRef.current.matchedWordsList.map((m, i) => 
@@ -1461,22 +1618,24 @@ ${logs || '(Henüz log yok)'}
                     {words.map((word: string, index: number) => {
                       const isActive = index === currentWordIndex;
                       return (
-                        <motion.span
-                          key={`${word}-${index}`}
-                          data-index={index}
-                          onClick={() => handleWordClick(index)}
-                          animate={isActive && !isMobile ? {
-                            scale: [1, 1.15, 1],
-                            textShadow: ['0 0 0px rgba(251, 191, 36, 0)', '0 0 20px rgba(251, 191, 36, 1)', '0 0 0px rgba(251, 191, 36, 0)'],
-                          } : isActive && isMobile ? {
-                            scale: [1, 1.1, 1], // Mobilde daha küçük scale
-                          } : {}}
-                          transition={{ duration: isMobile ? 0.2 : 0.3, ease: 'easeOut' }}
-                          style={{ willChange: isActive ? 'transform, opacity' : 'auto' }}
-                          className={`inline-block mr-1 sm:mr-2 mb-1 sm:mb-2 px-1.5 sm:px-2 py-0.5 sm:py-1 rounded-md sm:rounded-lg border transition-all duration-200 ${getWordStyle(index)} ${isManualMode && isListening ? 'cursor-pointer hover:bg-white/10 hover:scale-105 active:scale-95' : ''}`}
-                        >
-                          {word}
-                        </motion.span>
+                        <React.Fragment key={`${word}-${index}`}>
+                          {index > 0 && lineStartSet.has(index) && <br />}
+                          <motion.span
+                            data-index={index}
+                            onClick={() => handleWordClick(index)}
+                            animate={isActive && quality.richAnimations ? {
+                              scale: [1, 1.15, 1],
+                              textShadow: ['0 0 0px rgba(251, 191, 36, 0)', '0 0 20px rgba(251, 191, 36, 1)', '0 0 0px rgba(251, 191, 36, 0)'],
+                            } : isActive && quality.useWillChange ? {
+                              scale: [1, 1.1, 1], // Azaltılmış efektlerde daha küçük scale
+                            } : {}}
+                            transition={{ duration: reducedEffects ? 0.2 : 0.3, ease: 'easeOut' }}
+                            style={{ willChange: isActive && quality.useWillChange ? 'transform, opacity' : 'auto' }}
+                            className={`inline-block mr-1 sm:mr-2 mb-1 sm:mb-2 px-1.5 sm:px-2 py-0.5 sm:py-1 rounded-md sm:rounded-lg border transition-all duration-200 ${getWordStyle(index)} ${isManualMode && isListening ? 'cursor-pointer hover:bg-white/10 hover:scale-105 active:scale-95' : ''}`}
+                          >
+                            {word}
+                          </motion.span>
+                        </React.Fragment>
                       );
                     })}
                   </div>
@@ -1491,7 +1650,7 @@ ${logs || '(Henüz log yok)'}
                 <motion.div
                   initial={{ opacity: 0, y: 10 }}
                   animate={{ opacity: 1, y: 0 }}
-                  transition={{ duration: isMobile ? 0.2 : 0.3 }}
+                  transition={{ duration: reducedEffects ? 0.2 : 0.3 }}
                   className="flex flex-col gap-3"
                   style={{ willChange: 'transform, opacity' }}
                 >
@@ -1500,7 +1659,7 @@ ${logs || '(Henüz log yok)'}
                   </p>
                   <div className="flex flex-col sm:flex-row gap-3 justify-center">
                     <motion.button
-                      whileHover={isMobile ? {} : { scale: 1.05 }}
+                      whileHover={reducedEffects ? {} : { scale: 1.05 }}
                       whileTap={{ scale: 0.95 }}
                       onClick={() => {
                         setIsManualMode(true);
@@ -1514,7 +1673,7 @@ ${logs || '(Henüz log yok)'}
                       <span className="font-semibold text-base sm:text-lg text-blue-400">İŞARETLEME</span>
                     </motion.button>
                     <motion.button
-                      whileHover={isMobile ? {} : { scale: 1.05 }}
+                      whileHover={reducedEffects ? {} : { scale: 1.05 }}
                       whileTap={{ scale: 0.95 }}
                       onClick={() => {
                         setIsManualMode(false);
@@ -1536,7 +1695,7 @@ ${logs || '(Henüz log yok)'}
                 <div className="flex flex-col sm:flex-row justify-center items-stretch sm:items-center gap-3 sm:gap-4">
                   {!isListening ? (
                     <motion.button
-                      whileHover={isMobile ? {} : { scale: 1.05, y: -5 }}
+                      whileHover={reducedEffects ? {} : { scale: 1.05, y: -5 }}
                       whileTap={{ scale: 0.95 }}
                       onClick={startKaraoke}
                       disabled={isLoading}
@@ -1553,7 +1712,7 @@ ${logs || '(Henüz log yok)'}
                       {!isLoading && (
                         <motion.div
                           animate={{ scale: [1, 1.5], opacity: [0.5, 0] }}
-                          transition={{ duration: isMobile ? 2 : 1.5, repeat: Infinity }}
+                          transition={{ duration: reducedEffects ? 2 : 1.5, repeat: Infinity }}
                           className="absolute inset-0 bg-gradient-to-r from-purple-600 to-pink-600 rounded-2xl sm:rounded-3xl"
                           style={{ zIndex: -1, willChange: 'transform, opacity' }}
                         />
@@ -1561,7 +1720,7 @@ ${logs || '(Henüz log yok)'}
                     </motion.button>
                   ) : (
                     <motion.button
-                      whileHover={isMobile ? {} : { scale: 1.05, y: -5 }}
+                      whileHover={reducedEffects ? {} : { scale: 1.05, y: -5 }}
                       whileTap={{ scale: 0.95 }}
                       onClick={stopKaraoke}
                       style={{ willChange: 'transform' }}
@@ -1573,7 +1732,7 @@ ${logs || '(Henüz log yok)'}
                   )}
                   
                   <motion.button
-                    whileHover={isMobile ? {} : { scale: 1.05, y: -5 }}
+                    whileHover={reducedEffects ? {} : { scale: 1.05, y: -5 }}
                     whileTap={{ scale: 0.95 }}
                     onClick={() => {
                       handleReset();
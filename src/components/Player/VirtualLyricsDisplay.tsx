@@ -1,18 +1,54 @@
-import React, { useCallback, useEffect } from 'react';
+import React, { useCallback, useEffect, useMemo } from 'react';
 import { List, useListRef } from 'react-window';
 import type { MatchResult } from '../../engine/UltimateLyricsMatcher';
 import { motion } from 'framer-motion';
-import { isMobileBrowser } from '../../utils/platform';
+import { performanceGovernor, type QualityProfile } from '../../services/PerformanceGovernorService';
 
 interface Props {
   words: string[];
   currentIndex: number;
   matchedWords: (MatchResult | null)[];
   onWordClick?: (index: number) => void;
+  lineStarts?: number[]; // Zaman damgalı sözlerde satırların ilk kelime indeksleri
+  quality?: QualityProfile; // Verilmezse performans yöneticisinin geçerli profili
 }
 
 const ROW_HEIGHT = 50;
-const WORDS_PER_ROW = 12;
+const WORDS_PER_ROW = 12; // Satır bilgisi yoksa (düz sözler) ve çok uzun satırlarda bölme sınırı
+
+/**
+ * Görüntü satırlarının ilk kelime indeksleri - gerçek söz satırları varsa onları izler
+ */
+const buildRowStarts = (wordCount: number, lineStarts?: number[]): number[] => {
+  const boundaries = lineStarts && lineStarts.length > 0 ? lineStarts : [0];
+  const rows: number[] = [];
+  boundaries.forEach((start, i) => {
+    const end = i + 1 < boundaries.length ? boundaries[i + 1] : wordCount;
+    for (let row = start; row < end; row += WORDS_PER_ROW) {
+      rows.push(row);
+    }
+  });
+  return rows;
+};
+
+/**
+ * Kelimenin bulunduğu görüntü satırı (ikili arama)
+ */
+const rowOfWord = (rowStarts: number[], wordIndex: number): number => {
+  let low = 0;
+  let high = rowStarts.length - 1;
+  let result = 0;
+  while (low <= high) {
+    const mid = (low + high) >>> 1;
+    if (rowStarts[mid] <= wordIndex) {
+      result = mid;
+      low = mid + 1;
+    } else {
+      high = mid - 1;
+    }
+  }
+  return result;
+};
 
 /**
  * Virtualized Lyrics Display - 10.000 Satır Destekli
@@ -23,14 +59,17 @@ export const VirtualLyricsDisplay: React.FC<Props> = ({
   currentIndex,
   matchedWords,
   onWordClick,
+  lineStarts,
+  quality = performanceGovernor.getProfile(),
 }) => {
   const listRef = useListRef();
-  const isMobile = isMobileBrowser();
+  const { richAnimations, useWillChange, scrollDurationMs } = quality;
+  const rowStarts = useMemo(() => buildRowStarts(words.length, lineStarts), [words.length, lineStarts]);
 
   // Satır renderer (sadece görünen satırlar render edilir)
   const Row = useCallback(({ index, style }: { index: number; style: React.CSSProperties }) => {
-    const startWordIndex = index * WORDS_PER_ROW;
-    const endWordIndex = Math.min(startWordIndex + WORDS_PER_ROW, words.length);
+    const startWordIndex = rowStarts[index] ?? words.length;
+    const endWordIndex = index + 1 < rowStarts.length ? rowStarts[index + 1] : words.length;
     const rowWords = words.slice(startWordIndex, endWordIndex);
 
     return (
@@ -46,14 +85,14 @@ export const VirtualLyricsDisplay: React.FC<Props> = ({
                 key={wordIndex}
                 data-index={wordIndex}
                 onClick={() => onWordClick?.(wordIndex)}
-                animate={isCurrent && !isMobile ? {
+                animate={isCurrent && richAnimations ? {
                   scale: [1, 1.15, 1],
                   textShadow: ['0 0 0px rgba(251, 191, 36, 0)', '0 0 20px rgba(251, 191, 36, 0.5)', '0 0 0px rgba(251, 191, 36, 0)'],
-                } : isCurrent && isMobile ? {
+                } : isCurrent && useWillChange ? {
                   scale: [1, 1.1, 1],
                 } : {}}
-                transition={{ duration: isMobile ? 0.2 : 0.3, ease: 'easeOut' }}
-                style={{ willChange: isCurrent ? 'transform, opacity' : 'auto' }}
+                transition={{ duration: richAnimations ? 0.3 : 0.2, ease: 'easeOut' }}
+                style={{ willChange: isCurrent && useWillChange ? 'transform, opacity' : 'auto' }}
                 className={`
                   inline-block px-2 py-1 rounded-lg border transition-all duration-200 select-none
                   ${onWordClick ? 'cursor-pointer hover:bg-white/5' : ''}
@@ -75,11 +114,11 @@ export const VirtualLyricsDisplay: React.FC<Props> = ({
         </div>
       </div>
     );
-  }, [words, currentIndex, matchedWords, onWordClick]);
+  }, [words, rowStarts, currentIndex, matchedWords, onWordClick, richAnimations, useWillChange]);
 
   // Otomatik scroll - mevcut kelimeyi ortala - SMOOTH VE YUMUŞAK
   useEffect(() => {
-    const rowIndex = Math.floor(currentIndex / WORDS_PER_ROW);
+    const rowIndex = rowOfWord(rowStarts, currentIndex);
     if (listRef.current) {
       // scrollToOffset kullan - smooth scroll için custom animasyon
       const targetOffset = rowIndex * ROW_HEIGHT - 300; // Ortala (600/2 = 300)
@@ -87,10 +126,10 @@ export const VirtualLyricsDisplay: React.FC<Props> = ({
       
       // Smooth scroll için custom animasyon (react-window smooth scroll desteklemiyor)
       const listElement = (listRef.current as any)?._outerRef || (listRef.current as any)?.parentElement;
-      if (listElement) {
+      if (listElement && scrollDurationMs > 0) {
         const start = listElement.scrollTop;
         const distance = finalOffset - start;
-        const duration = 600; // 600ms smooth scroll
+        const duration = Math.min(600, scrollDurationMs); // En fazla 600ms smooth scroll
         const startTime = performance.now();
         
         const easeInOutCubic = (t: number): number => {
@@ -114,13 +153,13 @@ export const VirtualLyricsDisplay: React.FC<Props> = ({
         
         requestAnimationFrame(animateScroll);
       } else {
-        // Fallback: normal scroll
+        // Fallback / düşük seviye: animasyonsuz scroll
         (listRef.current as any).scrollToOffset(finalOffset);
       }
     }
-  }, [currentIndex]);
+  }, [currentIndex, rowStarts, scrollDurationMs]);
 
-  const totalRows = Math.ceil(words.length / WORDS_PER_ROW);
+  const totalRows = rowStarts.length;
 
   return (
     <div className="h-full w-full custom-scrollbar">
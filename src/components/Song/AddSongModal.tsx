@@ -3,6 +3,7 @@ import { motion, AnimatePresence } from 'framer-motion';
 import { X, Music, User, FileText, Upload, CheckCircle } from 'lucide-react';
 import { dbAdapter } from '../../database/DatabaseAdapter';
 import { mediaService, MusicFile } from '../../services/MediaService';
+import { lyricsImportService } from '../../services/LyricsImportService';
 import toast from 'react-hot-toast';
 
 interface Props {
@@ -70,7 +71,10 @@ export const AddSongModal: React.FC<Props> = ({ isOpen, onClose, onSongAdded })
       return;
     }
 
-    if (lyrics.trim().split(/\s+/).length < 5) {
+    // LRC ise zaman etiketleri ayrılır - kelime sayısı düz sözlerden sayılır
+    const imported = lyricsImportService.importLyrics(lyrics);
+
+    if (imported.lyrics.split(/\s+/).length < 5) {
       toast.error('Şarkı sözleri en az 5 kelime olmalıdır');
       return;
     }
@@ -82,12 +86,13 @@ export const AddSongModal: React.FC<Props> = ({ isOpen, onClose, onSongAdded })
       await dbAdapter.addSong(
         title.trim(), 
         artist.trim(), 
-        lyrics.trim(),
+        imported.lyrics,
         musicFile?.uri || null,
         musicFile?.name || null,
-        musicFile?.duration || 0
+        musicFile?.duration || 0,
+        imported.timing
       );
-      toast.success('Şarkı başarıyla eklendi!');
+      toast.success(imported.timing ? 'Şarkı zaman damgalı sözlerle eklendi!' : 'Şarkı başarıyla eklendi!');
       resetForm();
       onSongAdded();
       handleClose();
@@ -230,13 +235,14 @@ export const AddSongModal: React.FC<Props> = ({ isOpen, onClose, onSongAdded })
                 <textarea
                   value={lyrics}
                   onChange={(e) => setLyrics(e.target.value)}
-                  placeholder="Şarkı sözlerini buraya yazın... (En az 5 kelime)"
+                  placeholder="Şarkı sözlerini buraya yazın... (En az 5 kelime, LRC de olur)"
                   rows={8}
                   className="w-full px-3 sm:px-4 py-2 sm:py-3 text-sm sm:text-base bg-white/5 backdrop-blur rounded-xl sm:rounded-2xl border border-white/10 focus:border-purple-500/50 focus:outline-none focus:ring-2 sm:focus:ring-4 focus:ring-purple-500/20 text-white placeholder-gray-400 transition-all resize-none custom-scrollbar"
                   required
                 />
                 <p className="mt-2 text-xs text-gray-400">
                   Kelime sayısı: {lyrics.trim().split(/\s+/).filter((w: string) => w.length > 0).length}
+                  {lyricsImportService.isTimed(lyrics) && ' • Zaman damgalı (LRC)'}
                 </p>
               </div>
 
@@ -4,6 +4,7 @@
  */
 import { CapacitorSQLite, SQLiteConnection, SQLiteDBConnection } from '@capacitor-community/sqlite';
 import type { Song, Performance } from '../types';
+import type { PerformanceScores } from '../services/PitchTrackingService';
 
 class CapacitorDatabaseService {
   private sqlite: SQLiteConnection;
@@ -81,6 +82,21 @@ class CapacitorDatabaseService {
 
     await this.db.execute(createSongsTable);
     await this.db.execute(createPerformancesTable);
+
+    // Sonradan eklenen kolonlar - mevcut veritabanlarında tablo zaten var, ALTER TABLE ile eklenir
+    const addedColumns = [
+      'ALTER TABLE songs ADD COLUMN lyrics_timing TEXT;',
+      'ALTER TABLE performances ADD COLUMN pitch_score REAL;',
+      'ALTER TABLE performances ADD COLUMN timing_score REAL;',
+      'ALTER TABLE performances ADD COLUMN word_scores TEXT;',
+    ];
+    for (const statement of addedColumns) {
+      try {
+        await this.db.execute(statement);
+      } catch {
+        // Kolon zaten var
+      }
+    }
   }
 
   /**
@@ -92,14 +108,15 @@ class CapacitorDatabaseService {
     lyrics: string,
     audioFilePath?: string | null,
     audioFileName?: string | null,
-    duration?: number
+    duration?: number,
+    lyricsTiming?: string | null
   ): Promise<number> {
     if (!this.db) throw new Error('Veritabanı bağlantısı yok');
 
     try {
       const sql = `
-        INSERT INTO songs (title, artist, lyrics, audio_file_path, audio_file_name, duration)
-        VALUES (?, ?, ?, ?, ?, ?)
+        INSERT INTO songs (title, artist, lyrics, audio_file_path, audio_file_name, duration, lyrics_timing)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
       `;
       
       const result = await this.db.run(sql, [
@@ -109,6 +126,7 @@ class CapacitorDatabaseService {
         audioFilePath || null,
         audioFileName || null,
         duration || 0,
+        lyricsTiming || null,
       ]);
 
       return result.changes?.lastId || 0;
@@ -153,15 +171,27 @@ class CapacitorDatabaseService {
   /**
    * Performans kaydet
    */
-  async savePerformance(songId: number, accuracy: number, duration: number): Promise<void> {
+  async savePerformance(
+    songId: number,
+    accuracy: number,
+    duration: number,
+    scores?: PerformanceScores | null
+  ): Promise<void> {
     if (!this.db) throw new Error('Veritabanı bağlantısı yok');
 
     const sql = `
-      INSERT INTO performances (song_id, accuracy, duration)
-      VALUES (?, ?, ?)
+      INSERT INTO performances (song_id, accuracy, duration, pitch_score, timing_score, word_scores)
+      VALUES (?, ?, ?, ?, ?, ?)
     `;
     
-    await this.db.run(sql, [songId, accuracy, duration]);
+    await this.db.run(sql, [
+      songId,
+      accuracy,
+      duration,
+      scores && scores.pitch >= 0 ? scores.pitch : null,
+      scores && scores.timing >= 0 ? scores.timing : null,
+      scores ? JSON.stringify(scores.words) : null,
+    ]);
   }
 
   /**
@@ -6,6 +6,7 @@ import DatabaseService from './DatabaseService';
 import { capacitorDbService as capacitorDbService } from './CapacitorDatabaseService';
 import { isAndroid } from '../utils/platform';
 import type { Song, Performance } from '../types';
+import type { PerformanceScores } from '../services/PitchTrackingService';
 
 class DatabaseAdapter {
   /**
@@ -28,7 +29,8 @@ class DatabaseAdapter {
     lyrics: string,
     audioFilePath?: string | null,
     audioFileName?: string | null,
-    duration?: number
+    duration?: number,
+    lyricsTiming?: string | null
   ): Promise<number> {
     if (isAndroid()) {
       return await capacitorDbService.addSong(
@@ -37,7 +39,8 @@ class DatabaseAdapter {
         lyrics,
         audioFilePath,
         audioFileName,
-        duration
+        duration,
+        lyricsTiming
       );
     } else {
       return await DatabaseService.addSong(
@@ -46,7 +49,8 @@ class DatabaseAdapter {
         lyrics,
         audioFilePath,
         audioFileName,
-        duration
+        duration,
+        lyricsTiming
       );
     }
   }
@@ -76,11 +80,16 @@ class DatabaseAdapter {
   /**
    * Performans kaydet
    */
-  async savePerformance(songId: number, accuracy: number, duration: number): Promise<void> {
+  async savePerformance(
+    songId: number,
+    accuracy: number,
+    duration: number,
+    scores?: PerformanceScores | null
+  ): Promise<void> {
     if (isAndroid()) {
-      await capacitorDbService.savePerformance(songId, accuracy, duration);
+      await capacitorDbService.savePerformance(songId, accuracy, duration, scores);
     } else {
-      await DatabaseService.savePerformance(songId, accuracy, duration);
+      await DatabaseService.savePerformance(songId, accuracy, duration, scores);
     }
   }
 
@@ -1,4 +1,5 @@
 import { Song, Performance } from '../types';
+import type { PerformanceScores } from '../services/PitchTrackingService';
 
 /**
  * IndexedDB veritabanı servisi
@@ -67,7 +68,8 @@ class DatabaseService {
     lyrics: string,
     audioFilePath?: string | null,
     audioFileName?: string | null,
-    duration?: number
+    duration?: number,
+    lyricsTiming?: string | null
   ): Promise<number> {
     if (!this.db) throw new Error('Veritabanı başlatılmamış');
 
@@ -82,6 +84,7 @@ class DatabaseService {
         audio_file_path: audioFilePath || null,
         audio_file_name: audioFileName || null,
         duration: duration || 0,
+        lyrics_timing: lyricsTiming || null,
         volume_level: 1.0,
         created_at: new Date().toISOString()
       };
@@ -152,7 +155,12 @@ class DatabaseService {
   /**
    * Performans kaydeder
    */
-  async savePerformance(songId: number, accuracy: number, duration: number): Promise<void> {
+  async savePerformance(
+    songId: number,
+    accuracy: number,
+    duration: number,
+    scores?: PerformanceScores | null
+  ): Promise<void> {
     if (!this.db) throw new Error('Veritabanı başlatılmamış');
 
     return new Promise((resolve, reject) => {
@@ -163,6 +171,9 @@ class DatabaseService {
         song_id: songId,
         accuracy,
         duration,
+        pitch_score: scores && scores.pitch >= 0 ? scores.pitch : null,
+        timing_score: scores && scores.timing >= 0 ? scores.timing : null,
+        word_scores: scores ? JSON.stringify(scores.words) : null,
         recorded_at: new Date().toISOString()
       };
 
@@ -14,7 +14,8 @@ export class LyricsMatcher {
   private lyrics: string[] = [];
   private matchedWords: (MatchedWord | null)[] = [];
   private _currentPosition: number = 0;
-  private readonly LOOKAHEAD_RANGE = 8; // 8 kelime ileriye bak (atlanan kelimeleri bul) - HIZLI KONUŞMA'da 15'e çıkar
+  private lookaheadRange = 8; // 8 kelime ileriye bak (atlanan kelimeleri bul) - kalite seviyesine göre değişir
+  private fastSpeechLookahead = 15; // HIZLI KONUŞMA'da ileriye bakılan kelime sayısı
   private readonly MAX_POSITION_JUMP = 4; // Maksimum 4 kelime ileriye atla - HIZLI KONUŞMA'da 10'a çıkar
   private readonly STUCK_TIMEOUT = 15000; // 15 saniye takılı kalırsa ilerle (ms) - sadece gerçek takılma durumunda
   private lastDetectedWord: string = ''; // Son algılanan kelime (partial match kontrolü için)
@@ -27,6 +28,16 @@ export class LyricsMatcher {
   private recentMatchTimes: number[] = []; // Son eşleşmelerin zamanları (hızlı konuşma tespiti için)
   private isFastSpeech: boolean = false; // Hızlı konuşma durumu
   
+  // ZAMAN DAMGALI SÖZ (LRC) ÖNSELİ - oynatma konumundan beklenen kelime
+  private readonly TIMING_PRIOR_BEHIND = 2; // Beklenen kelimenin 2 gerisine kadar ara (geç söyleme)
+  private readonly TIMING_PRIOR_AHEAD = 4; // Beklenen kelimenin 4 ilerisine kadar ara (erken söyleme)
+  private readonly TIMING_PRIOR_MAX_AGE = 1000; // 1 sn güncellenmeyen önsel bayattır (müzik durdu)
+  private readonly TIMING_FOLLOW_SILENCE = 2500; // Tanıma 2.5 sn sustuysa pozisyon oynatmayı izler
+  private timingExpected: number = -1;
+  private timingUpdatedAt: number = 0;
+  private sourceWordToIndex: number[] = []; // Boşlukla bölünmüş söz kelimesi -> eşleştirici kelime indeksi
+  private indexToSourceWord: number[] = []; // Eşleştirici kelime indeksi -> boşlukla bölünmüş söz kelimesi
+
   private adaptiveThreshold: AdaptiveThreshold;
   private lastMatchTime: number = 0;
   private stuckTimeoutId: number | null = null;
@@ -74,6 +85,65 @@ export class LyricsMatcher {
     this.onPositionChange = callback;
   }
 
+  /**
+   * Lookahead genişliğini ayarla - performans yöneticisinin kalite seviyesinden gelir
+   * Her algılanan kelime bu aralıktaki tüm kelimelerle 6 katmanda karşılaştırıldığı için
+   * zayıf/ısınmış cihazda aralığı daraltmak CPU'yu doğrudan azaltır
+   */
+  setLookaheadRanges(normal: number, fastSpeech: number): void {
+    this.lookaheadRange = Math.max(1, normal);
+    this.fastSpeechLookahead = Math.max(this.lookaheadRange, fastSpeech);
+  }
+
+  /**
+   * Zaman damgalı sözlerden beklenen kelimeyi bildir - oynatıcı her tick'te çağırır
+   * expectedIndex boşluklara göre bölünmüş söz kelimesinin indeksidir (zaman indeksiyle aynı)
+   * Eşleştirme penceresi bu kelimenin etrafına daraltılır. Tanıma bir süredir kelime vermiyorsa
+   * (sessizlik, tanıyıcı yeniden başlıyor) pozisyon beklenen kelimeye ilerletilir - atlanan kelimeler
+   * işaretlenmez, doğruluğa sayılmaz.
+   */
+  setTimingPrior(expectedIndex: number): void {
+    const now = Date.now();
+    if (expectedIndex < 0 || this.sourceWordToIndex.length === 0) {
+      return;
+    }
+    const mapped = this.sourceWordToIndex[Math.min(expectedIndex, this.sourceWordToIndex.length - 1)];
+    this.timingExpected = Math.min(mapped, this.lyrics.length - 1);
+    this.timingUpdatedAt = now;
+
+    if (this.timingExpected > this._currentPosition &&
+        now - this.lastWordDetectedTime >= this.TIMING_FOLLOW_SILENCE) {
+      console.log(`🕒 [MATCHER] Tanıma sessiz, pozisyon oynatmayı izliyor: ${this._currentPosition} -> ${this.timingExpected}`);
+      this._currentPosition = this.timingExpected;
+      this.lastMatchTime = now;
+      this.consecutiveNoMatchCount = 0;
+      this.clearStuckTimeout();
+      if (this.onPositionChange) {
+        this.onPositionChange(this._currentPosition);
+      }
+    }
+  }
+
+  /**
+   * Eşleştirici kelime indeksinin boşlukla bölünmüş söz kelimesi karşılığı (zaman indeksi sırası)
+   * "Ali'nin" gibi noktalamayla bölünen kelimelerin parçaları aynı söz kelimesine düşer; yoksa -1
+   */
+  sourceWordAt(index: number): number {
+    return index >= 0 && index < this.indexToSourceWord.length ? this.indexToSourceWord[index] : -1;
+  }
+
+  /**
+   * Zaman önseline göre arama penceresi (önsel yoksa / bayatsa null)
+   */
+  private getTimingWindow(): { start: number; end: number } | null {
+    if (this.timingExpected < 0 || Date.now() - this.timingUpdatedAt > this.TIMING_PRIOR_MAX_AGE) {
+      return null;
+    }
+    const start = Math.max(this._currentPosition, this.timingExpected - this.TIMING_PRIOR_BEHIND);
+    const end = Math.min(this.lyrics.length, Math.max(start, this.timingExpected) + this.TIMING_PRIOR_AHEAD + 1);
+    return start < end ? { start, end } : null;
+  }
+
   /**
    * Noktalama işaretlerini temizler
    */
@@ -97,6 +167,22 @@ export class LyricsMatcher {
       .map((word: string) => this.cleanWord(word)) // Her kelimeyi temizle
       .filter((word: string) => word.length > 0); // Boş kelimeleri filtrele
     
+    // Zaman indeksi sözleri boşluklara göre böler; noktalama bir kelimeyi ikiye bölebildiği için eşle
+    this.sourceWordToIndex = [];
+    this.indexToSourceWord = [];
+    let wordIndex = 0;
+    lyrics.split(/\s+/).filter((word: string) => word.trim()).forEach((word: string, sourceIndex: number) => {
+      this.sourceWordToIndex.push(wordIndex);
+      const partCount = word
+        .replace(/[.,!?;:'"()\[\]{}…–—]/g, ' ')
+        .split(/\s+/)
+        .filter((part: string) => this.cleanWord(part).length > 0).length;
+      for (let i = 0; i < partCount; i++) {
+        this.indexToSourceWord.push(sourceIndex);
+      }
+      wordIndex += partCount;
+    });
+    
     this.matchedWords = new Array(this.lyrics.length).fill(null);
     this._currentPosition = 0;
     this.lastMatchTime = Date.now();
@@ -109,6 +195,7 @@ export class LyricsMatcher {
     // Hızlı konuşma tespiti için temizle
     this.recentMatchTimes = [];
     this.isFastSpeech = false;
+    this.timingExpected = -1;
     
     // Cache'leri temizle (speed.md'den)
     this.phoneticCache.clear();
@@ -242,7 +329,7 @@ export class LyricsMatcher {
 
     // Lookahead range içinde de kontrol et (atlanan kelimeler için)
     const searchEnd = Math.min(
-      this._currentPosition + this.LOOKAHEAD_RANGE,
+      this._currentPosition + this.lookaheadRange,
       this.lyrics.length
     );
     
@@ -298,12 +385,12 @@ export class LyricsMatcher {
   private getDynamicRanges(): { lookahead: number; maxJump: number } {
     if (this.isFastSpeech) {
       return {
-        lookahead: 15, // Hızlı konuşmada 15 kelime ileriye bak
+        lookahead: this.fastSpeechLookahead, // Hızlı konuşmada daha geniş aralık
         maxJump: 10    // Hızlı konuşmada 10 kelime atla
       };
     }
     return {
-      lookahead: this.LOOKAHEAD_RANGE,
+      lookahead: this.lookaheadRange,
       maxJump: this.MAX_POSITION_JUMP
     };
   }
@@ -331,19 +418,30 @@ export class LyricsMatcher {
     this.detectFastSpeech();
     
     // Dinamik aralıkları al (hızlı konuşma durumunda daha geniş)
-    const { lookahead, maxJump } = this.getDynamicRanges();
+    const ranges = this.getDynamicRanges();
+    const lookahead = ranges.lookahead;
+    let maxJump = ranges.maxJump;
     
     // Önce mevcut pozisyondaki kelimeyi kontrol et
     let bestMatch: { index: number; similarity: number } | null = null;
     
     // Lookahead: Mevcut pozisyondan başlayarak ileriye bak (atlanan kelimeleri bul)
     // HIZLI KONUŞMA'da daha geniş aralık kullan
-    const searchStart = this._currentPosition;
-    const searchEnd = Math.min(
+    let searchStart = this._currentPosition;
+    let searchEnd = Math.min(
       this._currentPosition + lookahead,
       this.lyrics.length
     );
 
+    // Zaman damgalı sözlerde pencere oynatma konumunun etrafına daraltılır - müzik önde gittiyse
+    // pencereye kadar atlamaya izin verilir
+    const timingWindow = this.getTimingWindow();
+    if (timingWindow) {
+      searchStart = timingWindow.start;
+      searchEnd = timingWindow.end;
+      maxJump = Math.max(maxJump, searchEnd - 1 - this._currentPosition);
+    }
+
     // 6 KATMANLI EŞLEŞTİRME (speed.md'den) - Önce exact match'i dene (en hızlı)
     // 1. EXACT MATCH (en hızlı) - speed.md'den
     for (let i = searchStart; i < searchEnd; i++) {
@@ -770,6 +868,7 @@ export class LyricsMatcher {
     // Hızlı konuşma tespiti için temizle
     this.recentMatchTimes = [];
     this.isFastSpeech = false;
+    this.timingExpected = -1;
     
     console.log('Eşleştirme sıfırlandı');
   }
@@ -0,0 +1,278 @@
+/**
+ * Zaman damgalı söz indeksi - LRC içe aktarımında üretilir, songs.lyrics_timing'de JSON olarak saklanır
+ *
+ * Sıralı diziler: satır başlangıçları (ms), her satırın ilk kelimesi, kelime başlangıçları (ms).
+ * Kelime sırası düz sözlerin boşluklara göre bölünmesiyle birebir aynıdır (oynatıcıdaki `words`).
+ * Oynatma konumu -> kelime her tick'te ikili arama ile bulunur (O(log n)).
+ *
+ * Android'de ayrıştırma native tarafta yapılır (LrcTimingIndex.java); parseLrc() aynı kuralların
+ * web karşılığıdır.
+ */
+
+export interface LyricsTimingData {
+  v: number;
+  lines: number[];      // Satır başlangıçları (ms)
+  lineWords: number[];  // Her satırın ilk kelime indeksi
+  words: number[];      // Kelime başlangıçları (ms)
+}
+
+export interface ParsedLrc {
+  lyrics: string;
+  timing: LyricsTimingData;
+}
+
+const FORMAT_VERSION = 1;
+const DEFAULT_WORD_MS = 400; // Son satırın bitişi bilinmiyor - kelime başına varsayılan süre
+
+export class LyricsTimingIndex {
+  private readonly lineStartMs: Int32Array;
+  private readonly lineFirstWord: Int32Array;
+  private readonly wordStartMs: Int32Array;
+
+  private constructor(data: LyricsTimingData) {
+    this.lineStartMs = Int32Array.from(data.lines);
+    this.lineFirstWord = Int32Array.from(data.lineWords);
+    this.wordStartMs = Int32Array.from(data.words);
+  }
+
+  /**
+   * Saklanan JSON'dan indeks oluştur
+   * Kelime sayısı sözlerle tutmuyorsa (sözler sonradan düzenlenmiş) null - zamanlama kullanılmaz
+   */
+  static fromJson(json: string | null | undefined, wordCount: number): LyricsTimingIndex | null {
+    if (!json) return null;
+    try {
+      const data = JSON.parse(json) as LyricsTimingData;
+      if (data.v !== FORMAT_VERSION || !Array.isArray(data.words) || data.words.length !== wordCount) {
+        console.warn('🕒 [TIMING] Zaman indeksi sözlerle uyuşmuyor, yok sayılıyor');
+        return null;
+      }
+      return new LyricsTimingIndex(data);
+    } catch (error) {
+      console.warn('🕒 [TIMING] Zaman indeksi okunamadı:', error);
+      return null;
+    }
+  }
+
+  get wordCount(): number {
+    return this.wordStartMs.length;
+  }
+
+  /**
+   * Verilen konumda söylenen kelime (ilk kelimeden önce -1)
+   */
+  wordAt(positionMs: number): number {
+    return floorIndex(this.wordStartMs, positionMs);
+  }
+
+  /**
+   * Verilen konumdaki satır (ilk satırdan önce -1)
+   */
+  lineAt(positionMs: number): number {
+    return floorIndex(this.lineStartMs, positionMs);
+  }
+
+  /**
+   * Kelimenin başlangıç zamanı (ms)
+   */
+  wordStart(index: number): number {
+    return this.wordStartMs[Math.max(0, Math.min(index, this.wordStartMs.length - 1))] ?? 0;
+  }
+
+  /**
+   * [startMs, endMs) aralığında başlayan kelime var mı
+   */
+  hasWordBetween(startMs: number, endMs: number): boolean {
+    const last = floorIndex(this.wordStartMs, endMs - 1);
+    return last >= 0 && this.wordStartMs[last] >= startMs;
+  }
+
+  /**
+   * Satırların ilk kelime indeksleri - görüntüleme satırları gerçek söz satırlarını izler
+   */
+  getLineStarts(): number[] {
+    return Array.from(this.lineFirstWord);
+  }
+}
+
+/**
+ * value'dan küçük veya eşit son elemanın indeksi (yoksa -1)
+ */
+function floorIndex(sorted: Int32Array, value: number): number {
+  let low = 0;
+  let high = sorted.length - 1;
+  let result = -1;
+  while (low <= high) {
+    const mid = (low + high) >>> 1;
+    if (sorted[mid] <= value) {
+      result = mid;
+      low = mid + 1;
+    } else {
+      high = mid - 1;
+    }
+  }
+  return result;
+}
+
+/**
+ * Metin LRC gibi görünüyor mu? (en az bir satır zaman etiketiyle başlıyor)
+ */
+export function looksLikeLrc(raw: string): boolean {
+  return raw.split(/\r?\n/).some(line => {
+    const trimmed = line.trim();
+    return trimmed.startsWith('[') && parseTime(trimmed.slice(1, trimmed.indexOf(']'))) >= 0;
+  });
+}
+
+/**
+ * mm:ss, mm:ss.x(xx) veya mm:ss:xx -> ms (biçim dışıysa -1)
+ */
+function parseTime(tag: string): number {
+  const match = /^(\d{1,6}):(\d{1,2})(?:[.:](\d{1,3}))?$/.exec(tag);
+  if (!match) return -1;
+  const seconds = Number(match[2]);
+  if (seconds >= 60) return -1;
+  const fraction = match[3] ?? '';
+  const fractionMs = fraction.length === 0 ? 0 : Number(fraction) * (fraction.length === 1 ? 100 : fraction.length === 2 ? 10 : 1);
+  return (Number(match[1]) * 60 + seconds) * 1000 + fractionMs;
+}
+
+/**
+ * LRC / enhanced LRC ayrıştır (web) - LrcTimingIndex.java ile aynı kurallar
+ * Zaman etiketli hiç sözlü satır yoksa null
+ */
+export function parseLrc(raw: string): ParsedLrc | null {
+  let offsetMs = 0;
+  const entries: { time: number; body: string; order: number }[] = [];
+
+  raw.split(/\r?\n/).forEach(rawLine => {
+    const line = rawLine.trim();
+    const times: number[] = [];
+    let pos = 0;
+
+    // Satır başındaki [..] etiketleri
+    while (pos < line.length && line[pos] === '[') {
+      const close = line.indexOf(']', pos);
+      if (close < 0) break;
+      const tag = line.slice(pos + 1, close);
+      const time = parseTime(tag);
+      if (time >= 0) {
+        times.push(time);
+      } else if (/^offset:/i.test(tag)) {
+        const offset = parseInt(tag.slice(7).trim().replace('+', ''), 10);
+        if (!Number.isNaN(offset)) offsetMs = offset;
+      }
+      pos = close + 1;
+    }
+
+    times.forEach(time => entries.push({ time, body: line.slice(pos), order: entries.length }));
+  });
+
+  entries.sort((a, b) => a.time - b.time || a.order - b.order);
+
+  const lines: string[] = [];
+  const lineStarts: number[] = [];
+  const lineWords: number[] = [];
+  const wordStarts: number[] = [];
+
+  entries.forEach((entry, e) => {
+    const lineStart = Math.max(0, entry.time - offsetMs);
+    const { words, wordTimes } = splitWords(entry.body, offsetMs);
+    if (words.length === 0) return; // Boş etiket (enstrümantal ara) - sadece önceki satırın bitişini belirler
+
+    const lineEnd = e + 1 < entries.length
+      ? Math.max(lineStart, entries[e + 1].time - offsetMs)
+      : lineStart + words.length * DEFAULT_WORD_MS;
+    const times = interpolate(wordTimes, lineStart, lineEnd);
+    let previous = wordStarts.length > 0 ? wordStarts[wordStarts.length - 1] : 0;
+
+    lineWords.push(wordStarts.length);
+    lineStarts.push(Math.max(lineStart, previous));
+    times.forEach(time => {
+      previous = Math.max(previous, time); // İkili arama sıralı dizi ister
+      wordStarts.push(previous);
+    });
+    lines.push(words.join(' '));
+  });
+
+  if (lines.length === 0) return null;
+  return {
+    lyrics: lines.join('\n'),
+    timing: { v: FORMAT_VERSION, lines: lineStarts, lineWords, words: wordStarts },
+  };
+}
+
+/**
+ * Satır gövdesini kelimelere böl; <mm:ss.xx> etiketinden sonra başlayan kelime o zamanı alır (yoksa -1)
+ * Hece etiketleri (kelime ortasında) yok sayılır
+ */
+function splitWords(body: string, offsetMs: number): { words: string[]; wordTimes: number[] } {
+  const words: string[] = [];
+  const wordTimes: number[] = [];
+  let current = '';
+  let currentTime = -1;
+  let pendingTime = -1;
+
+  let i = 0;
+  while (i < body.length) {
+    const c = body[i];
+    if (c === '<') {
+      const close = body.indexOf('>', i);
+      const time = close > 0 ? parseTime(body.slice(i + 1, close)) : -1;
+      if (time >= 0) {
+        if (current.length === 0) pendingTime = Math.max(0, time - offsetMs);
+        i = close + 1;
+        continue;
+      }
+    }
+    if (/\s/.test(c)) {
+      if (current.length > 0) {
+        words.push(current);
+        wordTimes.push(currentTime);
+        current = '';
+      }
+    } else {
+      if (current.length === 0) {
+        currentTime = pendingTime;
+        pendingTime = -1;
+      }
+      current += c;
+    }
+    i++;
+  }
+  if (current.length > 0) {
+    words.push(current);
+    wordTimes.push(currentTime);
+  }
+
+  return { words, wordTimes };
+}
+
+/**
+ * Etiketsiz kelimelerin zamanını komşu çapalar arasında doğrusal dağıt
+ */
+function interpolate(wordTimes: number[], lineStart: number, lineEnd: number): number[] {
+  const count = wordTimes.length;
+  const times = new Array<number>(count);
+  let anchorIndex = 0;
+  let anchorTime = wordTimes[0] >= 0 ? wordTimes[0] : lineStart;
+  times[0] = anchorTime;
+
+  let w = 1;
+  while (w < count) {
+    let next = w;
+    while (next < count && wordTimes[next] < 0) next++;
+    const nextTime = next < count ? wordTimes[next] : Math.max(lineEnd, anchorTime);
+    const span = next - anchorIndex;
+    for (let k = w; k < next; k++) {
+      times[k] = anchorTime + Math.floor((nextTime - anchorTime) * (k - anchorIndex) / span);
+    }
+    if (next < count) {
+      times[next] = nextTime;
+      anchorIndex = next;
+      anchorTime = nextTime;
+    }
+    w = next + 1;
+  }
+  return times;
+}
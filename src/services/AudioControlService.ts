@@ -4,6 +4,8 @@
  */
 import { Filesystem, Directory } from '@capacitor/filesystem';
 import { isAndroid } from '../utils/platform';
+import { instrumentalTrackService } from './InstrumentalTrackService';
+import { echoReferenceService } from './EchoReferenceService';
 
 export interface AudioControlOptions {
   volume: number; // 0.0 - 1.0
@@ -16,6 +18,8 @@ export class AudioControlService {
   private audioElement: HTMLAudioElement | null = null;
   private volumeLevel: number = 1.0;
   private isMuted: boolean = false;
+  private preferInstrumental: boolean = true; // Vokal mikrofona sızmasın diye enstrümantali tercih et
+  private usingInstrumental: boolean = false;
 
   // Singleton pattern
   private constructor() {}
@@ -43,6 +47,12 @@ export class AudioControlService {
         this.audioElement = null;
       }
 
+      // Enstrümantal varyant hazırsa onu kullan (vokal mikrofona sızıp tanımayı bozmasın)
+      filePath = this.resolveVariant(filePath);
+
+      // Yankı giderici referansı - hoparlörden çalacak olan dosyanın aynısı
+      echoReferenceService.setTrack(filePath);
+
       let audioSrc = filePath;
 
       // Blob URL ise (APK ve GitHub Pages'de çalışmaz) - data URL'e dönüştür
@@ -114,6 +124,7 @@ export class AudioControlService {
       });
 
       this.audioElement = audio;
+      this.attachEchoSync(audio);
 
       // Ses seviyesini ayarla
       audio.volume = this.isMuted ? 0 : this.volumeLevel;
@@ -125,6 +136,65 @@ export class AudioControlService {
     }
   }
 
+  /**
+   * Yüklenecek dosyayı seç - Android'de önbellekte enstrümantal varsa onu döndür
+   * Yoksa arka planda üretimi başlat (bir sonraki yüklemede kullanılır) ve orijinali döndür
+   */
+  private resolveVariant(filePath: string): string {
+    this.usingInstrumental = false;
+
+    if (!this.preferInstrumental || !isAndroid() || !filePath.startsWith('file://')) {
+      return filePath;
+    }
+    if (!instrumentalTrackService.isAvailable()) {
+      return filePath;
+    }
+
+    const instrumentalUri = instrumentalTrackService.getCachedUri(filePath);
+    if (instrumentalUri) {
+      this.usingInstrumental = true;
+      console.log('🎼 [AUDIO] Enstrümantal varyant kullanılıyor:', instrumentalUri);
+      return instrumentalUri;
+    }
+
+    if (!instrumentalTrackService.isGenerating(filePath)) {
+      instrumentalTrackService.generate(filePath).catch((error) => {
+        console.warn('⚠️ [AUDIO] Enstrümantal üretilemedi, orijinal kullanılacak:', error);
+      });
+    }
+    return filePath;
+  }
+
+  /**
+   * Oynatma saatini native yankı gidericiye aktar
+   * timeupdate ~4 Hz gelir; native taraf arada saati kendisi ilerletir
+   */
+  private attachEchoSync(audio: HTMLAudioElement): void {
+    if (!echoReferenceService.isAvailable()) return;
+
+    const sync = () => {
+      if (this.audioElement !== audio) return;
+      echoReferenceService.updatePlayback(audio.currentTime, !audio.paused && !audio.ended, audio.playbackRate);
+    };
+    ['playing', 'pause', 'seeked', 'ratechange', 'timeupdate', 'ended'].forEach((event) => {
+      audio.addEventListener(event, sync);
+    });
+  }
+
+  /**
+   * Enstrümantal varyant tercihini ayarla (bir sonraki loadSong'da geçerli olur)
+   */
+  setPreferInstrumental(prefer: boolean): void {
+    this.preferInstrumental = prefer;
+  }
+
+  /**
+   * Şu an yüklü parça enstrümantal varyant mı?
+   */
+  isUsingInstrumental(): boolean {
+    return this.usingInstrumental;
+  }
+
   /**
    * Ses seviyesini ayarla (0.0 - 1.0)
    */
@@ -226,6 +296,14 @@ export class AudioControlService {
     if (this.audioElement) {
       this.audioElement = null;
     }
+    echoReferenceService.clear();
+  }
+
+  /**
+   * Oynatma hızını al
+   */
+  getPlaybackRate(): number {
+    return this.audioElement?.playbackRate ?? 1;
   }
 
   /**
@@ -0,0 +1,90 @@
+/**
+ * Echo Reference Service - Yankı giderici için oynatma referansı
+ * Native Android tarafı çalınan şarkıyı 16 kHz mono olarak çözer ve mikrofon sinyalinden
+ * hoparlör yankısını çıkarır. Native taraf WebView'in çaldığı PCM'e erişemediği için
+ * oynatma saatini (konum, çalıyor mu, hız) buradan bildiriyoruz.
+ */
+
+export interface EchoCancellerStats {
+  active: boolean;
+  referenceReady: boolean;
+  delayMs: number;
+  doubleTalk: boolean;
+  frameMicros: number;
+  overBudgetFrames: number;
+  droppedFrames: number;
+}
+
+export class EchoReferenceService {
+  private currentTrack: string | null = null;
+
+  /**
+   * Native bridge var mı (sadece native Android app)
+   */
+  isAvailable(): boolean {
+    return typeof window !== 'undefined' && !!(window as any).AndroidEchoBridge;
+  }
+
+  /**
+   * Referans parçayı ayarla - sadece file:// URI'ler native tarafta çözülebilir
+   */
+  setTrack(uri: string): void {
+    if (!this.isAvailable()) return;
+
+    if (!uri.startsWith('file://')) {
+      this.clear();
+      return;
+    }
+    if (this.currentTrack === uri) return;
+
+    try {
+      (window as any).AndroidEchoBridge.setReferenceTrack(uri);
+      this.currentTrack = uri;
+      console.log('🔁 [AUDIO] Yankı referansı ayarlandı:', uri);
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Yankı referansı ayarlanamadı:', error);
+    }
+  }
+
+  /**
+   * Oynatma saatini bildir (play/pause/seek/timeupdate/ratechange)
+   */
+  updatePlayback(positionSeconds: number, playing: boolean, rate: number): void {
+    if (!this.currentTrack) return;
+
+    try {
+      (window as any).AndroidEchoBridge.updatePlayback(positionSeconds, playing, rate);
+    } catch (error) {
+      // Sık çağrılıyor - log spam yapma
+    }
+  }
+
+  /**
+   * Referansı kaldır (şarkı değişti / temizlendi)
+   */
+  clear(): void {
+    if (!this.isAvailable() || !this.currentTrack) return;
+
+    try {
+      (window as any).AndroidEchoBridge.clearReference();
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Yankı referansı kaldırılamadı:', error);
+    }
+    this.currentTrack = null;
+  }
+
+  /**
+   * Yankı giderici istatistikleri (debug için)
+   */
+  getStats(): EchoCancellerStats | null {
+    if (!this.isAvailable()) return null;
+
+    try {
+      return JSON.parse((window as any).AndroidEchoBridge.getStats());
+    } catch (error) {
+      return null;
+    }
+  }
+}
+
+export const echoReferenceService = new EchoReferenceService();
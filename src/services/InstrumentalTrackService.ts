@@ -0,0 +1,113 @@
+/**
+ * Instrumental Track Service - Enstrümantal (vokali azaltılmış) parça servisi
+ * Native Android tarafında şarkı bir kez çözülür, mid/side merkez iptali ile vokal azaltılır
+ * ve Music/Karaoke dizinine içerik hash'i ile kaydedilir.
+ * Orijinal vokal mikrofona sızıp tanımayı bozmasın diye oynatıcı bu varyantı tercih eder.
+ */
+
+type ProgressCallback = (percent: number) => void;
+
+interface PendingJob {
+  promise: Promise<string>;
+  resolve: (uri: string) => void;
+  reject: (error: Error) => void;
+  onProgress: ProgressCallback[];
+}
+
+export class InstrumentalTrackService {
+  private jobs: Map<string, PendingJob> = new Map();
+  private callbacksInstalled = false;
+
+  /**
+   * Native bridge var mı (sadece native Android app)
+   */
+  isAvailable(): boolean {
+    return typeof window !== 'undefined' && !!(window as any).AndroidInstrumentalBridge;
+  }
+
+  /**
+   * Önbellekteki enstrümantal dosyanın URI'sini al (yoksa null)
+   */
+  getCachedUri(sourceUri: string): string | null {
+    if (!this.isAvailable()) return null;
+
+    try {
+      const uri: string = (window as any).AndroidInstrumentalBridge.getCachedInstrumental(sourceUri);
+      return uri && uri.length > 0 ? uri : null;
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Enstrümantal önbellek kontrolü başarısız:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Şarkı üretiliyor mu?
+   */
+  isGenerating(sourceUri: string): boolean {
+    return this.jobs.has(sourceUri);
+  }
+
+  /**
+   * Arka planda enstrümantal üret - hazır olduğunda dosya URI'si ile resolve olur
+   * Aynı şarkı için tekrar çağrılırsa mevcut iş paylaşılır
+   */
+  generate(sourceUri: string, onProgress?: ProgressCallback): Promise<string> {
+    if (!this.isAvailable()) {
+      return Promise.reject(new Error('Enstrümantal üretimi sadece native Android app\'te destekleniyor'));
+    }
+
+    const existing = this.jobs.get(sourceUri);
+    if (existing) {
+      if (onProgress) existing.onProgress.push(onProgress);
+      return existing.promise;
+    }
+
+    this.installCallbacks();
+
+    let resolve!: (uri: string) => void;
+    let reject!: (error: Error) => void;
+    const promise = new Promise<string>((res, rej) => {
+      resolve = res;
+      reject = rej;
+    });
+    this.jobs.set(sourceUri, { promise, resolve, reject, onProgress: onProgress ? [onProgress] : [] });
+
+    try {
+      (window as any).AndroidInstrumentalBridge.generateInstrumental(sourceUri);
+      console.log('🎼 [AUDIO] Enstrümantal üretimi başlatıldı:', sourceUri);
+    } catch (error) {
+      this.jobs.delete(sourceUri);
+      reject(error instanceof Error ? error : new Error(String(error)));
+    }
+
+    return promise;
+  }
+
+  /**
+   * Android'den gelen callback'leri kaydet (sadece bir kez)
+   */
+  private installCallbacks(): void {
+    if (this.callbacksInstalled) return;
+    this.callbacksInstalled = true;
+
+    (window as any).onInstrumentalProgress = (sourceUri: string, percent: number) => {
+      this.jobs.get(sourceUri)?.onProgress.forEach(callback => callback(percent));
+    };
+
+    (window as any).onInstrumentalReady = (sourceUri: string, outputUri: string) => {
+      const job = this.jobs.get(sourceUri);
+      this.jobs.delete(sourceUri);
+      console.log('✅ [AUDIO] Enstrümantal hazır:', outputUri);
+      job?.resolve(outputUri);
+    };
+
+    (window as any).onInstrumentalError = (sourceUri: string, message: string) => {
+      const job = this.jobs.get(sourceUri);
+      this.jobs.delete(sourceUri);
+      console.warn('⚠️ [AUDIO] Enstrümantal üretilemedi:', message);
+      job?.reject(new Error(message));
+    };
+  }
+}
+
+export const instrumentalTrackService = new InstrumentalTrackService();
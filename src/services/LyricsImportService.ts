@@ -0,0 +1,59 @@
+/**
+ * Lyrics Import Service - Şarkı eklerken LRC / enhanced LRC sözlerini ayrıştırır
+ * Android'de native ayrıştırıcı (AndroidLyricsBridge), web'de aynı kuralların TS karşılığı kullanılır.
+ * Sonuç: Düz sözler (satırlar korunur) + songs.lyrics_timing'e yazılacak zaman indeksi JSON'u.
+ * Düz metin sözlerde zaman indeksi null'dır ve sözler olduğu gibi döner.
+ */
+import { looksLikeLrc, parseLrc } from '../engine/LyricsTimingIndex';
+
+export interface ImportedLyrics {
+  lyrics: string;
+  timing: string | null; // LyricsTimingData JSON'u
+}
+
+export class LyricsImportService {
+  /**
+   * Native bridge var mı (sadece native Android app)
+   */
+  isNative(): boolean {
+    return typeof window !== 'undefined' && !!(window as any).AndroidLyricsBridge;
+  }
+
+  /**
+   * Metin zaman damgalı söz mü?
+   */
+  isTimed(raw: string): boolean {
+    return looksLikeLrc(raw);
+  }
+
+  /**
+   * Sözleri içe aktar - LRC ise düz metne ve zaman indeksine ayrılır
+   */
+  importLyrics(raw: string): ImportedLyrics {
+    const text = raw.trim();
+    if (!looksLikeLrc(text)) {
+      return { lyrics: text, timing: null };
+    }
+
+    if (this.isNative()) {
+      try {
+        const result = (window as any).AndroidLyricsBridge.parseLrc(text) as string;
+        if (result) {
+          const parsed = JSON.parse(result) as { lyrics: string; timing: unknown };
+          console.log('🕒 [LRC] Native ayrıştırıldı');
+          return { lyrics: parsed.lyrics, timing: JSON.stringify(parsed.timing) };
+        }
+      } catch (error) {
+        console.warn('🕒 [LRC] Native ayrıştırma başarısız, web ayrıştırıcı kullanılıyor:', error);
+      }
+    }
+
+    const parsed = parseLrc(text);
+    if (!parsed) {
+      return { lyrics: text, timing: null };
+    }
+    return { lyrics: parsed.lyrics, timing: JSON.stringify(parsed.timing) };
+  }
+}
+
+export const lyricsImportService = new LyricsImportService();
@@ -2,8 +2,10 @@
  * Media Service - Müzik Dosyası Yükleme Servisi
  * Web ve Android için uyumlu müzik dosyası yönetimi
  */
-import { Filesystem, Directory, Encoding } from '@capacitor/filesystem';
+import { Filesystem, Directory } from '@capacitor/filesystem';
 import { isAndroid } from '../utils/platform';
+import { instrumentalTrackService } from './InstrumentalTrackService';
+import { waveformService } from './WaveformService';
 
 export interface MusicFile {
   uri: string;
@@ -82,6 +84,20 @@ export class MediaService {
 
           // Android'de dosyayı app dizinine kopyala
           const fileUri = await this.copyFileToAppDirectory(file);
+
+          // Enstrümantal varyantı arka planda hazırla (şarkı başına bir kez)
+          if (instrumentalTrackService.isAvailable()) {
+            instrumentalTrackService.generate(fileUri).catch((error) => {
+              console.warn('⚠️ [AUDIO] Enstrümantal üretilemedi:', error);
+            });
+          }
+
+          // Dalga formu / bölüm analizi - şarkı bir kez çözülür, sonrası önbellek dosyasından okunur
+          if (waveformService.isAvailable()) {
+            waveformService.analyze(fileUri).catch((error) => {
+              console.warn('⚠️ [AUDIO] Dalga formu analiz edilemedi:', error);
+            });
+          }
           
           const musicFile: MusicFile = {
             uri: fileUri,
@@ -119,12 +135,13 @@ export class MediaService {
       // FileReader ile oku
       const base64Data = await this.fileToBase64(file);
       
-      // Dosyayı kaydet
+      // Dosyayı kaydet - encoding verilmezse base64 veri binary olarak yazılır
+      // (native çözücülerin okuyabilmesi için dosya gerçek ses verisi olmalı)
+      // Eskiden UTF-8 ile metin olarak yazılmış dosyalar native tarafta bir kez binary'ye çevrilir (LegacyBase64Audio)
       await Filesystem.writeFile({
         path: filePath,
         data: base64Data,
         directory: Directory.Data,
-        encoding: Encoding.UTF8,
       });
 
       // URI al
@@ -157,8 +174,14 @@ export class MediaService {
 
   /**
    * Ses dosyasının süresini al
+   * Native analizci varsa süre çözme / audio element olmadan okunur (analiz önbelleği veya dosya başlığı)
    */
   async getAudioDuration(fileUri: string): Promise<number> {
+    const nativeDuration = waveformService.getDurationSeconds(fileUri);
+    if (nativeDuration !== null) {
+      return nativeDuration;
+    }
+
     return new Promise((resolve, reject) => {
       const audio = new Audio(fileUri);
       audio.addEventListener('loadedmetadata', () => {
@@ -202,6 +202,44 @@ export class NativeSpeechRecognitionService {
     console.log('✅ [NATIVE SPEECH] Native Android Speech Recognition durduruldu');
   }
 
+  /**
+   * Dinleme native foreground serviste mi (kendi thread'i, ekran kapalıyken de sürer)
+   * Öyleyse dummy recorder / AudioContext canlı tutma zamanlayıcıları gereksizdir.
+   */
+  usesListeningService(): boolean {
+    try {
+      return !!(window as any).AndroidSpeechBridge?.usesListeningService?.();
+    } catch {
+      return false;
+    }
+  }
+
+  /**
+   * Şarkının enstrümantal aralığında tanımayı duraklat - resumeDelayMs sonra native taraf kendisi sürdürür
+   * (mikrofon ve tanıyıcı kapanır; pil ve CPU tasarrufu)
+   */
+  pauseForGap(resumeDelayMs: number): void {
+    if (!this.isListening) return;
+    try {
+      (window as any).AndroidSpeechBridge?.pauseForGap(resumeDelayMs);
+      console.log(`⏸️ [NATIVE SPEECH] Enstrümantal aralık - ${Math.round(resumeDelayMs)} ms duraklatıldı`);
+    } catch (error) {
+      console.error('❌ [NATIVE SPEECH] Duraklatılamadı:', error);
+    }
+  }
+
+  /**
+   * Aralık erken bitti (sarma, müzik durdu) - dinlemeyi hemen sürdür
+   */
+  resumeFromGap(): void {
+    if (!this.isListening) return;
+    try {
+      (window as any).AndroidSpeechBridge?.resumeFromGap();
+    } catch (error) {
+      console.error('❌ [NATIVE SPEECH] Sürdürülemedi:', error);
+    }
+  }
+
   /**
    * Tüm listener'ları ve resource'ları temizle (memory leak önleme)
    */
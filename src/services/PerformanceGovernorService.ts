@@ -0,0 +1,154 @@
+/**
+ * Performance Governor Service - Cihaz bütçesine göre kalite profili
+ * Native Android tarafı frame süresi, ana thread meşguliyeti, tanıma callback birikmesi ve
+ * termal/pil durumunu ölçer; seviye (high/medium/low) değişince window.onPerformanceTier çağrılır.
+ * Web'de native ölçüm yok - seviye cihaz sınıfından (mobil tarayıcı = medium) bir kez belirlenir.
+ *
+ * Matcher lookahead genişliği, console log hız sınırı, animasyon zenginliği ve UI güncelleme hızı
+ * buradaki profilden okunur (isMobileBrowser() kontrolleri yerine).
+ */
+import { isMobileBrowser } from '../utils/platform';
+
+export type QualityTier = 'high' | 'medium' | 'low';
+
+export interface QualityProfile {
+  tier: QualityTier;
+  matcherLookahead: number;      // Normal konuşmada ileriye bakılan kelime sayısı
+  fastSpeechLookahead: number;   // Hızlı konuşmada ileriye bakılan kelime sayısı
+  consoleLogIntervalMs: number;  // Aynı etiketli console.log/info/debug satırları arası en az süre (0 = sınırsız) - error/warn her zaman
+  richAnimations: boolean;       // scale/textShadow/hover animasyonları, backdrop blur
+  useWillChange: boolean;        // Aktif kelimeye willChange ipucu (GPU katmanı)
+  wordUpdateDelayMs: number;     // Tanıma sonucu -> UI güncellemesi debounce süresi
+  waveUpdateIntervalMs: number;  // Mikrofon dalga görselleştirme güncelleme aralığı
+  waveBars: number;              // Dalga görselleştirmedeki bar sayısı
+  scrollDurationMs: number;      // Aktif kelimeye kaydırma animasyonu süresi (0 = anında)
+}
+
+const PROFILES: Record<QualityTier, QualityProfile> = {
+  high: {
+    tier: 'high',
+    matcherLookahead: 8,
+    fastSpeechLookahead: 15,
+    consoleLogIntervalMs: 0,
+    richAnimations: true,
+    useWillChange: true,
+    wordUpdateDelayMs: 50,
+    waveUpdateIntervalMs: 16, // 60fps
+    waveBars: 50,
+    scrollDurationMs: 700,
+  },
+  medium: {
+    tier: 'medium',
+    matcherLookahead: 6,
+    fastSpeechLookahead: 12,
+    consoleLogIntervalMs: 250,
+    richAnimations: false,
+    useWillChange: true,
+    wordUpdateDelayMs: 100,
+    waveUpdateIntervalMs: 33, // 30fps
+    waveBars: 30,
+    scrollDurationMs: 400,
+  },
+  low: {
+    tier: 'low',
+    matcherLookahead: 4,
+    fastSpeechLookahead: 8,
+    consoleLogIntervalMs: 1000,
+    richAnimations: false,
+    useWillChange: false, // Düşük bellekte fazladan katman açma
+    wordUpdateDelayMs: 150,
+    waveUpdateIntervalMs: 66, // 15fps
+    waveBars: 20,
+    scrollDurationMs: 0,
+  },
+};
+
+type TierListener = (profile: QualityProfile) => void;
+
+export class PerformanceGovernorService {
+  private profile: QualityProfile;
+  private listeners: Set<TierListener> = new Set();
+  private lastConsoleLogAt: Map<string, number> = new Map();
+  private metrics: Record<string, unknown> = {};
+
+  constructor() {
+    this.profile = PROFILES[this.initialTier()];
+    this.installCallback();
+  }
+
+  /**
+   * Native bridge var mı (sadece native Android app)
+   */
+  isNative(): boolean {
+    return typeof window !== 'undefined' && !!(window as any).AndroidPerformanceBridge;
+  }
+
+  getProfile(): QualityProfile {
+    return this.profile;
+  }
+
+  getTier(): QualityTier {
+    return this.profile.tier;
+  }
+
+  /**
+   * Son ölçüm penceresinin metrikleri (debug için)
+   */
+  getMetrics(): Record<string, unknown> {
+    return this.metrics;
+  }
+
+  /**
+   * Seviye değişimlerini dinle - abonelikten çıkmak için dönen fonksiyonu çağır
+   */
+  subscribe(listener: TierListener): () => void {
+    this.listeners.add(listener);
+    return () => {
+      this.listeners.delete(listener);
+    };
+  }
+
+  /**
+   * Bu satır console'a yazılsın mı? (etiket başına hız sınırı, deterministik)
+   * Sadece console çıktısını kısar - debug log tamponu her satırı almaya devam eder.
+   * Etiket mesajdaki ilk [ETİKET]; etiketsiz satırlar ortak bir kovayı paylaşır.
+   */
+  shouldLog(message: string): boolean {
+    const interval = this.profile.consoleLogIntervalMs;
+    if (interval <= 0) return true;
+
+    const tag = message.match(/\[([^\]]+)\]/)?.[1] ?? '';
+    const now = Date.now();
+    const last = this.lastConsoleLogAt.get(tag);
+    if (last !== undefined && now - last < interval) return false;
+    this.lastConsoleLogAt.set(tag, now);
+    return true;
+  }
+
+  private initialTier(): QualityTier {
+    if (this.isNative()) {
+      try {
+        const tier = (window as any).AndroidPerformanceBridge.getTier() as QualityTier;
+        if (PROFILES[tier]) return tier;
+      } catch (error) {
+        // Varsayılana düş
+      }
+    }
+    return isMobileBrowser() ? 'medium' : 'high';
+  }
+
+  private installCallback(): void {
+    if (typeof window === 'undefined') return;
+
+    (window as any).onPerformanceTier = (tier: QualityTier, metrics: Record<string, unknown>) => {
+      this.metrics = metrics ?? {};
+      if (!PROFILES[tier] || tier === this.profile.tier) return;
+
+      this.profile = PROFILES[tier];
+      console.warn(`📊 [PERF] Kalite seviyesi: ${tier}`, metrics);
+      this.listeners.forEach(listener => listener(this.profile));
+    };
+  }
+}
+
+export const performanceGovernor = new PerformanceGovernorService();
@@ -0,0 +1,92 @@
+/**
+ * Pitch Tracking Service - Native perde takibi ve şarkı söyleme skoru
+ * Perde native ses yolunda (VoiceCapture -> PitchDetector) ölçülür; JS sadece kabul edilen kelimeleri
+ * bildirir ve performans sonunda skorları alır. Kontur window.onPitchContour ile sabit hızda
+ * (10 Hz, 20 ms'lik noktalar) gelir - değerler MIDI nota, 0 = sessiz.
+ * Web'de ve yankı giderici yakalamanın olmadığı cihazlarda perde skoru üretilmez (null).
+ */
+
+export interface PerformanceScores {
+  pitch: number;   // Ortalama perde kararlılığı (0-1, hesaplanamadıysa -1)
+  timing: number;  // Ortalama zamanlama kararlılığı (0-1, hesaplanamadıysa -1)
+  words: {
+    pitch: number[];
+    timing: number[];
+  };
+}
+
+type ContourListener = (points: number[]) => void;
+
+export class PitchTrackingService {
+  private listeners: Set<ContourListener> = new Set();
+  private active = false;
+
+  constructor() {
+    this.installCallback();
+  }
+
+  /**
+   * Native perde takibi kullanılabilir mi
+   */
+  isAvailable(): boolean {
+    if (typeof window === 'undefined' || !(window as any).AndroidPitchBridge) return false;
+    try {
+      return !!(window as any).AndroidPitchBridge.isAvailable();
+    } catch (error) {
+      return false;
+    }
+  }
+
+  /**
+   * Performans başladı - perde takibi başladıysa true (kullanılabilirlik her seferinde yeniden sorulur)
+   */
+  start(wordCount: number): boolean {
+    if (!this.isAvailable()) return false;
+    (window as any).AndroidPitchBridge.start(wordCount);
+    this.active = true;
+    return true;
+  }
+
+  /**
+   * Eşleştirici bir kelimeyi kabul etti
+   * expectedMs: Zaman damgalı sözlerde beklenen başlangıç, playbackMs: oynatma konumu (bilinmiyorsa -1)
+   */
+  markWord(wordIndex: number, expectedMs: number, playbackMs: number): void {
+    if (!this.active) return;
+    (window as any).AndroidPitchBridge.markWord(wordIndex, expectedMs, playbackMs);
+  }
+
+  /**
+   * Performans bitti - skorlar (perde takibi yoksa null)
+   */
+  stop(): PerformanceScores | null {
+    if (!this.active) return null;
+    this.active = false;
+    try {
+      return JSON.parse((window as any).AndroidPitchBridge.stop()) as PerformanceScores;
+    } catch (error) {
+      console.error('🎵 [PITCH] Skorlar alınamadı:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Kontur noktalarını dinle - abonelikten çıkmak için dönen fonksiyonu çağır
+   */
+  subscribe(listener: ContourListener): () => void {
+    this.listeners.add(listener);
+    return () => {
+      this.listeners.delete(listener);
+    };
+  }
+
+  private installCallback(): void {
+    if (typeof window === 'undefined') return;
+
+    (window as any).onPitchContour = (points: number[]) => {
+      this.listeners.forEach(listener => listener(points));
+    };
+  }
+}
+
+export const pitchTrackingService = new PitchTrackingService();
@@ -0,0 +1,218 @@
+/**
+ * Waveform Service - Önceden hesaplanmış dalga formu ve şarkı yapısı
+ * Native Android tarafında şarkı içe aktarılırken bir kez çözülür; min/max/RMS zarf piramidi,
+ * sessiz / enstrümantal bölümler ve vokal cümle başlangıçları küçük bir ikili dosyaya yazılır.
+ * Süre, dalga formu (her yakınlaştırmada) ve bölümler sonrasında çözme yapmadan okunur.
+ * Web'de analiz yoktur - çağıranlar null'a göre davranır.
+ */
+
+export type AudioSectionKind = 'silence' | 'instrumental';
+
+export interface AudioSection {
+  startMs: number;
+  endMs: number;
+  kind: AudioSectionKind;
+}
+
+export interface AudioStructure {
+  durationMs: number;
+  sections: AudioSection[];
+  phrases: number[]; // Vokal cümle başlangıçları (ms, artan)
+}
+
+export interface WaveformPeaks {
+  min: number[]; // -1..0
+  max: number[]; // 0..1
+  rms: number[]; // 0..1
+}
+
+interface PendingJob {
+  promise: Promise<AudioStructure>;
+  resolve: (structure: AudioStructure) => void;
+  reject: (error: Error) => void;
+}
+
+// AudioEnvelope.SECTION_* ile aynı sıra
+const SECTION_KINDS: AudioSectionKind[] = ['silence', 'instrumental'];
+
+export class WaveformService {
+  private structures: Map<string, AudioStructure> = new Map();
+  private jobs: Map<string, PendingJob> = new Map();
+  private callbacksInstalled = false;
+
+  /**
+   * Native bridge var mı (sadece native Android app)
+   */
+  isAvailable(): boolean {
+    return typeof window !== 'undefined' && !!(window as any).AndroidWaveformBridge;
+  }
+
+  /**
+   * Süre (saniye) - çözme yapılmaz; alınamazsa null
+   */
+  getDurationSeconds(sourceUri: string): number | null {
+    if (!this.isAvailable()) return null;
+
+    const cached = this.structures.get(sourceUri);
+    if (cached) return cached.durationMs / 1000;
+
+    try {
+      const seconds: number = (window as any).AndroidWaveformBridge.getDuration(sourceUri);
+      return seconds > 0 ? seconds : null;
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Süre okunamadı:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Önbellekteki yapı bilgisi (analiz edilmemişse null)
+   */
+  getStructure(sourceUri: string): AudioStructure | null {
+    const cached = this.structures.get(sourceUri);
+    if (cached || !this.isAvailable()) return cached ?? null;
+
+    try {
+      const json: string = (window as any).AndroidWaveformBridge.getSummary(sourceUri);
+      if (!json) return null;
+      const structure = this.parseSummary(JSON.parse(json));
+      this.structures.set(sourceUri, structure);
+      return structure;
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Şarkı yapısı okunamadı:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Arka planda analiz et - hazır olduğunda yapı bilgisi ile resolve olur
+   * Önbellekte varsa native taraf çözme yapmadan hemen bildirir; aynı şarkı için iş paylaşılır
+   */
+  analyze(sourceUri: string): Promise<AudioStructure> {
+    const cached = this.structures.get(sourceUri);
+    if (cached) return Promise.resolve(cached);
+
+    if (!this.isAvailable()) {
+      return Promise.reject(new Error('Dalga formu analizi sadece native Android app\'te destekleniyor'));
+    }
+
+    const existing = this.jobs.get(sourceUri);
+    if (existing) return existing.promise;
+
+    this.installCallbacks();
+
+    let resolve!: (structure: AudioStructure) => void;
+    let reject!: (error: Error) => void;
+    const promise = new Promise<AudioStructure>((res, rej) => {
+      resolve = res;
+      reject = rej;
+    });
+    this.jobs.set(sourceUri, { promise, resolve, reject });
+
+    try {
+      (window as any).AndroidWaveformBridge.analyze(sourceUri);
+    } catch (error) {
+      this.jobs.delete(sourceUri);
+      reject(error instanceof Error ? error : new Error(String(error)));
+    }
+
+    return promise;
+  }
+
+  /**
+   * [startMs, endMs) aralığını `columns` sütuna özetleyen tepe değerleri - piramitten okunur
+   */
+  getPeaks(sourceUri: string, startMs: number, endMs: number, columns: number): WaveformPeaks | null {
+    if (!this.isAvailable() || columns <= 0 || endMs <= startMs) return null;
+
+    try {
+      const json: string = (window as any).AndroidWaveformBridge.getPeaks(
+        sourceUri, Math.floor(startMs), Math.ceil(endMs), Math.floor(columns)
+      );
+      if (!json) return null;
+      const raw = JSON.parse(json) as { min: number[]; max: number[]; rms: number[] };
+      return {
+        min: raw.min.map(value => value / 128),
+        max: raw.max.map(value => value / 127),
+        rms: raw.rms.map(value => value / 255),
+      };
+    } catch (error) {
+      console.warn('⚠️ [AUDIO] Dalga formu okunamadı:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Android'den gelen callback'leri kaydet (sadece bir kez)
+   */
+  private installCallbacks(): void {
+    if (this.callbacksInstalled) return;
+    this.callbacksInstalled = true;
+
+    (window as any).onWaveformReady = (sourceUri: string, summary: any) => {
+      const job = this.jobs.get(sourceUri);
+      this.jobs.delete(sourceUri);
+      const structure = this.parseSummary(summary);
+      this.structures.set(sourceUri, structure);
+      console.log(`✅ [AUDIO] Şarkı yapısı hazır: ${structure.sections.length} bölüm, ${structure.phrases.length} cümle`);
+      job?.resolve(structure);
+    };
+
+    (window as any).onWaveformError = (sourceUri: string, message: string) => {
+      const job = this.jobs.get(sourceUri);
+      this.jobs.delete(sourceUri);
+      console.warn('⚠️ [AUDIO] Dalga formu analiz edilemedi:', message);
+      job?.reject(new Error(message));
+    };
+  }
+
+  private parseSummary(summary: { durationMs: number; sections: number[][]; phrases: number[] }): AudioStructure {
+    return {
+      durationMs: summary.durationMs,
+      sections: summary.sections.map(([startMs, endMs, kind]) => ({
+        startMs,
+        endMs,
+        kind: SECTION_KINDS[kind] ?? 'instrumental',
+      })),
+      phrases: summary.phrases,
+    };
+  }
+}
+
+/**
+ * Konumu içeren sessiz / enstrümantal bölüm (yoksa null)
+ */
+export function sectionAt(structure: AudioStructure, positionMs: number): AudioSection | null {
+  for (const section of structure.sections) {
+    if (positionMs < section.startMs) return null;
+    if (positionMs < section.endMs) return section;
+  }
+  return null;
+}
+
+/**
+ * Sarma hedefini en yakın cümle başlangıcına yapıştır (windowMs içinde yoksa hedef aynen döner)
+ */
+export function snapToPhrase(structure: AudioStructure, positionMs: number, windowMs: number): number {
+  const phrases = structure.phrases;
+  let low = 0;
+  let high = phrases.length;
+  while (low < high) {
+    const mid = (low + high) >> 1;
+    if (phrases[mid] < positionMs) low = mid + 1;
+    else high = mid;
+  }
+  let best = positionMs;
+  let bestDistance = windowMs;
+  for (const candidate of [phrases[low - 1], phrases[low]]) {
+    if (candidate === undefined) continue;
+    const distance = Math.abs(candidate - positionMs);
+    if (distance <= bestDistance) {
+      best = candidate;
+      bestDistance = distance;
+    }
+  }
+  return best;
+}
+
+export const waveformService = new WaveformService();
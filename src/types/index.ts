@@ -7,6 +7,7 @@ export interface Song {
   audio_file_path?: string | null;
   audio_file_name?: string | null;
   duration?: number;
+  lyrics_timing?: string | null; // LRC'den üretilen zaman indeksi (LyricsTimingData JSON)
   volume_level?: number;
   created_at: string;
   difficulty?: 'Easy' | 'Medium' | 'Hard';
@@ -19,6 +20,9 @@ export interface Performance {
   song_id: number;
   accuracy: number;
   duration: number;
+  pitch_score?: number | null;  // Ortalama perde kararlılığı (0-1) - native perde takibi varsa
+  timing_score?: number | null; // Ortalama zamanlama kararlılığı (0-1)
+  word_scores?: string | null;  // Kelime başına skorlar (PerformanceScores.words JSON)
   recorded_at: string;
 }
 